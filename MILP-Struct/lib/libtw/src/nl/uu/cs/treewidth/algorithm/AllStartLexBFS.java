@@ -93,7 +93,7 @@ public class AllStartLexBFS < D extends InputData > implements Permutation<D>, U
 	 * Method runs the algorithm and sets the permutation.
 	 *
 	 */
-	public void run() {
+	public void run() throws InterruptedException {
 		/* forall v in V doe label(v) <- EMPTY;
 		 * for i<-n downto 1 do
 		 * 	let v be an unnumbered vertex with largest label;
@@ -119,6 +119,9 @@ public class AllStartLexBFS < D extends InputData > implements Permutation<D>, U
 			
 			//for i <- n downto 1 do
 			for( int i=graph.getNumberOfVertices()-1; i>0; --i ){
+				if (Thread.currentThread().isInterrupted()) {
+					throw new InterruptedException();
+				}
 				NVertex<LBFSData> biggest = null; // Vertex with highest label
 				for(int j=0; j<graph.getNumberOfVertices(); ++j) {
 					NVertex<LBFSData> v = graph.getVertex(j);					
@@ -84,7 +84,7 @@ public class MaximumCardinalitySearch<D extends InputData> implements Permutatio
 
 	//TODO Make O(n)-implementation
 	
-	public void run() {
+	public void run() throws InterruptedException {
 		/*
 		 * Algorithm MaximumCardinalitySearch - MCS
 		 * Input: A graph G.
@@ -100,6 +100,9 @@ public class MaximumCardinalitySearch<D extends InputData> implements Permutatio
 		//Output.present( graph, "MCS" );
 		
 		for( int i = graph.getNumberOfVertices()-1; i >= 0; --i ) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new InterruptedException();
+			}
 			//Find unnumbered neigbhour with max weight
 			int max = 0;
 			NVertex<MCSData> z = null;
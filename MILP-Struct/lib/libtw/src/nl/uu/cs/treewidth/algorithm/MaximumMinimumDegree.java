@@ -58,7 +58,7 @@ public class MaximumMinimumDegree<D extends InputData> implements LowerBound<D>
 		graph = g.copy( );
 	}
 
-	public void run() {
+	public void run() throws InterruptedException {
 		/* MMD(Graph G) ::
 		 * H = G
 		 * maxmin = 0
@@ -74,6 +74,9 @@ public class MaximumMinimumDegree<D extends InputData> implements LowerBound<D>
 		int maxDegree = 0;		
 		
 		for( int i=0; i<graph.getNumberOfVertices(); ++i) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new InterruptedException();
+			}
 			NVertex<D> minDegreeVertex = null;
 			int min = Integer.MAX_VALUE;
 			for(NVertex<D> v : graph) {
@@ -69,7 +69,7 @@ public class MinorMinWidth< D extends InputData > implements LowerBound<D> {
 	 * Method runs the algorithm and sets the lowerbound.
 	 *
 	 */
-	public void run() {
+	public void run() throws InterruptedException {
 		/*
 		 * 1. lb=0;
 		 * 2. Repeat
@@ -83,6 +83,9 @@ public class MinorMinWidth< D extends InputData > implements LowerBound<D> {
 		 */
 		
 		while( graph.getNumberOfVertices()>0 ) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new InterruptedException();
+			}
 			//Find the vertex with lowest degree
 			int min = Integer.MAX_VALUE;
 			NVertex<D> z = null;
@@ -21,6 +21,9 @@
  
 package nl.uu.cs.treewidth.algorithm;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import nl.uu.cs.treewidth.input.GraphInput.InputData;
 import nl.uu.cs.treewidth.ngraph.ListGraph;
 import nl.uu.cs.treewidth.ngraph.ListVertex;
@@ -34,7 +37,8 @@ public class PermutationToTreeDecomposition<D extends InputData> implements Uppe
 	private Permutation<D> permAlg;
 	private int upperBound;
 	private NGraph<PermutedData> gcopy;
-	private NVertex[] original2copy;
+	// the copies of the vertices by their data, as the ids of the data are not necessarily 0 to n-1, e.g. in components
+	private Map<InputData, NVertex<PermutedData>> original2copy;
 	private NGraph<NTDBag<D>> decomp;
 	private NVertexOrder<D> givenPermutation;
 	
@@ -83,9 +87,9 @@ public class PermutationToTreeDecomposition<D extends InputData> implements Uppe
 	public void setInput(NGraph<D> g) {
 		if( permAlg!=null ) permAlg.setInput(g);
 		gcopy = g.copy( new Convertor() );
-		original2copy = new NVertex[gcopy.getNumberOfVertices()];
+		original2copy = new IdentityHashMap<InputData, NVertex<PermutedData>>(2 * gcopy.getNumberOfVertices());
 		for (NVertex<PermutedData> v: gcopy){
-			original2copy[v.data.original.data.id] = v;
+			original2copy.put(v.data.original.data, v);
 		}
 	}
 
@@ -103,7 +107,7 @@ public class PermutationToTreeDecomposition<D extends InputData> implements Uppe
 		}
 		int i = 0;
 		for (NVertex<D> v: permutation.order){
-			NVertex<PermutedData> vp = (NVertex<PermutedData>) original2copy[v.data.id];
+			NVertex<PermutedData> vp = original2copy.get(v.data);
 			vp.data.permIndex = i;
 			++i;
 		}
@@ -139,7 +143,7 @@ public class PermutationToTreeDecomposition<D extends InputData> implements Uppe
 			gcopy.getVertex(0).data.bag = decompVertex;
 			gcopy.getVertex(1).data.bag = decompVertex;
 		} else {
-			NVertex<PermutedData> thisVertex = original2copy[permutation.order.get(permIndex).data.id];
+			NVertex<PermutedData> thisVertex = original2copy.get(permutation.order.get(permIndex).data);
 			gcopy.eliminate(thisVertex);
 			//go into recursion
 			permDecomp(permutation, permIndex+1);
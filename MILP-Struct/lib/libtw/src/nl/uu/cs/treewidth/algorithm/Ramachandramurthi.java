@@ -68,7 +68,7 @@ public class Ramachandramurthi< D extends InputData >implements LowerBound<D> {
 	 * Method runs the algorithm and sets the lowerbound.
 	 *
 	 */
-	public void run() {
+	public void run() throws InterruptedException {
 		/* Ramachandramurthi, when
 		 * G = (V;E) is a clique, the number of vertices minus 1; and when G is not
 		 * a clique, the minimum over all pairs of non-adjacent vertices v, w, of the
@@ -97,6 +97,9 @@ public class Ramachandramurthi< D extends InputData >implements LowerBound<D> {
 		//Find the min max degree
 		int minDegree = graph.getNumberOfVertices();
 		for(int i=0; i<graph.getNumberOfVertices(); ++i) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new InterruptedException();
+			}
 			for(int j=0; j<graph.getNumberOfVertices(); ++j) {
 				if(i != j) {
 					NVertex<D> v1 = graph.getVertex(i);
@@ -0,0 +1,92 @@
+package benchmarks.java;
+
+import main.java.algo.LPInputData;
+import main.java.graph.DualGraphStatistics;
+import main.java.graph.GraphStatistics;
+import main.java.graph.IncidenceGraphStatistics;
+import main.java.graph.PrimalGraphStatistics;
+import main.java.lp.LinearProgram;
+import main.java.main.Configuration;
+import main.java.parser.DualGraphGenerator;
+import main.java.parser.GraphGenerator;
+import main.java.parser.IncidenceGraphGenerator;
+import main.java.parser.MILPParser;
+import main.java.parser.PrimalGraphGenerator;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.input.GridGraphGenerator;
+import nl.uu.cs.treewidth.input.InputException;
+import nl.uu.cs.treewidth.input.RandomGraphGenerator;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Inputs of the benchmarks: the bundled (M)ILP instances in Configuration.MPS_TEST_FILES_FOLDER and synthetic graphs
+ * of LibTW, named "random-<numEdges>" (RandomGraphGenerator with cycle chance 0.5) and "grid-<x>x<y>"
+ * (GridGraphGenerator).
+ *
+ * Like the graphs of the LPGraphInput, the synthetic graphs get LPInputData, of which every second vertex is integer,
+ * and have their components set, such that the torso-width and tree-depth can be computed on them as well.
+ */
+class BenchmarkInput {
+
+    private static final String RANDOM = "random-";
+    private static final String GRID = "grid-";
+
+    static String getInstancePath(String instance) {
+        return Configuration.MPS_TEST_FILES_FOLDER + instance;
+    }
+
+    static LinearProgram parseLinearProgram(String instance) throws IOException, InterruptedException {
+        return new MILPParser().parseMPS(getInstancePath(instance));
+    }
+
+    static GraphGenerator createGraphGenerator(String graphType) {
+        switch (graphType) {
+            case "primal": return new PrimalGraphGenerator();
+            case "incidence": return new IncidenceGraphGenerator();
+            case "dual": return new DualGraphGenerator();
+            default: throw new IllegalArgumentException("Unknown graph type " + graphType);
+        }
+    }
+
+    /**
+     * @return the statistics of the graph type with the LP statistics of lp set
+     */
+    static GraphStatistics createGraphStatistics(String graphType, LinearProgram lp) {
+        GraphStatistics graphStatistics;
+        switch (graphType) {
+            case "primal": graphStatistics = new PrimalGraphStatistics(); break;
+            case "incidence": graphStatistics = new IncidenceGraphStatistics(); break;
+            case "dual": graphStatistics = new DualGraphStatistics(); break;
+            default: throw new IllegalArgumentException("Unknown graph type " + graphType);
+        }
+        graphStatistics.setLpStatistics(lp.getStatistics());
+        return graphStatistics;
+    }
+
+    /**
+     * @return the primal graph of the instance or the synthetic graph
+     */
+    static NGraph<GraphInput.InputData> createNGraph(String input) throws IOException, InterruptedException, InputException {
+        if (input.startsWith(RANDOM)) {
+            return toLPGraph(new RandomGraphGenerator(Integer.parseInt(input.substring(RANDOM.length())), 0.5).get());
+        }
+        if (input.startsWith(GRID)) {
+            String[] size = input.substring(GRID.length()).split("x");
+            return toLPGraph(new GridGraphGenerator(Integer.parseInt(size[0]), Integer.parseInt(size[1])).get());
+        }
+        LinearProgram lp = parseLinearProgram(input);
+        return new PrimalGraphGenerator().linearProgramToNGraph(lp, createGraphStatistics("primal", lp));
+    }
+
+    /**
+     * Both generators create connected graphs, so the graph is its only component
+     */
+    private static NGraph<GraphInput.InputData> toLPGraph(NGraph<GraphInput.InputData> graph) {
+        NGraph<GraphInput.InputData> lpGraph = graph.copy(v -> new LPInputData(v.data.id, v.data.name, v.data.id % 2 == 0));
+        lpGraph.setComponents(Collections.singletonList(lpGraph));
+        return lpGraph;
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks.java;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks matching the regular expressions of the arguments, all benchmarks without arguments. The
+ * throughput and, with the gc profiler, the allocation rate are reported and written to ./output/benchmarks.csv.
+ *
+ * The benchmarks run in forked VMs with the stack size needed for the recursive algorithms on the larger graphs.
+ * More JMH options are available with org.openjdk.jmh.Main, for example "-prof gc -p input=roll3000.mps".
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        new File("./output").mkdirs();
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(5))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(5))
+                .forks(1)
+                .jvmArgsAppend("-Xss256m", "-Xmx4g")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result("./output/benchmarks.csv");
+        if (args.length == 0) {
+            options.include("benchmarks\\.java\\..*");
+        }
+        for (String include : args) {
+            options.include(include);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks.java;
+
+import main.java.graph.Graph;
+import main.java.lp.LinearProgram;
+import main.java.parser.GraphTransformator;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * Generation of the primal, incidence and dual graph of the bundled (M)ILP instances, directly as NGraph and as
+ * Graph, and the transformation of the generated Graphs to NGraphs with the LPGraphInput
+ */
+@State(Scope.Benchmark)
+public class GraphGeneratorBenchmark {
+
+    @Param({"bienst2_small_test.mps", "bienst2.mps", "roll3000.mps"})
+    public String instance;
+
+    @Param({"primal", "incidence", "dual"})
+    public String graphType;
+
+    private LinearProgram lp;
+    private Graph graph;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        lp = BenchmarkInput.parseLinearProgram(instance);
+        graph = BenchmarkInput.createGraphGenerator(graphType).linearProgramToGraph(lp);
+    }
+
+    @Benchmark
+    public NGraph<GraphInput.InputData> generateNGraph() throws InterruptedException {
+        return BenchmarkInput.createGraphGenerator(graphType).linearProgramToNGraph(lp,
+                BenchmarkInput.createGraphStatistics(graphType, lp));
+    }
+
+    @Benchmark
+    public Graph generate() throws InterruptedException {
+        return BenchmarkInput.createGraphGenerator(graphType).linearProgramToGraph(lp);
+    }
+
+    @Benchmark
+    public NGraph<GraphInput.InputData> transform() {
+        return GraphTransformator.graphToNGraph(graph);
+    }
+}
@@ -0,0 +1,30 @@
+package benchmarks.java;
+
+import main.java.lp.LinearProgram;
+import main.java.parser.MILPParser;
+import main.java.parser.MappedMILPParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * Parsing of the bundled (M)ILP instances with the MILPParser and the MappedMILPParser
+ */
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({"bienst2_small_test.mps", "bienst2.mps", "roll3000.mps"})
+    public String instance;
+
+    @Param({"scanner", "mapped"})
+    public String parser;
+
+    @Benchmark
+    public LinearProgram parse() throws IOException, InterruptedException {
+        MILPParser milpParser = parser.equals("mapped") ? new MappedMILPParser() : new MILPParser();
+        return milpParser.parseMPS(BenchmarkInput.getInstancePath(instance));
+    }
+}
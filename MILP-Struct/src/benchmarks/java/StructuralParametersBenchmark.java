@@ -0,0 +1,51 @@
+package benchmarks.java;
+
+import main.java.algo.TorsoWidth;
+import main.java.algo.TreeDepth;
+import main.java.main.Configuration;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.input.InputException;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * The torso-width and tree-depth computation on the primal graphs of the bundled (M)ILP instances and on synthetic
+ * graphs. The torso-width uses the default treewidth bound algorithms.
+ */
+@State(Scope.Benchmark)
+public class StructuralParametersBenchmark {
+
+    @Param({"bienst2.mps", "roll3000.mps", "random-5000", "grid-60x60"})
+    public String input;
+
+    private NGraph<GraphInput.InputData> graph;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException, InputException {
+        Configuration.setDefaultAlgorithms();
+        graph = BenchmarkInput.createNGraph(input);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int torsoWidth() throws InterruptedException {
+        TorsoWidth torsoWidth = new TorsoWidth();
+        torsoWidth.setInput(graph);
+        torsoWidth.run();
+        return torsoWidth.getUpperBound();
+    }
+
+    @Benchmark
+    public int treeDepth() throws InterruptedException {
+        TreeDepth<GraphInput.InputData> treeDepth = new TreeDepth<>();
+        treeDepth.setInput(graph);
+        treeDepth.run();
+        return treeDepth.getUpperBound();
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks.java;
+
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.algorithm.UpperBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.input.InputException;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The treewidth lower and upper bound algorithms on the primal graphs of the bundled (M)ILP instances and on
+ * synthetic graphs. Every invocation runs the algorithm on the same graph, the algorithms work on a copy of it.
+ *
+ * The default parameters compare the default algorithms with the corresponding LibTW algorithms. The fill-in
+ * heuristics and MinorMinWidth take minutes on the dense primal graph of roll3000, they can be selected with for
+ * example -p upperBoundAlgorithm=main.java.algo.IncrementalGreedyFillIn.
+ */
+@State(Scope.Benchmark)
+public class TreeWidthBenchmark {
+
+    @Param({"bienst2.mps", "roll3000.mps", "random-5000", "grid-60x60"})
+    public String input;
+
+    @Param({"nl.uu.cs.treewidth.algorithm.MaximumMinimumDegreePlusLeastC",
+            "main.java.algo.BucketMaximumMinimumDegreePlusLeastC"})
+    public String lowerBoundAlgorithm;
+
+    @Param({"nl.uu.cs.treewidth.algorithm.GreedyDegree",
+            "main.java.algo.BucketGreedyDegree"})
+    public String upperBoundAlgorithm;
+
+    private NGraph<GraphInput.InputData> graph;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException, InputException {
+        graph = BenchmarkInput.createNGraph(input);
+    }
+
+    @Benchmark
+    public int lowerBound() throws ReflectiveOperationException, InterruptedException {
+        LowerBound<GraphInput.InputData> lowerBound = newInstance(lowerBoundAlgorithm);
+        lowerBound.setInput(graph);
+        lowerBound.run();
+        return lowerBound.getLowerBound();
+    }
+
+    @Benchmark
+    public int upperBound() throws ReflectiveOperationException, InterruptedException {
+        UpperBound<GraphInput.InputData> upperBound = newInstance(upperBoundAlgorithm);
+        upperBound.setInput(graph);
+        upperBound.run();
+        return upperBound.getUpperBound();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T newInstance(String className) throws ClassNotFoundException, NoSuchMethodException,
+            InvocationTargetException, InstantiationException, IllegalAccessException {
+        return (T) Class.forName(className).getConstructor().newInstance();
+    }
+}
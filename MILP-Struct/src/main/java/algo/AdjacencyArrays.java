@@ -0,0 +1,60 @@
+package main.java.algo;
+
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only adjacency of an NGraph as int arrays. The vertices get the ids 0..n-1 in the vertex order of the graph,
+ * the neighbours of vertex v are neighbors[neighborStart[v]] .. neighbors[neighborStart[v + 1] - 1] in the neighbour
+ * order of the graph. It can be shared by several threads.
+ */
+final class AdjacencyArrays<D> {
+
+    private final List<NVertex<D>> vertices;
+    final int[] neighborStart;
+    final int[] neighbors;
+
+    AdjacencyArrays(NGraph<D> graph) {
+        vertices = new ArrayList<>(graph.getNumberOfVertices());
+        Map<NVertex<D>, Integer> ids = new IdentityHashMap<>();
+        for (NVertex<D> v : graph) {
+            ids.put(v, vertices.size());
+            vertices.add(v);
+        }
+
+        // neighbours outside of the graph are skipped, as in IntGraph.copyOf
+        neighborStart = new int[vertices.size() + 1];
+        for (int v = 0; v < vertices.size(); v++) {
+            int degree = 0;
+            for (NVertex<D> neighbor : vertices.get(v)) {
+                if (ids.containsKey(neighbor)) {
+                    degree++;
+                }
+            }
+            neighborStart[v + 1] = neighborStart[v] + degree;
+        }
+        neighbors = new int[neighborStart[vertices.size()]];
+        for (int v = 0; v < vertices.size(); v++) {
+            int k = neighborStart[v];
+            for (NVertex<D> neighbor : vertices.get(v)) {
+                Integer id = ids.get(neighbor);
+                if (id != null) {
+                    neighbors[k++] = id;
+                }
+            }
+        }
+    }
+
+    int getNumberOfVertices() {
+        return vertices.size();
+    }
+
+    NVertex<D> getVertex(int id) {
+        return vertices.get(id);
+    }
+}
@@ -0,0 +1,202 @@
+package main.java.algo;
+
+import main.java.main.InterruptibleTask;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs several treewidth lower and upper bound algorithms concurrently on the same graph as InterruptibleTasks and
+ * keeps the largest lower and the smallest upper bound. Every algorithm computes its bound with the components of the
+ * graph like the TreeWidthWrapper. As soon as the best lower bound equals the best upper bound, the treewidth is known
+ * and the algorithms that are still running are interrupted. If a timeout is set, the algorithms that are not finished
+ * after it are interrupted as well.
+ *
+ * The algorithms are started alternately from both lists, so with a single thread the first algorithms of the lists
+ * run first. If no algorithm of a list finished, the bound of the graph reduction or the number of vertices minus 1
+ * is taken as trivial bound.
+ *
+ * The best bound of each kind found so far is passed to the algorithms of the other kind as known bound, such that a
+ * ParallelAllStart algorithm stops once it reaches it instead of computing its own.
+ */
+public class BoundPortfolio {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundPortfolio.class);
+
+    public enum Kind {
+        LOWER_BOUND, UPPER_BOUND;
+
+        @Override
+        public String toString() {
+            return this == LOWER_BOUND ? "LB" : "UB";
+        }
+    }
+
+    /**
+     * The result of one algorithm of the portfolio, the bound is null if the algorithm was interrupted or failed
+     */
+    public static class Member {
+        private final Class<?> algorithm;
+        private final Kind kind;
+        private final Integer bound;
+        private final long wallTime;
+
+        private Member(Class<?> algorithm, Kind kind, Integer bound, long wallTime) {
+            this.algorithm = algorithm;
+            this.kind = kind;
+            this.bound = bound;
+            this.wallTime = wallTime;
+        }
+
+        public Class<?> getAlgorithm() {
+            return algorithm;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Integer getBound() {
+            return bound;
+        }
+
+        /**
+         * @return the wall time of the algorithm in nanoseconds, 0 if it was interrupted or failed
+         */
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        public boolean isFinished() {
+            return bound != null;
+        }
+    }
+
+    private final List<Class<?>> lowerBoundAlgs;
+    private final List<Class<?>> upperBoundAlgs;
+    private final long timeout;
+    private final List<Member> members = new ArrayList<>();
+    private int lowerBound;
+    private int upperBound;
+    private Member lowerBoundWinner;
+    private Member upperBoundWinner;
+
+    /**
+     * @param timeout the seconds after which the unfinished algorithms are interrupted, 0 for no timeout
+     */
+    public BoundPortfolio(List<Class<?>> lowerBoundAlgs, List<Class<?>> upperBoundAlgs, long timeout) {
+        this.lowerBoundAlgs = lowerBoundAlgs;
+        this.upperBoundAlgs = upperBoundAlgs;
+        this.timeout = timeout;
+    }
+
+    public void run(NGraph<GraphInput.InputData> g) throws InterruptedException {
+        run(g, 0);
+    }
+
+    /**
+     * Computes the bounds of the graph that was reduced to g by a GraphReduction with the lower bound
+     * reductionLowerBound
+     */
+    public void run(NGraph<GraphInput.InputData> g, int reductionLowerBound) throws InterruptedException {
+        List<Class<?>> algorithms = new ArrayList<>();
+        List<Kind> kinds = new ArrayList<>();
+        for (int i = 0; i < Math.max(lowerBoundAlgs.size(), upperBoundAlgs.size()); i++) {
+            if (i < lowerBoundAlgs.size()) {
+                algorithms.add(lowerBoundAlgs.get(i));
+                kinds.add(Kind.LOWER_BOUND);
+            }
+            if (i < upperBoundAlgs.size()) {
+                algorithms.add(upperBoundAlgs.get(i));
+                kinds.add(Kind.UPPER_BOUND);
+            }
+        }
+
+        AtomicInteger bestLowerBound = new AtomicInteger(reductionLowerBound);
+        AtomicInteger bestUpperBound = new AtomicInteger(Math.max(reductionLowerBound, g.getNumberOfVertices() - 1));
+        IntSupplier knownLowerBound = lowerBoundAlgs.isEmpty() ? null : bestLowerBound::get;
+        IntSupplier knownUpperBound = upperBoundAlgs.isEmpty() ? null : bestUpperBound::get;
+
+        List<InterruptibleTask<Member>> tasks = new ArrayList<>();
+        for (int i = 0; i < algorithms.size(); i++) {
+            Class<?> algorithm = algorithms.get(i);
+            Kind kind = kinds.get(i);
+            tasks.add(new InterruptibleTask<>(() -> {
+                long start = System.nanoTime();
+                try {
+                    int bound = kind == Kind.LOWER_BOUND
+                            ? TreeWidthWrapper.computeLowerBoundWithComponents(g, algorithm, knownUpperBound)
+                            : TreeWidthWrapper.computeUpperBoundWithComponents(g, algorithm, knownLowerBound);
+                    return new Member(algorithm, kind, Math.max(reductionLowerBound, bound), System.nanoTime() - start);
+                } catch (RuntimeException | OutOfMemoryError | StackOverflowError e) {
+                    // the other algorithms of the portfolio still provide their bounds, also if a heavy one ran out
+                    // of memory or stack
+                    LOGGER.error("{} failed", algorithm.getSimpleName(), e);
+                    return new Member(algorithm, kind, null, 0);
+                }
+            }));
+        }
+
+        lowerBound = bestLowerBound.get();
+        upperBound = bestUpperBound.get();
+        lowerBoundWinner = null;
+        upperBoundWinner = null;
+        List<Member> results = InterruptibleTask.computeUntil(tasks, timeout * 1000000000L, (task, member) -> {
+            if (!member.isFinished()) {
+                return false;
+            }
+            if (member.kind == Kind.LOWER_BOUND && (lowerBoundWinner == null || member.bound > lowerBound)) {
+                lowerBound = member.bound;
+                lowerBoundWinner = member;
+                bestLowerBound.set(lowerBound);
+            }
+            if (member.kind == Kind.UPPER_BOUND && (upperBoundWinner == null || member.bound < upperBound)) {
+                upperBound = member.bound;
+                upperBoundWinner = member;
+                bestUpperBound.set(upperBound);
+            }
+            return lowerBoundWinner != null && upperBoundWinner != null && lowerBound == upperBound;
+        });
+
+        members.clear();
+        for (int i = 0; i < algorithms.size(); i++) {
+            Member member = results.get(i);
+            members.add(member != null ? member : new Member(algorithms.get(i), kinds.get(i), null, 0));
+        }
+    }
+
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    public int getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @return the first finished algorithm with the best lower bound, null if no lower bound algorithm finished
+     */
+    public Member getLowerBoundWinner() {
+        return lowerBoundWinner;
+    }
+
+    /**
+     * @return the first finished algorithm with the best upper bound, null if no upper bound algorithm finished
+     */
+    public Member getUpperBoundWinner() {
+        return upperBoundWinner;
+    }
+
+    /**
+     * @return the results of all algorithms in the order they were started
+     */
+    public List<Member> getMembers() {
+        return members;
+    }
+}
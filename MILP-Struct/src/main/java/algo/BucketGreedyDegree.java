@@ -0,0 +1,76 @@
+package main.java.algo;
+
+import main.java.graph.IntGraph;
+import main.java.graph.IntVertex;
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.Permutation;
+import nl.uu.cs.treewidth.algorithm.UpperBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+
+/**
+ * Computes the same permutation and upper bound as the GreedyDegree algorithm of LibTW, i.e. repeatedly eliminates
+ * the first vertex of minimum degree until the graph is empty or has at most upper bound many vertices left.
+ *
+ * Instead of scanning all vertices for the minimum degree in every step, the vertices are kept in DegreeBuckets and
+ * only the degrees of the neighbours of the eliminated vertex are updated. The elimination itself is done on an
+ * IntGraph copy of the input.
+ */
+public class BucketGreedyDegree<D extends GraphInput.InputData> extends ThreadExecutor implements Permutation<D>, UpperBound<D> {
+
+    private NVertexOrder<D> permutation = new NVertexOrder<>();
+    private IntGraph<NVertex<D>> graph;
+    private int upperBound = Integer.MAX_VALUE;
+
+    @Override
+    public String getName() {
+        return "BucketGreedyDegree";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        graph = IntGraph.copyOf(g, v -> v);
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        DegreeBuckets buckets = new DegreeBuckets(graph.getNumberOfIds());
+        for (NVertex<NVertex<D>> v : graph) {
+            buckets.update(((IntVertex<NVertex<D>>) v).getId(), v.getNumberOfNeighbors());
+        }
+
+        upperBound = Integer.MIN_VALUE;
+        while (graph.getNumberOfVertices() > 0) {
+            checkInterrupted();
+
+            IntVertex<NVertex<D>> smallestVertex = graph.getVertexById(buckets.peekMin());
+            permutation.order.add(smallestVertex.data);
+            upperBound = Math.max(upperBound, smallestVertex.getNumberOfNeighbors());
+
+            // only the degrees of the neighbours change, the eliminated vertex keeps its neighbour list
+            graph.eliminate(smallestVertex);
+            buckets.remove(smallestVertex.getId());
+            for (int i = 0; i < smallestVertex.getNumberOfNeighbors(); i++) {
+                int neighbor = smallestVertex.getNeighborId(i);
+                buckets.update(neighbor, graph.getVertexById(neighbor).getNumberOfNeighbors());
+            }
+
+            // early termination, helpful if graph is a clique
+            if (graph.getNumberOfVertices() <= upperBound) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public NVertexOrder<D> getPermutation() {
+        return permutation;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return upperBound;
+    }
+}
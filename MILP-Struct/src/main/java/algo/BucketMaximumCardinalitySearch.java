@@ -0,0 +1,141 @@
+package main.java.algo;
+
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.algorithm.Permutation;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+
+import java.util.Arrays;
+
+/**
+ * Maximum cardinality search as the MaximumCardinalitySearch algorithm of LibTW: repeatedly visit an unvisited vertex
+ * with the most visited neighbours. The permutation is the reversed visiting order, the lower bound is the maximum
+ * number of visited neighbours of a vertex when it is visited.
+ *
+ * Instead of scanning all vertices for the maximum weight in every step, the unvisited vertices are kept in buckets
+ * of linked lists by their weight, which takes O(n + m) instead of O(n^2) time. The graph is read from
+ * AdjacencyArrays. Like LibTW the search starts with the last vertex, but among the other vertices of maximum weight
+ * the one whose weight was raised last is visited instead of the last one in the vertex order. So the ordering and
+ * the lower bound can differ from LibTW, they are those of another maximum cardinality search.
+ */
+public class BucketMaximumCardinalitySearch<D extends GraphInput.InputData> extends ThreadExecutor implements Permutation<D>, LowerBound<D> {
+
+    private AdjacencyArrays<D> adjacency;
+    private NVertexOrder<D> permutation = new NVertexOrder<>();
+    private int lowerBound = Integer.MIN_VALUE;
+
+    @Override
+    public String getName() {
+        return "BucketMaximumCardinalitySearch";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        adjacency = new AdjacencyArrays<>(g);
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        int numVertices = adjacency.getNumberOfVertices();
+        int[] visitOrder = new int[numVertices];
+        int maxVisitedNeighbors = search(-1, visitOrder);
+        if (numVertices > 0) {
+            lowerBound = maxVisitedNeighbors;
+        }
+        permutation = new NVertexOrder<>(numVertices);
+        for (int i = numVertices - 1; i >= 0; i--) {
+            permutation.order.add(adjacency.getVertex(visitOrder[i]));
+        }
+    }
+
+    /**
+     * Runs the search on the input graph, it only uses local state and can be called by several threads at once
+     *
+     * @param startVertex the vertex that is visited first, -1 to start with the last vertex as LibTW does
+     * @param visitOrder  receives the visited vertices in the order of their visit, may be null
+     * @return the maximum number of visited neighbours of a vertex when it is visited
+     */
+    int search(int startVertex, int[] visitOrder) throws InterruptedException {
+        int numVertices = adjacency.getNumberOfVertices();
+        int[] neighborStart = adjacency.neighborStart;
+        int[] neighbors = adjacency.neighbors;
+
+        // bucket w is a doubly linked list of the unvisited vertices with w visited neighbours, a vertex is inserted
+        // at the head of its bucket; weight is -1 for the visited vertices
+        int[] weight = new int[numVertices];
+        int[] head = new int[numVertices + 1];
+        int[] next = new int[numVertices];
+        int[] previous = new int[numVertices];
+        Arrays.fill(head, -1);
+        for (int v = 0; v < numVertices; v++) {
+            insert(v, 0, head, next, previous);
+        }
+
+        int maxWeight = 0;
+        int maxVisitedNeighbors = 0;
+        for (int i = 0; i < numVertices; i++) {
+            if (i % 100 == 0) {
+                checkInterrupted();
+            }
+            int z;
+            if (i == 0 && startVertex != -1) {
+                z = startVertex;
+            } else {
+                // a weight only grows by one per edge, so the maximum moves down at most n + m times in total
+                while (head[maxWeight] == -1) {
+                    maxWeight--;
+                }
+                z = head[maxWeight];
+            }
+            remove(z, weight[z], head, next, previous);
+            maxVisitedNeighbors = Math.max(maxVisitedNeighbors, weight[z]);
+            weight[z] = -1;
+            if (visitOrder != null) {
+                visitOrder[i] = z;
+            }
+
+            for (int k = neighborStart[z]; k < neighborStart[z + 1]; k++) {
+                int w = neighbors[k];
+                if (weight[w] != -1) {
+                    remove(w, weight[w], head, next, previous);
+                    weight[w]++;
+                    insert(w, weight[w], head, next, previous);
+                    maxWeight = Math.max(maxWeight, weight[w]);
+                }
+            }
+        }
+        return maxVisitedNeighbors;
+    }
+
+    private static void insert(int v, int bucket, int[] head, int[] next, int[] previous) {
+        next[v] = head[bucket];
+        previous[v] = -1;
+        if (head[bucket] != -1) {
+            previous[head[bucket]] = v;
+        }
+        head[bucket] = v;
+    }
+
+    private static void remove(int v, int bucket, int[] head, int[] next, int[] previous) {
+        if (previous[v] != -1) {
+            next[previous[v]] = next[v];
+        } else {
+            head[bucket] = next[v];
+        }
+        if (next[v] != -1) {
+            previous[next[v]] = previous[v];
+        }
+    }
+
+    @Override
+    public NVertexOrder<D> getPermutation() {
+        return permutation;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return lowerBound;
+    }
+}
@@ -0,0 +1,334 @@
+package main.java.algo;
+
+import main.java.graph.IntGraph;
+import main.java.graph.IntVertex;
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the same lower bound as the MaximumMinimumDegreePlusLeastC algorithm of LibTW: repeatedly select the first
+ * vertex of minimum degree and contract it with the first of its neighbours that has the least common neighbours
+ * with it. The lower bound is the maximum over the selected minimum degrees.
+ *
+ * The vertices are kept in DegreeBuckets, common neighbours are counted with a mark array and the adjacency lists are
+ * doubly linked lists of arcs in which every arc knows its reverse arc. Contracting an edge thus takes time linear in
+ * the degrees of its two vertices, while the neighbour order stays the same as in the ListVertex implementation.
+ */
+public class BucketMaximumMinimumDegreePlusLeastC<D extends GraphInput.InputData> extends ThreadExecutor implements LowerBound<D>, Cloneable {
+
+    protected static final int NONE = -1;
+
+    private int lowerBound = Integer.MIN_VALUE;
+    private int numVertices;
+    private int startVertex = NONE;
+
+    // adjacency lists: first and last arc and degree of every vertex
+    protected int[] head;
+    private int[] tail;
+    protected int[] degree;
+
+    // arcs: source and target vertex, next and previous arc in the list of the source and the reverse arc
+    private int[] source;
+    protected int[] target;
+    protected int[] next;
+    private int[] previous;
+    private int[] reverse;
+    private int freeArcs = NONE;
+
+    private int[] marks;
+    private int markStamp = 0;
+
+    @Override
+    public String getName() {
+        return "Bucket MMD+Least-c: Maximum Minimum Degree Plus least-c";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        IntGraph<D> graph = IntGraph.copyOf(g);
+        numVertices = graph.getNumberOfIds();
+        head = new int[numVertices];
+        tail = new int[numVertices];
+        degree = new int[numVertices];
+        marks = new int[numVertices];
+        Arrays.fill(head, NONE);
+        Arrays.fill(tail, NONE);
+
+        int numArcs = 0;
+        for (NVertex<D> v : graph) {
+            numArcs += v.getNumberOfNeighbors();
+        }
+        source = new int[numArcs];
+        target = new int[numArcs];
+        next = new int[numArcs];
+        previous = new int[numArcs];
+        reverse = new int[numArcs];
+        for (int arc = numArcs - 1; arc >= 0; arc--) {
+            next[arc] = freeArcs;
+            freeArcs = arc;
+        }
+
+        for (int v = 0; v < numVertices; v++) {
+            IntVertex<D> vertex = graph.getVertexById(v);
+            for (int i = 0; i < vertex.getNumberOfNeighbors(); i++) {
+                append(v, vertex.getNeighborId(i));
+            }
+        }
+        linkReverseArcs(numArcs);
+    }
+
+    /**
+     * Sets the reverse arcs by collecting the incoming arcs of every vertex and looking up the outgoing arc to their
+     * source
+     */
+    private void linkReverseArcs(int numArcs) {
+        int[] incomingStart = new int[numVertices + 1];
+        for (int arc = 0; arc < numArcs; arc++) {
+            incomingStart[target[arc] + 1]++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            incomingStart[v + 1] += incomingStart[v];
+        }
+        int[] incoming = new int[numArcs];
+        int[] fill = Arrays.copyOf(incomingStart, numVertices);
+        for (int arc = 0; arc < numArcs; arc++) {
+            incoming[fill[target[arc]]++] = arc;
+        }
+
+        int[] arcTo = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            for (int arc = head[v]; arc != NONE; arc = next[arc]) {
+                arcTo[target[arc]] = arc;
+            }
+            for (int k = incomingStart[v]; k < incomingStart[v + 1]; k++) {
+                int arc = incoming[k];
+                reverse[arc] = arcTo[source[arc]];
+            }
+        }
+    }
+
+    /**
+     * @return a copy with its own graph, e.g. to run it from several start vertices concurrently
+     */
+    BucketMaximumMinimumDegreePlusLeastC<D> copy() {
+        try {
+            @SuppressWarnings("unchecked")
+            BucketMaximumMinimumDegreePlusLeastC<D> copy = (BucketMaximumMinimumDegreePlusLeastC<D>) clone();
+            copy.head = head.clone();
+            copy.tail = tail.clone();
+            copy.degree = degree.clone();
+            copy.source = source.clone();
+            copy.target = target.clone();
+            copy.next = next.clone();
+            copy.previous = previous.clone();
+            copy.reverse = reverse.clone();
+            copy.marks = marks.clone();
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Restores the graph and the lower bound of the copy it was created from before it was run
+     */
+    void reset(BucketMaximumMinimumDegreePlusLeastC<D> original) {
+        System.arraycopy(original.head, 0, head, 0, head.length);
+        System.arraycopy(original.tail, 0, tail, 0, tail.length);
+        System.arraycopy(original.degree, 0, degree, 0, degree.length);
+        System.arraycopy(original.source, 0, source, 0, source.length);
+        System.arraycopy(original.target, 0, target, 0, target.length);
+        System.arraycopy(original.next, 0, next, 0, next.length);
+        System.arraycopy(original.previous, 0, previous, 0, previous.length);
+        System.arraycopy(original.reverse, 0, reverse, 0, reverse.length);
+        freeArcs = original.freeArcs;
+        lowerBound = original.lowerBound;
+    }
+
+    /**
+     * Contracts the start vertex first instead of the first vertex of minimum degree, which is only a lower bound if
+     * the start vertex has minimum degree
+     */
+    void setStartVertex(int startVertex) {
+        this.startVertex = startVertex;
+    }
+
+    /**
+     * @return the vertices of minimum non-zero degree, which are the start vertices of the all-start variant
+     */
+    int[] getMinimumDegreeVertices() {
+        int minDegree = Integer.MAX_VALUE;
+        for (int v = 0; v < numVertices; v++) {
+            if (degree[v] > 0) {
+                minDegree = Math.min(minDegree, degree[v]);
+            }
+        }
+        int finalMinDegree = minDegree;
+        return IntStream.range(0, numVertices).filter(v -> degree[v] == finalMinDegree).toArray();
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        DegreeBuckets buckets = new DegreeBuckets(numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            buckets.update(v, degree[v]);
+        }
+
+        int maxDegree = 0;
+        for (int i = 0; i < numVertices; i++) {
+            if (i % 100 == 0) {
+                checkInterrupted();
+            }
+
+            int minDegreeVertex = i == 0 && startVertex != NONE ? startVertex : buckets.peekMin();
+            if (minDegreeVertex == NONE) {
+                break;
+            }
+            if (degree[minDegreeVertex] == 0) {
+                if (stopsAtIsolatedVertex()) {
+                    // a vertex of degree 0 stays the minimum, the graph does not change anymore
+                    break;
+                }
+                buckets.remove(minDegreeVertex);
+                continue;
+            }
+            maxDegree = Math.max(maxDegree, degree[minDegreeVertex]);
+            contractEdge(minDegreeVertex, selectNeighbor(minDegreeVertex), buckets);
+        }
+        if (maxDegree > lowerBound) {
+            lowerBound = maxDegree;
+        }
+    }
+
+    /**
+     * Like the LibTW implementation, the lower bound is not increased after the first vertex of degree 0
+     */
+    protected boolean stopsAtIsolatedVertex() {
+        return true;
+    }
+
+    /**
+     * @return the neighbour of v it is contracted with
+     */
+    protected int selectNeighbor(int v) {
+        return selectLeastCommonNeighbor(v);
+    }
+
+    /**
+     * @return the first neighbour of v that has the least common neighbours with v
+     */
+    private int selectLeastCommonNeighbor(int v) {
+        markStamp++;
+        for (int arc = head[v]; arc != NONE; arc = next[arc]) {
+            marks[target[arc]] = markStamp;
+        }
+
+        int vertexToContractWith = NONE;
+        int leastCommon = Integer.MAX_VALUE;
+        for (int arc = head[v]; arc != NONE; arc = next[arc]) {
+            int other = target[arc];
+            int common = 0;
+            for (int otherArc = head[other]; otherArc != NONE; otherArc = next[otherArc]) {
+                if (marks[target[otherArc]] == markStamp) {
+                    common++;
+                }
+            }
+            if (common < leastCommon) {
+                vertexToContractWith = other;
+                leastCommon = common;
+                if (common == 0) {
+                    break;
+                }
+            }
+        }
+        return vertexToContractWith;
+    }
+
+    /**
+     * Same as NGraph.contractEdge: the vertex of higher degree (a on equal degrees) is kept and gets the neighbours
+     * of the other vertex appended, which is removed from the graph
+     */
+    private void contractEdge(int a, int b, DegreeBuckets buckets) {
+        int v1 = a;
+        int v2 = b;
+        if (degree[a] < degree[b]) {
+            v1 = b;
+            v2 = a;
+        }
+
+        int arcToV1 = head[v2];
+        while (target[arcToV1] != v1) {
+            arcToV1 = next[arcToV1];
+        }
+        removeArc(reverse[arcToV1]);
+        removeArc(arcToV1);
+
+        markStamp++;
+        for (int arc = head[v1]; arc != NONE; arc = next[arc]) {
+            marks[target[arc]] = markStamp;
+        }
+        int arc = head[v2];
+        while (arc != NONE) {
+            int nextArc = next[arc];
+            int neighbor = target[arc];
+            if (marks[neighbor] != markStamp) {
+                int newArc = append(v1, neighbor);
+                int newReverseArc = append(neighbor, v1);
+                reverse[newArc] = newReverseArc;
+                reverse[newReverseArc] = newArc;
+            }
+            removeArc(reverse[arc]);
+            removeArc(arc);
+            buckets.update(neighbor, degree[neighbor]);
+            arc = nextArc;
+        }
+
+        buckets.remove(v2);
+        buckets.update(v1, degree[v1]);
+    }
+
+    private int append(int v, int w) {
+        int arc = freeArcs;
+        freeArcs = next[arc];
+        source[arc] = v;
+        target[arc] = w;
+        next[arc] = NONE;
+        previous[arc] = tail[v];
+        if (tail[v] == NONE) {
+            head[v] = arc;
+        } else {
+            next[tail[v]] = arc;
+        }
+        tail[v] = arc;
+        degree[v]++;
+        return arc;
+    }
+
+    private void removeArc(int arc) {
+        int v = source[arc];
+        if (previous[arc] == NONE) {
+            head[v] = next[arc];
+        } else {
+            next[previous[arc]] = next[arc];
+        }
+        if (next[arc] == NONE) {
+            tail[v] = previous[arc];
+        } else {
+            previous[next[arc]] = previous[arc];
+        }
+        degree[v]--;
+        next[arc] = freeArcs;
+        freeArcs = arc;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return lowerBound;
+    }
+}
@@ -0,0 +1,41 @@
+package main.java.algo;
+
+import nl.uu.cs.treewidth.input.GraphInput;
+
+/**
+ * Computes the same lower bound as the MinorMinWidth algorithm of LibTW: repeatedly select the first vertex of minimum
+ * non-zero degree and contract it with the first of its neighbours of minimum degree. The lower bound is the maximum
+ * over the selected minimum degrees.
+ *
+ * Uses the DegreeBuckets and the arc lists of the BucketMaximumMinimumDegreePlusLeastC, vertices of degree 0 are
+ * skipped instead of stopping the contraction.
+ */
+public class BucketMinorMinWidth<D extends GraphInput.InputData> extends BucketMaximumMinimumDegreePlusLeastC<D> {
+
+    @Override
+    public String getName() {
+        return "Bucket MinorMinWidth";
+    }
+
+    @Override
+    protected boolean stopsAtIsolatedVertex() {
+        return false;
+    }
+
+    /**
+     * @return the first neighbour of v of minimum degree
+     */
+    @Override
+    protected int selectNeighbor(int v) {
+        int vertexToContractWith = NONE;
+        int minDegree = Integer.MAX_VALUE;
+        for (int arc = head[v]; arc != NONE; arc = next[arc]) {
+            int other = target[arc];
+            if (degree[other] < minDegree) {
+                vertexToContractWith = other;
+                minDegree = degree[other];
+            }
+        }
+        return vertexToContractWith;
+    }
+}
@@ -0,0 +1,605 @@
+package main.java.algo;
+
+import main.java.graph.IntGraph;
+import main.java.graph.IntVertex;
+import main.java.main.Configuration;
+import main.java.main.InterruptibleTask;
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.Exact;
+import nl.uu.cs.treewidth.algorithm.UpperBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The dynamic programming algorithm TreewidthDP of LibTW, which computes the exact treewidth. For a set S of vertices,
+ * TW(S) is the smallest width of eliminating the vertices of S first, and TW(S + v) is the minimum over the sets S of
+ * max(TW(S), Q(S, v)), where Q(S, v) is the number of vertices outside of S + v that are reachable from v through S.
+ * The sets are computed level by level in increasing size, only keeping the sets whose value is smaller than the best
+ * upper bound. The vertices of a maximal clique are eliminated last, so they are never added to a set. Like in the
+ * ParallelQuickBB, a set with a simplicial or almost simplicial vertex in the graph after eliminating it is only
+ * extended by this vertex.
+ *
+ * Reference paper: On Exact Algorithms for Treewidth, Hans L. Bodlaender, Fedor V. Fomin, Arie M.C.A. Koster, Dieter
+ * Kratsch, Dimitrios M. Thilikos.
+ *
+ * Differences to the TreewidthDP of LibTW: a level is an open addressing table of the sets packed into long words and
+ * int values instead of a HashMap of BitSets and Integers. The table is split into NUM_CHUNKS shards by the hash of
+ * the sets, the next level is generated from the chunks of the previous level by Configuration.COMPONENT_THREADS
+ * threads. If Configuration.DP_SPILL_FOLDER is set, every finished level is written to a memory-mapped file in that
+ * folder, so only the level that is generated is kept on the heap.
+ */
+public class CompactTreewidthDP<D extends GraphInput.InputData> extends ThreadExecutor implements Exact<D>, UpperBound<D> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactTreewidthDP.class);
+
+    private static final int NUM_CHUNKS = 64;
+    private static final int EMPTY = -1;
+
+    private NGraph<D> inputGraph;
+    private int numVertices;
+    private int words;
+    private long[][] neighbours;
+    private long[] clique;
+    private int cliqueSize;
+    private int lowerBound;
+    private final AtomicInteger upperBound = new AtomicInteger(Integer.MAX_VALUE);
+    private int treewidth;
+
+    @Override
+    public String getName() {
+        return "CompactTreewidthDP";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        inputGraph = g;
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        IncrementalGreedyFillIn<D> greedyFillIn = new IncrementalGreedyFillIn<>();
+        greedyFillIn.setInput(inputGraph);
+        greedyFillIn.run();
+        upperBound.set(greedyFillIn.getUpperBound());
+
+        IntGraph<D> graph = IntGraph.copyOf(inputGraph);
+        numVertices = graph.getNumberOfIds();
+        words = Math.max(1, (numVertices + 63) >>> 6);
+        neighbours = new long[numVertices][words];
+        for (NVertex<D> v : graph) {
+            IntVertex<D> vertex = (IntVertex<D>) v;
+            for (int i = 0; i < vertex.getNumberOfNeighbors(); i++) {
+                set(neighbours[vertex.getId()], vertex.getNeighborId(i));
+            }
+        }
+        findClique();
+        BucketMaximumMinimumDegreePlusLeastC<D> lowerBoundAlgo = new BucketMaximumMinimumDegreePlusLeastC<>();
+        lowerBoundAlgo.setInput(inputGraph);
+        lowerBoundAlgo.run();
+        lowerBound = Math.max(cliqueSize - 1, lowerBoundAlgo.getLowerBound());
+        treewidth = Math.max(cliqueSize - 1, computeTreewidthOfNonCliqueVertices());
+    }
+
+    /**
+     * Greedily grows a clique from a vertex of maximum degree, adding the vertices of largest degree first
+     */
+    private void findClique() {
+        Integer[] vertices = new Integer[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            vertices[v] = v;
+        }
+        Arrays.sort(vertices, (v1, v2) -> Integer.compare(cardinality(neighbours[v2]), cardinality(neighbours[v1])));
+        clique = new long[words];
+        cliqueSize = 0;
+        long[] candidates = new long[words];
+        Arrays.fill(candidates, -1L);
+        for (int v : vertices) {
+            if (get(candidates, v)) {
+                set(clique, v);
+                cliqueSize++;
+                for (int w = 0; w < words; w++) {
+                    candidates[w] &= neighbours[v][w];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return TW of the set of all vertices that are not in the clique, or the upper bound if it is at most the
+     * value of every set of a level
+     */
+    private int computeTreewidthOfNonCliqueVertices() throws InterruptedException {
+        int numLevels = numVertices - cliqueSize;
+        SetTable first = new SetTable(words);
+        first.insertMin(new long[words], 0);
+        Level level = first;
+        // the current level is closed on every path, such that an interrupted DP leaves no spilled file behind
+        try {
+            for (int size = 1; size <= numLevels; size++) {
+                if (upperBound.get() <= lowerBound) {
+                    return upperBound.get();
+                }
+                SetTable next = new SetTable(words);
+                int remaining = numVertices - size;
+                if (Configuration.COMPONENT_THREADS > 1) {
+                    List<InterruptibleTask<Void>> tasks = new ArrayList<>();
+                    for (int chunk = 0; chunk < level.getNumberOfChunks(); chunk++) {
+                        Level previous = level;
+                        int c = chunk;
+                        tasks.add(new InterruptibleTask<>(() -> {
+                            extendChunk(previous, c, next, remaining);
+                            return null;
+                        }));
+                    }
+                    InterruptibleTask.computeAll(tasks);
+                } else {
+                    for (int chunk = 0; chunk < level.getNumberOfChunks(); chunk++) {
+                        extendChunk(level, chunk, next, remaining);
+                    }
+                }
+                Level finished = level;
+                level = next;
+                finished.close();
+                if (next.getNumberOfSets() == 0) {
+                    return upperBound.get();
+                }
+                if (Configuration.DP_SPILL_FOLDER != null && size < numLevels) {
+                    level = MappedLevel.spill(next);
+                }
+            }
+            // the last level only holds the set of all vertices that are not in the clique
+            int[] value = {upperBound.get()};
+            for (int chunk = 0; chunk < level.getNumberOfChunks(); chunk++) {
+                level.forEachSet(chunk, (set, setValue) -> value[0] = Math.min(value[0], setValue));
+            }
+            return value[0];
+        } finally {
+            level.close();
+        }
+    }
+
+    /**
+     * Extends every set of the chunk by the vertices that are neither in the clique nor in the set and stores the
+     * extended sets in next if their value is smaller than the upper bound. If a vertex is simplicial in the graph
+     * after eliminating the set, or almost simplicial and its degree is at most the lower bound or the value of the
+     * set, there is an optimal elimination ordering continuing with it, so the set is only extended by this vertex.
+     *
+     * @param remaining the number of vertices that are not in the extended sets
+     */
+    private void extendChunk(Level level, int chunk, SetTable next, int remaining) throws InterruptedException {
+        long[] extended = new long[words];
+        long[][] eliminationNeighbours = new long[numVertices][words];
+        long[] component = new long[words];
+        long[] boundary = new long[words];
+        long[] nonAdjacent = new long[words];
+        int[] stack = new int[numVertices];
+        level.forEachSet(chunk, (set, value) -> {
+            checkInterrupted();
+            computeEliminationGraph(set, eliminationNeighbours, component, boundary, stack);
+            int reducibleVertex = findReducibleVertex(set, eliminationNeighbours, Math.max(lowerBound, value), nonAdjacent);
+            for (int v = 0; v < numVertices; v++) {
+                if (get(set, v) || get(clique, v) || (reducibleVertex != -1 && v != reducibleVertex)) {
+                    continue;
+                }
+                int extendedValue = Math.max(value, cardinality(eliminationNeighbours[v]));
+                if (extendedValue >= upperBound.get()) {
+                    continue;
+                }
+                System.arraycopy(set, 0, extended, 0, words);
+                set(extended, v);
+                next.insertMin(extended, extendedValue);
+                // the remaining vertices can be eliminated in any order with at most their number minus 1 as width
+                upperBound.accumulateAndGet(Math.max(extendedValue, remaining - 1), Math::min);
+            }
+        });
+    }
+
+    /**
+     * Computes the neighbours of the vertices outside of the set in the graph after eliminating the set: the
+     * neighbours outside of the set and the vertices that are adjacent to a connected component of the set it is
+     * adjacent to. Their number is Q(set, v).
+     */
+    private void computeEliminationGraph(long[] set, long[][] eliminationNeighbours, long[] component, long[] boundary, int[] stack) {
+        for (int v = 0; v < numVertices; v++) {
+            if (!get(set, v)) {
+                for (int w = 0; w < words; w++) {
+                    eliminationNeighbours[v][w] = neighbours[v][w] & ~set[w];
+                }
+            }
+        }
+        Arrays.fill(component, 0L);
+        for (int root = nextSetBit(set, 0); root != -1; root = nextSetBit(set, root + 1)) {
+            if (get(component, root)) {
+                continue;
+            }
+            Arrays.fill(boundary, 0L);
+            set(component, root);
+            int stackSize = 0;
+            stack[stackSize++] = root;
+            while (stackSize > 0) {
+                long[] uNeighbours = neighbours[stack[--stackSize]];
+                for (int w = 0; w < words; w++) {
+                    boundary[w] |= uNeighbours[w] & ~set[w];
+                    long unvisited = uNeighbours[w] & set[w] & ~component[w];
+                    component[w] |= unvisited;
+                    while (unvisited != 0) {
+                        stack[stackSize++] = (w << 6) + Long.numberOfTrailingZeros(unvisited);
+                        unvisited &= unvisited - 1;
+                    }
+                }
+            }
+            // eliminating the component makes its boundary a clique
+            for (int u = nextSetBit(boundary, 0); u != -1; u = nextSetBit(boundary, u + 1)) {
+                for (int w = 0; w < words; w++) {
+                    eliminationNeighbours[u][w] |= boundary[w];
+                }
+                eliminationNeighbours[u][u >>> 6] &= ~(1L << u);
+            }
+        }
+    }
+
+    /**
+     * @return a vertex outside of the set and the clique that is simplicial or almost simplicial with degree at most
+     * low in the graph after eliminating the set, -1 if there is none
+     */
+    private int findReducibleVertex(long[] set, long[][] eliminationNeighbours, int low, long[] nonAdjacent) {
+        for (int v = 0; v < numVertices; v++) {
+            if (get(set, v) || get(clique, v)) {
+                continue;
+            }
+            long[] vNeighbours = eliminationNeighbours[v];
+            int n1 = findNonAdjacentNeighbour(vNeighbours, eliminationNeighbours, -1, nonAdjacent);
+            if (n1 == -1) {
+                return v;
+            }
+            if (cardinality(vNeighbours) <= low) {
+                // the neighbour that is not in the clique has to be one of the first pair of non-adjacent neighbours
+                int n2 = nextSetBit(nonAdjacent, 0);
+                if (findNonAdjacentNeighbour(vNeighbours, eliminationNeighbours, n1, nonAdjacent) == -1
+                        || findNonAdjacentNeighbour(vNeighbours, eliminationNeighbours, n2, nonAdjacent) == -1) {
+                    return v;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the first of the vertices except excluded that is not adjacent to all others, then nonAdjacent holds
+     * the vertices it is not adjacent to. -1 if the vertices except excluded are pairwise adjacent.
+     */
+    private int findNonAdjacentNeighbour(long[] vertices, long[][] adjacency, int excluded, long[] nonAdjacent) {
+        for (int u = nextSetBit(vertices, 0); u != -1; u = nextSetBit(vertices, u + 1)) {
+            if (u == excluded) {
+                continue;
+            }
+            boolean empty = true;
+            for (int w = 0; w < words; w++) {
+                nonAdjacent[w] = vertices[w] & ~adjacency[u][w];
+            }
+            nonAdjacent[u >>> 6] &= ~(1L << u);
+            if (excluded != -1) {
+                nonAdjacent[excluded >>> 6] &= ~(1L << excluded);
+            }
+            for (int w = 0; w < words; w++) {
+                empty &= nonAdjacent[w] == 0;
+            }
+            if (!empty) {
+                return u;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the smallest element of the set that is at least from, -1 if there is none
+     */
+    private static int nextSetBit(long[] set, int from) {
+        int w = from >>> 6;
+        if (w >= set.length) {
+            return -1;
+        }
+        long word = set[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == set.length) {
+                return -1;
+            }
+            word = set[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static boolean get(long[] set, int v) {
+        return (set[v >>> 6] & (1L << v)) != 0;
+    }
+
+    private static void set(long[] set, int v) {
+        set[v >>> 6] |= 1L << v;
+    }
+
+    private static int cardinality(long[] set) {
+        int cardinality = 0;
+        for (long word : set) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    private static long hash(long[] keys, int offset, int words) {
+        long h = 0;
+        for (int w = 0; w < words; w++) {
+            h = (h ^ keys[offset + w]) * 0x9E3779B97F4A7C15L;
+        }
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+
+    @Override
+    public int getTreewidth() {
+        return treewidth;
+    }
+
+    /**
+     * @return the exact treewidth
+     */
+    @Override
+    public int getUpperBound() {
+        return treewidth;
+    }
+
+    private interface SetVisitor {
+        void visit(long[] set, int value) throws InterruptedException;
+    }
+
+    /**
+     * The sets of one level with their values, split into chunks that can be visited concurrently
+     */
+    private interface Level {
+        int getNumberOfChunks();
+
+        void forEachSet(int chunk, SetVisitor visitor) throws InterruptedException;
+
+        void close();
+    }
+
+    /**
+     * Open addressing tables with linear probing, one per chunk. The sets are stored as words consecutive longs in
+     * keys, an empty slot has the value EMPTY. A set is inserted into the shard given by the highest bits of its hash
+     * while holding the lock of the shard.
+     */
+    private static class SetTable implements Level {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int words;
+        private final Shard[] shards = new Shard[NUM_CHUNKS];
+
+        SetTable(int words) {
+            this.words = words;
+            for (int i = 0; i < NUM_CHUNKS; i++) {
+                shards[i] = new Shard();
+            }
+        }
+
+        private class Shard {
+            long[] keys = new long[INITIAL_CAPACITY * words];
+            int[] values = createValues(INITIAL_CAPACITY);
+            int size = 0;
+
+            synchronized void insertMin(long[] set, long hash, int value) {
+                int mask = values.length - 1;
+                int slot = (int) hash & mask;
+                while (values[slot] != EMPTY) {
+                    if (isKey(slot, set)) {
+                        values[slot] = Math.min(values[slot], value);
+                        return;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                System.arraycopy(set, 0, keys, slot * words, words);
+                values[slot] = value;
+                size++;
+                if (size * 4 > values.length * 3) {
+                    resize();
+                }
+            }
+
+            private boolean isKey(int slot, long[] set) {
+                for (int w = 0; w < words; w++) {
+                    if (keys[slot * words + w] != set[w]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private void resize() {
+                long[] oldKeys = keys;
+                int[] oldValues = values;
+                keys = new long[oldKeys.length * 2];
+                values = createValues(oldValues.length * 2);
+                int mask = values.length - 1;
+                for (int oldSlot = 0; oldSlot < oldValues.length; oldSlot++) {
+                    if (oldValues[oldSlot] == EMPTY) {
+                        continue;
+                    }
+                    int slot = (int) hash(oldKeys, oldSlot * words, words) & mask;
+                    while (values[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    System.arraycopy(oldKeys, oldSlot * words, keys, slot * words, words);
+                    values[slot] = oldValues[oldSlot];
+                }
+            }
+        }
+
+        private static int[] createValues(int capacity) {
+            int[] values = new int[capacity];
+            Arrays.fill(values, EMPTY);
+            return values;
+        }
+
+        void insertMin(long[] set, int value) {
+            long hash = hash(set, 0, words);
+            shards[(int) (hash >>> 58) & (NUM_CHUNKS - 1)].insertMin(set, hash, value);
+        }
+
+        long getNumberOfSets() {
+            long numSets = 0;
+            for (Shard shard : shards) {
+                numSets += shard.size;
+            }
+            return numSets;
+        }
+
+        @Override
+        public int getNumberOfChunks() {
+            return NUM_CHUNKS;
+        }
+
+        @Override
+        public void forEachSet(int chunk, SetVisitor visitor) throws InterruptedException {
+            Shard shard = shards[chunk];
+            long[] set = new long[words];
+            for (int slot = 0; slot < shard.values.length; slot++) {
+                if (shard.values[slot] != EMPTY) {
+                    System.arraycopy(shard.keys, slot * words, set, 0, words);
+                    visitor.visit(set, shard.values[slot]);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * A finished level in a memory-mapped file in Configuration.DP_SPILL_FOLDER: the sets of the chunks one after
+     * another, every set as words longs followed by its int value. The file is mapped in segments of at most
+     * Integer.MAX_VALUE bytes that hold whole sets, it is deleted when the level is closed.
+     */
+    private static class MappedLevel implements Level {
+        private final Path file;
+        private final int words;
+        private final int entrySize;
+        private final long entriesPerSegment;
+        private final MappedByteBuffer[] segments;
+        private final long[] chunkStarts;
+
+        private MappedLevel(Path file, int words, long numSets, long[] chunkStarts, FileChannel channel) throws IOException {
+            this.file = file;
+            this.words = words;
+            this.entrySize = words * Long.BYTES + Integer.BYTES;
+            this.entriesPerSegment = Integer.MAX_VALUE / entrySize;
+            this.chunkStarts = chunkStarts;
+            segments = new MappedByteBuffer[(int) ((numSets + entriesPerSegment - 1) / entriesPerSegment)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * entriesPerSegment;
+                long length = Math.min(entriesPerSegment, numSets - start) * entrySize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start * entrySize, length);
+            }
+        }
+
+        static MappedLevel spill(SetTable table) throws InterruptedException {
+            int words = table.words;
+            long[] chunkStarts = new long[NUM_CHUNKS + 1];
+            for (int chunk = 0; chunk < NUM_CHUNKS; chunk++) {
+                chunkStarts[chunk + 1] = chunkStarts[chunk] + table.shards[chunk].size;
+            }
+            Path file;
+            try {
+                Path folder = Paths.get(Configuration.DP_SPILL_FOLDER);
+                Files.createDirectories(folder);
+                file = Files.createTempFile(folder, "dp_level_", ".bin");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            MappedLevel level;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                level = new MappedLevel(file, words, chunkStarts[NUM_CHUNKS], chunkStarts, channel);
+            } catch (IOException e) {
+                deleteSpillFile(file);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                deleteSpillFile(file);
+                throw e;
+            }
+            boolean written = false;
+            try {
+                for (int chunk = 0; chunk < NUM_CHUNKS; chunk++) {
+                    long[] entry = {chunkStarts[chunk]};
+                    table.forEachSet(chunk, (set, value) -> level.write(entry[0]++, set, value));
+                }
+                written = true;
+                return level;
+            } finally {
+                if (!written) {
+                    level.close();
+                }
+            }
+        }
+
+        private void write(long entry, long[] set, int value) {
+            MappedByteBuffer segment = segments[(int) (entry / entriesPerSegment)];
+            int offset = (int) (entry % entriesPerSegment) * entrySize;
+            for (int w = 0; w < words; w++) {
+                segment.putLong(offset + w * Long.BYTES, set[w]);
+            }
+            segment.putInt(offset + words * Long.BYTES, value);
+        }
+
+        @Override
+        public int getNumberOfChunks() {
+            return NUM_CHUNKS;
+        }
+
+        @Override
+        public void forEachSet(int chunk, SetVisitor visitor) throws InterruptedException {
+            long[] set = new long[words];
+            for (long entry = chunkStarts[chunk]; entry < chunkStarts[chunk + 1]; entry++) {
+                MappedByteBuffer segment = segments[(int) (entry / entriesPerSegment)];
+                int offset = (int) (entry % entriesPerSegment) * entrySize;
+                for (int w = 0; w < words; w++) {
+                    set[w] = segment.getLong(offset + w * Long.BYTES);
+                }
+                visitor.visit(set, segment.getInt(offset + words * Long.BYTES));
+            }
+        }
+
+        @Override
+        public void close() {
+            // drop the mappings first, a mapped file cannot be deleted on every platform
+            Arrays.fill(segments, null);
+            deleteSpillFile(file);
+        }
+
+        /**
+         * Deletes the file or, if this fails, schedules its deletion at exit instead of failing the bound computation
+         */
+        private static void deleteSpillFile(Path file) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete spilled level " + file + ", it is deleted at exit: " + e.getMessage());
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
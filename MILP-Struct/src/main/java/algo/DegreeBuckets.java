@@ -0,0 +1,135 @@
+package main.java.algo;
+
+import java.util.Arrays;
+
+/**
+ * Bucket queue of the vertices 0..n-1 of a graph by their degree. Among the vertices of minimum degree the one with
+ * the smallest index is returned, such that the heuristics using it make the same choices as the LibTW
+ * implementations that take the first vertex of minimum degree in the vertex order.
+ *
+ * Every bucket is a min-heap of vertex indices. A vertex whose degree changes is pushed into its new bucket and its
+ * old entry is only dropped once it reaches the top of its bucket.
+ */
+class DegreeBuckets {
+
+    private final int[] degrees; // current degree of a vertex, -1 if it is not in the queue
+    private final IntHeap[] buckets;
+    private int minDegree = 0;
+    private int size = 0;
+
+    DegreeBuckets(int numVertices) {
+        degrees = new int[numVertices];
+        Arrays.fill(degrees, -1);
+        buckets = new IntHeap[numVertices + 1];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int getDegree(int vertex) {
+        return degrees[vertex];
+    }
+
+    /**
+     * Inserts the vertex or changes its degree if it is already in the queue
+     */
+    void update(int vertex, int degree) {
+        if (degrees[vertex] == degree) {
+            return;
+        }
+        if (degrees[vertex] == -1) {
+            size++;
+        }
+        degrees[vertex] = degree;
+        if (buckets[degree] == null) {
+            buckets[degree] = new IntHeap();
+        }
+        buckets[degree].push(vertex);
+        if (degree < minDegree) {
+            minDegree = degree;
+        }
+    }
+
+    void remove(int vertex) {
+        if (degrees[vertex] != -1) {
+            degrees[vertex] = -1;
+            size--;
+        }
+    }
+
+    /**
+     * @return the vertex with the smallest index among the vertices of minimum degree, -1 if the queue is empty
+     */
+    int peekMin() {
+        if (size == 0) {
+            return -1;
+        }
+        while (true) {
+            IntHeap bucket = buckets[minDegree];
+            if (bucket != null) {
+                while (!bucket.isEmpty() && degrees[bucket.peek()] != minDegree) {
+                    bucket.pop();
+                }
+                if (!bucket.isEmpty()) {
+                    return bucket.peek();
+                }
+            }
+            minDegree++;
+        }
+    }
+
+    /**
+     * Binary min-heap of ints
+     */
+    private static final class IntHeap {
+        private int[] heap = new int[8];
+        private int size = 0;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        void push(int value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, 2 * size);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int value = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= value) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = value;
+            return top;
+        }
+    }
+}
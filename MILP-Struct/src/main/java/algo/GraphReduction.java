@@ -0,0 +1,305 @@
+package main.java.algo;
+
+import main.java.graph.IntGraph;
+import main.java.graph.IntVertex;
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.ListGraph;
+import nl.uu.cs.treewidth.ngraph.ListVertex;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Safe treewidth reduction rules, applied before the treewidth bounds are computed. Like the PreProcessor of LibTW it
+ * keeps a lower bound low of the treewidth of the input graph, which starts as the MMD+least-c lower bound. A vertex v
+ * of degree d is removed from the graph if
+ * - d is 0 (islet) or 1 (twig), or the neighbours of v form a clique (simplicial), then low is increased to d,
+ * - d is 2 and low is at least 2 (series), v is eliminated, i.e. its neighbours are made adjacent,
+ * - all neighbours but one form a clique and d is at most low (almost simplicial), v is eliminated.
+ * The treewidth of the input graph is the maximum of low and the treewidth of the reduced graph, so lower and upper
+ * bounds of the reduced graph are bounds of the input graph after taking the maximum with low.
+ *
+ * Reference paper: Pre-processing for Triangulation of Probabilistic Networks, Hans L. Bodlaender, Arie M.C.A. Koster,
+ * Frank van den Eijkhof.
+ *
+ * The rules are detected incrementally: a vertex is checked again only if a neighbour was removed, if an edge was
+ * added between two of its neighbours or if low increased to its degree.
+ */
+public class GraphReduction<D extends GraphInput.InputData> extends ThreadExecutor implements LowerBound<D> {
+
+    public enum Rule {
+        ISLET, TWIG, SERIES, SIMPLICIAL, ALMOST_SIMPLICIAL;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase().replace('_', ' ');
+        }
+    }
+
+    private NGraph<D> inputGraph;
+    private IntGraph<D> graph;
+    private NGraph<D> reducedGraph;
+    private int low = 0;
+    private final Map<Rule, Integer> numRemovedVertices = new EnumMap<>(Rule.class);
+
+    // FIFO queue of the vertex ids to check
+    private int[] queue;
+    private boolean[] queued;
+    private int queueHead = 0;
+    private int queueSize = 0;
+
+    // vertices that can only be reduced once low reaches their degree
+    private IndexedMinHeap deferred;
+
+    @Override
+    public String getName() {
+        return "Graph reduction: islet, twig, series, simplicial, almost simplicial";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        inputGraph = g;
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        // the MMD+least-c lower bound stops at the first vertex of degree 0, so it is computed for every component
+        List<NGraph<D>> components = inputGraph.getComponents() != null
+                ? inputGraph.getComponents() : Collections.singletonList(inputGraph);
+        low = 0;
+        for (NGraph<D> component : components) {
+            BucketMaximumMinimumDegreePlusLeastC<D> lowerBoundAlgo = new BucketMaximumMinimumDegreePlusLeastC<>();
+            lowerBoundAlgo.setInput(component);
+            lowerBoundAlgo.run();
+            low = Math.max(low, lowerBoundAlgo.getLowerBound());
+        }
+        for (Rule rule : Rule.values()) {
+            numRemovedVertices.put(rule, 0);
+        }
+
+        graph = IntGraph.copyOf(inputGraph);
+        int numIds = graph.getNumberOfIds();
+        queue = new int[numIds];
+        queued = new boolean[numIds];
+        deferred = new IndexedMinHeap(numIds);
+        for (NVertex<D> v : graph) {
+            enqueue(((IntVertex<D>) v).getId());
+        }
+        while (queueSize > 0) {
+            checkInterrupted();
+            int v = queue[queueHead];
+            queueHead = (queueHead + 1) % queue.length;
+            queueSize--;
+            queued[v] = false;
+            reduce(graph.getVertexById(v));
+        }
+        reducedGraph = createReducedGraph();
+    }
+
+    private void reduce(IntVertex<D> vertex) {
+        deferred.remove(vertex.getId());
+        int degree = vertex.getNumberOfNeighbors();
+        if (degree <= 1 || isCliqueWithout(vertex, -1)) {
+            remove(vertex, degree == 0 ? Rule.ISLET : degree == 1 ? Rule.TWIG : Rule.SIMPLICIAL);
+            increaseLow(degree);
+        } else if (degree > low) {
+            deferred.update(vertex.getId(), degree);
+        } else if (degree == 2) {
+            eliminate(vertex, Rule.SERIES);
+        } else if (isAlmostSimplicial(vertex)) {
+            eliminate(vertex, Rule.ALMOST_SIMPLICIAL);
+        }
+    }
+
+    /**
+     * @return whether the neighbours of the vertex except the neighbour with id excluded are pairwise adjacent
+     */
+    private boolean isCliqueWithout(IntVertex<D> vertex, int excluded) {
+        int degree = vertex.getNumberOfNeighbors();
+        for (int i = 0; i < degree; i++) {
+            int n1 = vertex.getNeighborId(i);
+            if (n1 == excluded) {
+                continue;
+            }
+            for (int j = i + 1; j < degree; j++) {
+                int n2 = vertex.getNeighborId(j);
+                if (n2 != excluded && !graph.isAdjacent(n1, n2)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Only called for vertices that are not simplicial. The neighbour that is not in the clique has to be one of the
+     * first pair of non-adjacent neighbours.
+     */
+    private boolean isAlmostSimplicial(IntVertex<D> vertex) {
+        int degree = vertex.getNumberOfNeighbors();
+        for (int i = 0; i < degree; i++) {
+            int n1 = vertex.getNeighborId(i);
+            for (int j = i + 1; j < degree; j++) {
+                int n2 = vertex.getNeighborId(j);
+                if (!graph.isAdjacent(n1, n2)) {
+                    return isCliqueWithout(vertex, n1) || isCliqueWithout(vertex, n2);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void remove(IntVertex<D> vertex, Rule rule) {
+        graph.removeVertex(vertex);
+        numRemovedVertices.merge(rule, 1, Integer::sum);
+        for (int i = 0; i < vertex.getNumberOfNeighbors(); i++) {
+            enqueue(vertex.getNeighborId(i));
+        }
+    }
+
+    /**
+     * Eliminates the vertex and checks again its neighbours and the common neighbours of every added edge, which may
+     * have become simplicial
+     */
+    private void eliminate(IntVertex<D> vertex, Rule rule) {
+        int degree = vertex.getNumberOfNeighbors();
+        List<int[]> addedEdges = new ArrayList<>();
+        for (int i = 0; i < degree; i++) {
+            for (int j = i + 1; j < degree; j++) {
+                if (!graph.isAdjacent(vertex.getNeighborId(i), vertex.getNeighborId(j))) {
+                    addedEdges.add(new int[]{vertex.getNeighborId(i), vertex.getNeighborId(j)});
+                }
+            }
+        }
+        graph.eliminate(vertex);
+        numRemovedVertices.merge(rule, 1, Integer::sum);
+        for (int i = 0; i < degree; i++) {
+            enqueue(vertex.getNeighborId(i));
+        }
+        for (int[] edge : addedEdges) {
+            IntVertex<D> v1 = graph.getVertexById(edge[0]);
+            IntVertex<D> v2 = graph.getVertexById(edge[1]);
+            if (v1.getNumberOfNeighbors() > v2.getNumberOfNeighbors()) {
+                IntVertex<D> swap = v1;
+                v1 = v2;
+                v2 = swap;
+            }
+            for (int i = 0; i < v1.getNumberOfNeighbors(); i++) {
+                int neighbour = v1.getNeighborId(i);
+                if (graph.isAdjacent(v2.getId(), neighbour)) {
+                    enqueue(neighbour);
+                }
+            }
+        }
+    }
+
+    private void increaseLow(int lowerBound) {
+        if (lowerBound <= low) {
+            return;
+        }
+        low = lowerBound;
+        while (!deferred.isEmpty() && deferred.getPriority(deferred.peek()) <= low) {
+            enqueue(deferred.poll());
+        }
+    }
+
+    private void enqueue(int v) {
+        if (!queued[v]) {
+            queued[v] = true;
+            queue[(queueHead + queueSize) % queue.length] = v;
+            queueSize++;
+        }
+    }
+
+    /**
+     * @return the remaining vertices as ListGraph in the vertex order of the input graph. The connected components
+     * are labelled by a breadth first search and list their vertices in vertex order.
+     */
+    private NGraph<D> createReducedGraph() {
+        int numIds = graph.getNumberOfIds();
+        List<ListVertex<D>> vertexById = new ArrayList<>(Collections.nCopies(numIds, null));
+        ListGraph<D> result = new ListGraph<>();
+        for (NVertex<D> v : graph) {
+            ListVertex<D> vertex = new ListVertex<>(v.data);
+            vertexById.set(((IntVertex<D>) v).getId(), vertex);
+            result.addVertex(vertex);
+        }
+        for (NVertex<D> v : graph) {
+            IntVertex<D> intVertex = (IntVertex<D>) v;
+            ListVertex<D> vertex = vertexById.get(intVertex.getId());
+            for (int i = 0; i < intVertex.getNumberOfNeighbors(); i++) {
+                vertex.addNeighbor(vertexById.get(intVertex.getNeighborId(i)));
+            }
+        }
+
+        int[] componentOf = new int[numIds];
+        Arrays.fill(componentOf, -1);
+        List<ListGraph<D>> components = new ArrayList<>();
+        for (NVertex<D> root : graph) {
+            int rootId = ((IntVertex<D>) root).getId();
+            if (componentOf[rootId] != -1) {
+                continue;
+            }
+            componentOf[rootId] = components.size();
+            int head = 0, tail = 0;
+            queue[tail++] = rootId;
+            while (head < tail) {
+                IntVertex<D> vertex = graph.getVertexById(queue[head++]);
+                for (int i = 0; i < vertex.getNumberOfNeighbors(); i++) {
+                    int neighbour = vertex.getNeighborId(i);
+                    if (componentOf[neighbour] == -1) {
+                        componentOf[neighbour] = components.size();
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+            ListGraph<D> component = new ListGraph<>();
+            component.vertices = new ArrayList<>();
+            components.add(component);
+        }
+        for (NVertex<D> v : graph) {
+            int id = ((IntVertex<D>) v).getId();
+            components.get(componentOf[id]).addVertex(vertexById.get(id));
+        }
+        result.setComponents(new ArrayList<>(components));
+        return result;
+    }
+
+    /**
+     * @return the lower bound low of the treewidth of the input graph
+     */
+    @Override
+    public int getLowerBound() {
+        return low;
+    }
+
+    public NGraph<D> getReducedGraph() {
+        return reducedGraph;
+    }
+
+    public int getNumberOfRemovedVertices(Rule rule) {
+        return numRemovedVertices.get(rule);
+    }
+
+    /**
+     * @return the number of removed vertices per rule, e.g. for logging
+     */
+    public String formatRemovedVertices() {
+        StringBuilder sb = new StringBuilder();
+        for (Rule rule : Rule.values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(rule).append(": ").append(numRemovedVertices.get(rule));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package main.java.algo;
+
+import main.java.graph.IntGraph;
+import main.java.graph.IntVertex;
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.Permutation;
+import nl.uu.cs.treewidth.algorithm.UpperBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the same permutation and upper bound as the GreedyFillIn algorithm of LibTW, i.e. after eliminating the
+ * vertices of degree 0 it repeatedly eliminates the first vertex whose elimination adds the fewest edges.
+ *
+ * Instead of recomputing the fill-in of every vertex in every step, the fill-in of each vertex is kept in an
+ * IndexedMinHeap. Eliminating a vertex only changes the neighbourhood of its neighbours and adds edges between them,
+ * so only the fill-in of the vertices within distance two of the eliminated vertex changes: it is recomputed for the
+ * neighbours and decreased along the added edges for the others.
+ */
+public class IncrementalGreedyFillIn<D extends GraphInput.InputData> extends ThreadExecutor implements Permutation<D>, UpperBound<D> {
+
+    private NVertexOrder<D> permutation = new NVertexOrder<>();
+    private IntGraph<NVertex<D>> graph;
+    private int upperBound = Integer.MAX_VALUE;
+
+    private int[] visited;
+    private int visitStamp = 0;
+
+    @Override
+    public String getName() {
+        return "IncrementalGreedyFillIn";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        graph = IntGraph.copyOf(g, v -> v);
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        upperBound = Integer.MIN_VALUE;
+        eliminateVerticesOfDegreeZero();
+
+        IndexedMinHeap fillIns = new IndexedMinHeap(graph.getNumberOfIds());
+        for (NVertex<NVertex<D>> v : graph) {
+            IntVertex<NVertex<D>> vertex = (IntVertex<NVertex<D>>) v;
+            fillIns.update(vertex.getId(), computeFillIn(vertex));
+        }
+        visited = new int[graph.getNumberOfIds()];
+
+        while (!fillIns.isEmpty()) {
+            checkInterrupted();
+
+            IntVertex<NVertex<D>> selectedVertex = graph.getVertexById(fillIns.poll());
+            permutation.order.add(selectedVertex.data);
+            upperBound = Math.max(upperBound, selectedVertex.getNumberOfNeighbors());
+            int[] fillEdges = getFillEdges(selectedVertex, fillIns.getPriority(selectedVertex.getId()));
+            graph.eliminate(selectedVertex);
+            updateFillIns(selectedVertex, fillEdges, fillIns);
+        }
+    }
+
+    private void eliminateVerticesOfDegreeZero() {
+        List<NVertex<NVertex<D>>> isolatedVertices = new ArrayList<>();
+        for (NVertex<NVertex<D>> v : graph) {
+            if (v.getNumberOfNeighbors() == 0) {
+                isolatedVertices.add(v);
+            }
+        }
+        for (NVertex<NVertex<D>> v : isolatedVertices) {
+            permutation.order.add(v.data);
+            graph.eliminate(v);
+        }
+    }
+
+    /**
+     * @return the pairs of neighbours of the vertex that are not adjacent, i.e. the edges its elimination adds
+     */
+    private int[] getFillEdges(IntVertex<NVertex<D>> vertex, long fillIn) {
+        int[] fillEdges = new int[2 * (int) fillIn];
+        int k = 0;
+        for (int i = 1; i < vertex.getNumberOfNeighbors(); i++) {
+            int neighbor = vertex.getNeighborId(i);
+            for (int j = 0; j < i; j++) {
+                if (!graph.isAdjacent(neighbor, vertex.getNeighborId(j))) {
+                    fillEdges[k++] = neighbor;
+                    fillEdges[k++] = vertex.getNeighborId(j);
+                }
+            }
+        }
+        return fillEdges;
+    }
+
+    /**
+     * The neighbours of the eliminated vertex lose it as neighbour and gain new neighbours, so their fill-in is
+     * recomputed. Any other vertex only changes if both ends of an added edge are its neighbours, then its
+     * fill-in decreases by one. Such vertices are within distance two of the eliminated vertex.
+     */
+    private void updateFillIns(IntVertex<NVertex<D>> eliminatedVertex, int[] fillEdges, IndexedMinHeap fillIns) {
+        visitStamp++;
+        visited[eliminatedVertex.getId()] = visitStamp;
+        for (int i = 0; i < eliminatedVertex.getNumberOfNeighbors(); i++) {
+            visited[eliminatedVertex.getNeighborId(i)] = visitStamp;
+        }
+
+        for (int k = 0; k < fillEdges.length; k += 2) {
+            IntVertex<NVertex<D>> a = graph.getVertexById(fillEdges[k]);
+            IntVertex<NVertex<D>> b = graph.getVertexById(fillEdges[k + 1]);
+            if (a.getNumberOfNeighbors() > b.getNumberOfNeighbors()) {
+                IntVertex<NVertex<D>> swap = a;
+                a = b;
+                b = swap;
+            }
+            for (int j = 0; j < a.getNumberOfNeighbors(); j++) {
+                int commonNeighbor = a.getNeighborId(j);
+                if (visited[commonNeighbor] != visitStamp && graph.isAdjacent(b.getId(), commonNeighbor)) {
+                    fillIns.update(commonNeighbor, fillIns.getPriority(commonNeighbor) - 1);
+                }
+            }
+        }
+
+        for (int i = 0; i < eliminatedVertex.getNumberOfNeighbors(); i++) {
+            IntVertex<NVertex<D>> neighbor = graph.getVertexById(eliminatedVertex.getNeighborId(i));
+            fillIns.update(neighbor.getId(), computeFillIn(neighbor));
+        }
+    }
+
+    /**
+     * @return the number of edges added when the vertex would be eliminated
+     */
+    private long computeFillIn(IntVertex<NVertex<D>> vertex) {
+        long fillIn = 0;
+        for (int i = 1; i < vertex.getNumberOfNeighbors(); i++) {
+            int neighbor = vertex.getNeighborId(i);
+            for (int j = 0; j < i; j++) {
+                if (!graph.isAdjacent(neighbor, vertex.getNeighborId(j))) {
+                    fillIn++;
+                }
+            }
+        }
+        return fillIn;
+    }
+
+    @Override
+    public NVertexOrder<D> getPermutation() {
+        return permutation;
+    }
+
+    @Override
+    public int getUpperBound() {
+        return upperBound;
+    }
+}
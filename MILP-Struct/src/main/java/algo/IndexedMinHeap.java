@@ -0,0 +1,130 @@
+package main.java.algo;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of the elements 0..n-1 with changeable priorities. Elements of equal priority are ordered by their
+ * index, such that the heuristics using it make the same choices as the LibTW implementations that take the first
+ * vertex of minimum value in the vertex order.
+ */
+class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] positions; // position of an element in heap, -1 if it is not contained
+    private final long[] priorities;
+    private int size = 0;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        priorities = new long[capacity];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int element) {
+        return positions[element] != -1;
+    }
+
+    /**
+     * @return the current priority of the element, or its last one if it was removed
+     */
+    long getPriority(int element) {
+        return priorities[element];
+    }
+
+    /**
+     * Inserts the element or changes its priority if it is already contained
+     */
+    void update(int element, long priority) {
+        if (positions[element] == -1) {
+            priorities[element] = priority;
+            positions[element] = size;
+            heap[size++] = element;
+            siftUp(positions[element]);
+        } else {
+            long oldPriority = priorities[element];
+            priorities[element] = priority;
+            if (priority < oldPriority) {
+                siftUp(positions[element]);
+            } else if (priority > oldPriority) {
+                siftDown(positions[element]);
+            }
+        }
+    }
+
+    /**
+     * @return the element of minimum priority, the one of smallest index among equal priorities
+     */
+    int peek() {
+        return heap[0];
+    }
+
+    int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    void remove(int element) {
+        int position = positions[element];
+        if (position == -1) {
+            return;
+        }
+        positions[element] = -1;
+        int last = heap[--size];
+        if (position < size) {
+            heap[position] = last;
+            positions[last] = position;
+            siftUp(position);
+            siftDown(positions[last]);
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return priorities[a] < priorities[b] || (priorities[a] == priorities[b] && a < b);
+    }
+
+    private void siftUp(int position) {
+        int element = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(element, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+
+    private void siftDown(int position) {
+        int element = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], element)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+}
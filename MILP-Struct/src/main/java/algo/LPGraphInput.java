@@ -74,45 +74,59 @@ public class LPGraphInput implements GraphInput {
         }
     }
 
+    /**
+     * Labels the connected components with a breadth first search from every vertex that is not yet labelled, in the
+     * order of the vertices in resultGraph. Components are ordered by their first vertex and list their vertices in
+     * the order of resultGraph.
+     */
     private void createComponents(ListGraph<InputData> resultGraph) {
-        ArrayList<NGraph<InputData>> components = new ArrayList<>();
-
-        int verticesFound = 0;
-        while (verticesFound != graph.getNodes().size()) {
-            for (NVertex<InputData> vertex : resultGraph) {
-                if (!vertexInSomeComponent(components, vertex)) {
-                    Set<NVertex<InputData>> verticesOfNewComponent = getVerticesOfNewComponent(vertex);
-                    verticesFound += verticesOfNewComponent.size();
-                    NGraph<InputData> componentGraph = createComponentGraph(verticesOfNewComponent);
-                    components.add(componentGraph);
-                }
-            }
+        int numVertices = resultGraph.getNumberOfVertices();
+        Map<NVertex<InputData>, Integer> positions = new IdentityHashMap<>(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            positions.put(resultGraph.vertices.get(i), i);
         }
-        resultGraph.setComponents(components);
-    }
 
-    private boolean vertexInSomeComponent(List<NGraph<InputData>> components, NVertex<InputData> vertex) {
-        for (NGraph<InputData> subGraph: components) {
-            for (NVertex nVertex : subGraph) {
-                if (nVertex.equals(vertex)) {
-                    return true;
+        int[] componentOf = new int[numVertices];
+        Arrays.fill(componentOf, -1);
+        int[] queue = new int[numVertices];
+        int numComponents = 0;
+        for (int root = 0; root < numVertices; root++) {
+            if (componentOf[root] != -1) {
+                continue;
+            }
+            componentOf[root] = numComponents;
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                for (Iterator<NVertex<InputData>> it = resultGraph.vertices.get(queue[head++]).getNeighbors(); it.hasNext(); ) {
+                    int neighbour = positions.get(it.next());
+                    if (componentOf[neighbour] == -1) {
+                        componentOf[neighbour] = numComponents;
+                        queue[tail++] = neighbour;
+                    }
                 }
             }
+            numComponents++;
         }
-        return false;
-    }
 
-    private Set<NVertex<InputData>> getVerticesOfNewComponent(NVertex<InputData> vertex) {
-        Set<NVertex<GraphInput.InputData>> handledVertices = new HashSet<>();
-        DepthFirstSearch.DFSTree(vertex, handledVertices);
-        return handledVertices;
+        List<ArrayList<NVertex<InputData>>> verticesOfComponents = new ArrayList<>(numComponents);
+        for (int c = 0; c < numComponents; c++) {
+            verticesOfComponents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < numVertices; i++) {
+            verticesOfComponents.get(componentOf[i]).add(resultGraph.vertices.get(i));
+        }
+
+        ArrayList<NGraph<InputData>> components = new ArrayList<>(numComponents);
+        for (ArrayList<NVertex<InputData>> verticesOfComponent : verticesOfComponents) {
+            components.add(createComponentGraph(verticesOfComponent));
+        }
+        resultGraph.setComponents(components);
     }
 
-    private NGraph<InputData> createComponentGraph(Set<NVertex<InputData>> verticesOfNewComponent) {
-        NGraph<InputData> gSub = new ListGraph<>();
-        ArrayList<NVertex<InputData>> verticesAsList = new ArrayList<>();
-        verticesAsList.addAll(verticesOfNewComponent);
-        ((ListGraph) gSub).vertices = verticesAsList;
+    private NGraph<InputData> createComponentGraph(ArrayList<NVertex<InputData>> verticesOfNewComponent) {
+        ListGraph<InputData> gSub = new ListGraph<>();
+        gSub.vertices = verticesOfNewComponent;
         return gSub;
     }
 }
@@ -0,0 +1,156 @@
+package main.java.algo;
+
+import main.java.main.Configuration;
+import main.java.main.InterruptibleTask;
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Base of the parallel variants of the all-start algorithms of LibTW, which repeat a heuristic from every start vertex
+ * and keep the best bound. The start vertices are taken from a shared counter by up to Configuration.COMPONENT_THREADS
+ * InterruptibleTasks. Every task creates its own heuristic, which either works on its own copy of the graph or only
+ * keeps its own arrays on a read-only graph shared by all tasks.
+ *
+ * The best bound found so far is published after every start vertex, so it can be read while the algorithm runs or
+ * after it was interrupted. The remaining start vertices are skipped once the best bound matches the known bound, for
+ * a lower bound an upper bound and vice versa, e.g. the best bound of the other kind of a BoundPortfolio. If no known
+ * bound is set, the greedy degree upper bound, respectively the MMD+least-c lower bound, is computed first.
+ */
+public abstract class ParallelAllStart<D extends GraphInput.InputData> extends ThreadExecutor {
+
+    private final boolean lowerBound;
+    private NGraph<D> inputGraph;
+    private final AtomicInteger bestBound = new AtomicInteger();
+    private IntSupplier knownBound = null;
+    private final AtomicInteger numComputedStarts = new AtomicInteger();
+
+    /**
+     * @param lowerBound whether the heuristic computes a lower bound, which is maximised, or an upper bound, which is
+     *                   minimised
+     */
+    protected ParallelAllStart(boolean lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    /**
+     * The heuristic of one task, it must not share mutable state with the heuristics of the other tasks
+     */
+    protected interface StartHeuristic {
+        /**
+         * @return the bound computed from the start vertex
+         */
+        int compute(int startVertex) throws InterruptedException;
+    }
+
+    /**
+     * Prepares the graph that is copied by the tasks
+     *
+     * @return the start vertices
+     */
+    protected abstract int[] prepare(NGraph<D> g) throws InterruptedException;
+
+    /**
+     * @return a heuristic on the prepared graph, called once per task
+     */
+    protected abstract StartHeuristic createHeuristic();
+
+    /**
+     * Sets the graph and clears the known bound
+     */
+    public void setInput(NGraph<D> g) {
+        inputGraph = g;
+        knownBound = null;
+    }
+
+    /**
+     * Sets a known upper bound of a lower bound heuristic or a known lower bound of an upper bound heuristic
+     */
+    public void setKnownBound(int knownBound) {
+        this.knownBound = () -> knownBound;
+    }
+
+    /**
+     * Sets a known bound that may improve while the heuristic runs, it is read before every start vertex
+     */
+    public void setKnownBound(IntSupplier knownBound) {
+        this.knownBound = knownBound;
+    }
+
+    public void run() throws InterruptedException {
+        bestBound.set(lowerBound ? 0 : Math.max(0, inputGraph.getNumberOfVertices() - 1));
+        numComputedStarts.set(0);
+        if (knownBound == null) {
+            int computedBound = lowerBound ? computeGreedyDegreeUpperBound() : computeLeastCLowerBound();
+            knownBound = () -> computedBound;
+        }
+        int[] startVertices = prepare(inputGraph);
+        AtomicInteger nextStart = new AtomicInteger();
+        int numTasks = Math.min(Configuration.COMPONENT_THREADS, startVertices.length);
+        if (numTasks <= 1) {
+            computeStarts(startVertices, nextStart);
+            return;
+        }
+        List<InterruptibleTask<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < numTasks; i++) {
+            tasks.add(new InterruptibleTask<>(() -> {
+                computeStarts(startVertices, nextStart);
+                return null;
+            }));
+        }
+        InterruptibleTask.computeAll(tasks);
+    }
+
+    private int computeGreedyDegreeUpperBound() throws InterruptedException {
+        BucketGreedyDegree<D> upperBoundAlgo = new BucketGreedyDegree<>();
+        upperBoundAlgo.setInput(inputGraph);
+        upperBoundAlgo.run();
+        return upperBoundAlgo.getUpperBound();
+    }
+
+    private int computeLeastCLowerBound() throws InterruptedException {
+        BucketMaximumMinimumDegreePlusLeastC<D> lowerBoundAlgo = new BucketMaximumMinimumDegreePlusLeastC<>();
+        lowerBoundAlgo.setInput(inputGraph);
+        lowerBoundAlgo.run();
+        return lowerBoundAlgo.getLowerBound();
+    }
+
+    private void computeStarts(int[] startVertices, AtomicInteger nextStart) throws InterruptedException {
+        StartHeuristic heuristic = createHeuristic();
+        int i;
+        while (!isKnownBoundMatched() && (i = nextStart.getAndIncrement()) < startVertices.length) {
+            checkInterrupted();
+            int bound = heuristic.compute(startVertices[i]);
+            if (lowerBound) {
+                bestBound.accumulateAndGet(bound, Math::max);
+            } else {
+                bestBound.accumulateAndGet(bound, Math::min);
+            }
+            numComputedStarts.incrementAndGet();
+        }
+    }
+
+    private boolean isKnownBoundMatched() {
+        return lowerBound ? bestBound.get() >= knownBound.getAsInt() : bestBound.get() <= knownBound.getAsInt();
+    }
+
+    /**
+     * @return the best bound of the start vertices computed so far
+     */
+    protected int getBestBound() {
+        return bestBound.get();
+    }
+
+    /**
+     * @return the number of start vertices the heuristic was computed from, less than all if the known bound was
+     * matched or the algorithm was interrupted
+     */
+    public int getNumberOfComputedStarts() {
+        return numComputedStarts.get();
+    }
+}
@@ -0,0 +1,124 @@
+package main.java.algo;
+
+import nl.uu.cs.treewidth.algorithm.Permutation;
+import nl.uu.cs.treewidth.algorithm.UpperBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+
+import java.util.stream.IntStream;
+
+/**
+ * Parallel variant of the AllStartLexBFS algorithm of LibTW: a PartitionRefinementLexBFS is started from every vertex
+ * and the upper bound is the minimum width of the resulting permutations, the permutation is one of minimum width.
+ *
+ * All tasks search the AdjacencyArrays of the same PartitionRefinementLexBFS. Instead of building the tree
+ * decomposition with PermutationToTreeDecomposition, the width of a permutation is the maximum number of later
+ * neighbours of a vertex in the graph filled by eliminating the permutation, which is computed with the follower
+ * pointers of Tarjan and Yannakakis in time linear in the size of the filled graph.
+ */
+public class ParallelAllStartLexBFS<D extends GraphInput.InputData> extends ParallelAllStart<D> implements UpperBound<D>, Permutation<D> {
+
+    private PartitionRefinementLexBFS<D> search;
+    private int numVertices;
+    private int bestOrderWidth;
+    private int[] bestVisitOrder;
+
+    public ParallelAllStartLexBFS() {
+        super(false);
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel All Start LexBFS";
+    }
+
+    @Override
+    protected int[] prepare(NGraph<D> g) {
+        search = new PartitionRefinementLexBFS<>();
+        search.setInput(g);
+        numVertices = g.getNumberOfVertices();
+        bestOrderWidth = Integer.MAX_VALUE;
+        bestVisitOrder = new int[0];
+        return IntStream.range(0, numVertices).toArray();
+    }
+
+    @Override
+    protected StartHeuristic createHeuristic() {
+        return new WidthComputation();
+    }
+
+    private synchronized void updateBestOrder(int width, int[] visitOrder) {
+        if (width < bestOrderWidth) {
+            bestOrderWidth = width;
+            bestVisitOrder = visitOrder.clone();
+        }
+    }
+
+    /**
+     * The search and the width computation of one task with its own arrays
+     */
+    private class WidthComputation implements StartHeuristic {
+        private final int[] visitOrder = new int[numVertices];
+        private final int[] position = new int[numVertices]; // position in the permutation
+        private final int[] index = new int[numVertices];
+        private final int[] follower = new int[numVertices];
+        private final int[] numLaterNeighbors = new int[numVertices];
+
+        @Override
+        public int compute(int startVertex) throws InterruptedException {
+            search.search(startVertex, visitOrder);
+            int width = computeWidth();
+            updateBestOrder(width, visitOrder);
+            return width;
+        }
+
+        private int computeWidth() throws InterruptedException {
+            int[] neighborStart = search.getAdjacency().neighborStart;
+            int[] neighbors = search.getAdjacency().neighbors;
+            for (int i = 0; i < numVertices; i++) {
+                position[visitOrder[numVertices - 1 - i]] = i;
+            }
+            int width = 0;
+            for (int i = 0; i < numVertices; i++) {
+                if (i % 100 == 0) {
+                    checkInterrupted();
+                }
+                int w = visitOrder[numVertices - 1 - i];
+                follower[w] = w;
+                index[w] = i;
+                numLaterNeighbors[w] = 0;
+                // every earlier vertex that reaches w over an edge and follower pointers is a neighbour of w in the
+                // filled graph
+                for (int k = neighborStart[w]; k < neighborStart[w + 1]; k++) {
+                    int x = neighbors[k];
+                    if (position[x] >= i) {
+                        continue;
+                    }
+                    while (index[x] < i) {
+                        index[x] = i;
+                        width = Math.max(width, ++numLaterNeighbors[x]);
+                        x = follower[x];
+                    }
+                    if (follower[x] == x) {
+                        follower[x] = w;
+                    }
+                }
+            }
+            return width;
+        }
+    }
+
+    /**
+     * @return a permutation of minimum width, empty if no start vertex was computed
+     */
+    @Override
+    public NVertexOrder<D> getPermutation() {
+        return search.toPermutation(bestVisitOrder);
+    }
+
+    @Override
+    public int getUpperBound() {
+        return getBestBound();
+    }
+}
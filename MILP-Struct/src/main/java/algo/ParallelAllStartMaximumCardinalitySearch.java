@@ -0,0 +1,46 @@
+package main.java.algo;
+
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+
+import java.util.stream.IntStream;
+
+/**
+ * Parallel variant of the lower bound of the AllStartMaximumCardinalitySearch algorithm of LibTW: a maximum cardinality
+ * search is started from every vertex, it repeatedly visits an unvisited vertex with the most visited neighbours.
+ * The lower bound is the maximum number of visited neighbours of a vertex when it is visited.
+ *
+ * Every start is a BucketMaximumCardinalitySearch on the AdjacencyArrays shared by all tasks, which breaks ties
+ * differently from LibTW, so the bound can differ from the one of LibTW.
+ */
+public class ParallelAllStartMaximumCardinalitySearch<D extends GraphInput.InputData> extends ParallelAllStart<D> implements LowerBound<D> {
+
+    private BucketMaximumCardinalitySearch<D> search;
+
+    public ParallelAllStartMaximumCardinalitySearch() {
+        super(true);
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel All Start MCS";
+    }
+
+    @Override
+    protected int[] prepare(NGraph<D> g) {
+        search = new BucketMaximumCardinalitySearch<>();
+        search.setInput(g);
+        return IntStream.range(0, g.getNumberOfVertices()).toArray();
+    }
+
+    @Override
+    protected StartHeuristic createHeuristic() {
+        return startVertex -> search.search(startVertex, null);
+    }
+
+    @Override
+    public int getLowerBound() {
+        return getBestBound();
+    }
+}
@@ -0,0 +1,47 @@
+package main.java.algo;
+
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+
+/**
+ * Parallel variant of the AllStartMaximumMinimumDegreePlusLeastC algorithm of LibTW: the
+ * BucketMaximumMinimumDegreePlusLeastC is run once for every vertex of minimum degree, contracting it first. Every task
+ * resets its copy of the graph before a start vertex. Unlike LibTW, ties are only branched on in the first round.
+ */
+public class ParallelAllStartMaximumMinimumDegreePlusLeastC<D extends GraphInput.InputData> extends ParallelAllStart<D> implements LowerBound<D> {
+
+    private BucketMaximumMinimumDegreePlusLeastC<D> original;
+
+    public ParallelAllStartMaximumMinimumDegreePlusLeastC() {
+        super(true);
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel All Start MMD+Least-c";
+    }
+
+    @Override
+    protected int[] prepare(NGraph<D> g) {
+        original = new BucketMaximumMinimumDegreePlusLeastC<>();
+        original.setInput(g);
+        return original.getMinimumDegreeVertices();
+    }
+
+    @Override
+    protected StartHeuristic createHeuristic() {
+        BucketMaximumMinimumDegreePlusLeastC<D> copy = original.copy();
+        return startVertex -> {
+            copy.reset(original);
+            copy.setStartVertex(startVertex);
+            copy.run();
+            return copy.getLowerBound();
+        };
+    }
+
+    @Override
+    public int getLowerBound() {
+        return getBestBound();
+    }
+}
@@ -0,0 +1,46 @@
+package main.java.algo;
+
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+
+/**
+ * Parallel variant of the AllStartMinorMinWidth algorithm of LibTW: the BucketMinorMinWidth is run once for every
+ * vertex of minimum degree, contracting it first. Every task resets its copy of the graph before a start vertex.
+ */
+public class ParallelAllStartMinorMinWidth<D extends GraphInput.InputData> extends ParallelAllStart<D> implements LowerBound<D> {
+
+    private BucketMinorMinWidth<D> original;
+
+    public ParallelAllStartMinorMinWidth() {
+        super(true);
+    }
+
+    @Override
+    public String getName() {
+        return "Parallel All Start MinorMinWidth";
+    }
+
+    @Override
+    protected int[] prepare(NGraph<D> g) {
+        original = new BucketMinorMinWidth<>();
+        original.setInput(g);
+        return original.getMinimumDegreeVertices();
+    }
+
+    @Override
+    protected StartHeuristic createHeuristic() {
+        BucketMaximumMinimumDegreePlusLeastC<D> copy = original.copy();
+        return startVertex -> {
+            copy.reset(original);
+            copy.setStartVertex(startVertex);
+            copy.run();
+            return copy.getLowerBound();
+        };
+    }
+
+    @Override
+    public int getLowerBound() {
+        return getBestBound();
+    }
+}
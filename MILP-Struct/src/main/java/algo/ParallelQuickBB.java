@@ -0,0 +1,404 @@
+package main.java.algo;
+
+import main.java.graph.IntGraph;
+import main.java.graph.IntVertex;
+import main.java.main.Configuration;
+import main.java.main.InterruptibleTask;
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.Permutation;
+import nl.uu.cs.treewidth.algorithm.UpperBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The branch and bound algorithm QuickBB of LibTW, which computes the exact treewidth if it is not interrupted. A node
+ * of the search tree is the graph after eliminating a set of vertices, its children eliminate one more vertex. A node
+ * is pruned if the width of the eliminated vertices or the minor-min-width lower bound of the remaining graph is not
+ * smaller than the best upper bound found so far, which starts as the greedy fill-in upper bound. A node with a
+ * simplicial or almost simplicial vertex only has the child that eliminates it.
+ *
+ * Reference paper: A Complete Anytime Algorithm for Treewidth, Vibhav Gogate, Rina Dechter.
+ *
+ * Differences to the QuickBB of LibTW: the nodes up to SPLIT_DEPTH are branched into InterruptibleTasks that are
+ * computed by Configuration.COMPONENT_THREADS threads. Every task searches on a copy of the graph with bit set
+ * adjacency, eliminating and restoring vertices itself. The tasks share the best upper bound and a table of the sets
+ * of remaining vertices with the smallest width they were reached with. As the remaining graph only depends on the
+ * set of eliminated vertices, a set that was reached with at most the same width before is pruned. The table holds
+ * up to MAX_TABLE_SIZE sets, then only the known sets are updated. If the search is interrupted after the greedy
+ * fill-in upper bound was computed, it stops with the best upper bound found so far and the interrupted status of the
+ * thread is kept.
+ */
+public class ParallelQuickBB<D extends GraphInput.InputData> extends ThreadExecutor implements Permutation<D>, UpperBound<D> {
+
+    private static final int SPLIT_DEPTH = 2;
+    private static final int MIN_SPLIT_VERTICES = 16;
+    private static final int MAX_TABLE_SIZE = 1 << 18;
+
+    private NGraph<D> inputGraph;
+    private IntGraph<NVertex<D>> graph;
+    private NVertexOrder<D> greedyPermutation;
+    private final AtomicInteger upperBound = new AtomicInteger(Integer.MAX_VALUE);
+    private int[] bestOrder;
+    private boolean stopped = false;
+    private final Map<BitSet, Integer> widths = new ConcurrentHashMap<>();
+    private final AtomicInteger numWidths = new AtomicInteger();
+
+    @Override
+    public String getName() {
+        return "ParallelQuickBB";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        inputGraph = g;
+        graph = IntGraph.copyOf(g, v -> v);
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        IncrementalGreedyFillIn<D> greedyFillIn = new IncrementalGreedyFillIn<>();
+        greedyFillIn.setInput(inputGraph);
+        greedyFillIn.run();
+        greedyPermutation = greedyFillIn.getPermutation();
+        // like the greedy fill-in of LibTW, it returns Integer.MIN_VALUE for a graph without edges
+        upperBound.set(Math.max(greedyFillIn.getUpperBound(), 0));
+        synchronized (this) {
+            bestOrder = null;
+            stopped = false;
+        }
+        widths.clear();
+        numWidths.set(0);
+
+        SearchState root = new SearchState(graph);
+        try {
+            if (graph.getNumberOfVertices() > 0) {
+                int lowerBound = computeMinorMinWidth(root);
+                if (lowerBound < upperBound.get()) {
+                    branch(root, 0, lowerBound, 0);
+                }
+            }
+        } catch (InterruptedException e) {
+            // the incumbent is the result, the tasks that did not stop yet must not change it anymore
+            synchronized (this) {
+                stopped = true;
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param width the width of the eliminated vertices
+     * @param lowerBound a lower bound of the treewidth of the graph of the remaining vertices
+     */
+    private void branch(SearchState state, int width, int lowerBound, int depth) throws InterruptedException {
+        checkInterrupted();
+        int numRemaining = state.remaining.cardinality();
+        if (numRemaining - 1 <= width) {
+            // the remaining vertices can be eliminated in any order without exceeding the width
+            updateUpperBound(state, width);
+            return;
+        }
+        int reducibleVertex = findReducibleVertex(state, Math.max(width, lowerBound));
+        if (reducibleVertex != -1) {
+            // there is an optimal elimination ordering of the remaining vertices starting with it
+            explore(state, reducibleVertex, width, depth);
+            return;
+        }
+
+        // vertices of small degree first, as they are likely to keep the width small
+        Integer[] children = new Integer[numRemaining];
+        int k = 0;
+        for (int v = state.remaining.nextSetBit(0); v >= 0; v = state.remaining.nextSetBit(v + 1)) {
+            children[k++] = v;
+        }
+        Arrays.sort(children, Comparator.comparingInt(v -> state.adjacency[v].cardinality()));
+
+        if (Configuration.COMPONENT_THREADS > 1 && depth < SPLIT_DEPTH && numRemaining >= MIN_SPLIT_VERTICES) {
+            List<InterruptibleTask<Void>> tasks = new ArrayList<>();
+            for (int v : children) {
+                if (Math.max(width, state.adjacency[v].cardinality()) < upperBound.get()) {
+                    tasks.add(new InterruptibleTask<>(() -> {
+                        explore(state.copy(), v, width, depth);
+                        return null;
+                    }));
+                }
+            }
+            InterruptibleTask.computeAll(tasks);
+        } else {
+            for (int v : children) {
+                explore(state, v, width, depth);
+            }
+        }
+    }
+
+    /**
+     * Eliminates v, searches the child node if it cannot be pruned and restores v
+     */
+    private void explore(SearchState state, int v, int width, int depth) throws InterruptedException {
+        int childWidth = Math.max(width, state.adjacency[v].cardinality());
+        if (childWidth >= upperBound.get()) {
+            return;
+        }
+        Elimination elimination = state.eliminate(v);
+        if (isNarrowerThanKnown(state.remaining, childWidth)) {
+            int lowerBound = computeMinorMinWidth(state);
+            if (Math.max(childWidth, lowerBound) < upperBound.get()) {
+                branch(state, childWidth, lowerBound, depth + 1);
+            }
+        }
+        state.restore(elimination);
+    }
+
+    /**
+     * Like in the GraphReduction, a vertex whose neighbours form a clique (simplicial) or whose neighbours except one
+     * form a clique and whose degree is at most low (almost simplicial) can be eliminated first without increasing
+     * the width, so only this child is searched.
+     *
+     * @return a simplicial or almost simplicial vertex, -1 if there is none
+     */
+    private static int findReducibleVertex(SearchState state, int low) {
+        BitSet nonAdjacent = new BitSet(state.adjacency.length);
+        for (int v = state.remaining.nextSetBit(0); v >= 0; v = state.remaining.nextSetBit(v + 1)) {
+            BitSet neighbours = state.adjacency[v];
+            int n1 = findNonAdjacentNeighbour(state, neighbours, -1, nonAdjacent);
+            if (n1 == -1) {
+                return v;
+            }
+            if (neighbours.cardinality() <= low) {
+                // the neighbour that is not in the clique has to be one of the first pair of non-adjacent neighbours
+                int n2 = nonAdjacent.nextSetBit(0);
+                if (findNonAdjacentNeighbour(state, neighbours, n1, nonAdjacent) == -1
+                        || findNonAdjacentNeighbour(state, neighbours, n2, nonAdjacent) == -1) {
+                    return v;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the first of the neighbours except excluded that is not adjacent to all others, then nonAdjacent holds
+     * the neighbours it is not adjacent to. -1 if the neighbours except excluded are pairwise adjacent.
+     */
+    private static int findNonAdjacentNeighbour(SearchState state, BitSet neighbours, int excluded, BitSet nonAdjacent) {
+        for (int u = neighbours.nextSetBit(0); u >= 0; u = neighbours.nextSetBit(u + 1)) {
+            if (u == excluded) {
+                continue;
+            }
+            nonAdjacent.clear();
+            nonAdjacent.or(neighbours);
+            nonAdjacent.andNot(state.adjacency[u]);
+            nonAdjacent.clear(u);
+            if (excluded != -1) {
+                nonAdjacent.clear(excluded);
+            }
+            if (!nonAdjacent.isEmpty()) {
+                return u;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return whether the remaining vertices were not reached with at most the width before, then the width is stored
+     */
+    private boolean isNarrowerThanKnown(BitSet remaining, int width) {
+        Integer knownWidth = widths.get(remaining);
+        if (knownWidth != null && knownWidth <= width) {
+            return false;
+        }
+        if (knownWidth == null && numWidths.get() >= MAX_TABLE_SIZE) {
+            return true;
+        }
+        boolean[] narrower = {false};
+        widths.compute((BitSet) remaining.clone(), (set, previousWidth) -> {
+            if (previousWidth == null) {
+                numWidths.incrementAndGet();
+            }
+            if (previousWidth == null || width < previousWidth) {
+                narrower[0] = true;
+                return width;
+            }
+            return previousWidth;
+        });
+        return narrower[0];
+    }
+
+    private synchronized void updateUpperBound(SearchState state, int width) {
+        if (!stopped && width < upperBound.get()) {
+            bestOrder = Arrays.copyOf(state.order, state.order.length);
+            int k = state.numEliminated;
+            for (int v = state.remaining.nextSetBit(0); v >= 0; v = state.remaining.nextSetBit(v + 1)) {
+                bestOrder[k++] = v;
+            }
+            upperBound.set(width);
+        }
+    }
+
+    /**
+     * The minor-min-width lower bound of the remaining graph: repeatedly contracts a vertex of minimum non-zero
+     * degree into its neighbour of minimum degree, the lower bound is the maximum degree of the contracted vertices
+     */
+    private static int computeMinorMinWidth(SearchState state) {
+        BitSet[] adjacency = new BitSet[state.adjacency.length];
+        int[] degrees = new int[state.adjacency.length];
+        BitSet contracted = new BitSet(adjacency.length);
+        for (int v = state.remaining.nextSetBit(0); v >= 0; v = state.remaining.nextSetBit(v + 1)) {
+            adjacency[v] = (BitSet) state.adjacency[v].clone();
+            degrees[v] = adjacency[v].cardinality();
+        }
+        int lowerBound = 0;
+        while (true) {
+            int minVertex = -1;
+            for (int v = state.remaining.nextSetBit(0); v >= 0; v = state.remaining.nextSetBit(v + 1)) {
+                if (!contracted.get(v) && degrees[v] > 0 && (minVertex == -1 || degrees[v] < degrees[minVertex])) {
+                    minVertex = v;
+                }
+            }
+            if (minVertex == -1) {
+                return lowerBound;
+            }
+            lowerBound = Math.max(lowerBound, degrees[minVertex]);
+
+            int target = -1;
+            for (int u = adjacency[minVertex].nextSetBit(0); u >= 0; u = adjacency[minVertex].nextSetBit(u + 1)) {
+                if (target == -1 || degrees[u] < degrees[target]) {
+                    target = u;
+                }
+            }
+            for (int w = adjacency[minVertex].nextSetBit(0); w >= 0; w = adjacency[minVertex].nextSetBit(w + 1)) {
+                if (w == target) {
+                    continue;
+                }
+                adjacency[w].clear(minVertex);
+                if (adjacency[w].get(target)) {
+                    degrees[w]--;
+                } else {
+                    adjacency[w].set(target);
+                    adjacency[target].set(w);
+                    degrees[target]++;
+                }
+            }
+            adjacency[target].clear(minVertex);
+            degrees[target]--;
+            contracted.set(minVertex);
+        }
+    }
+
+    @Override
+    public int getUpperBound() {
+        return upperBound.get();
+    }
+
+    /**
+     * @return an elimination ordering with the width of the upper bound
+     */
+    @Override
+    public synchronized NVertexOrder<D> getPermutation() {
+        if (bestOrder == null) {
+            return greedyPermutation;
+        }
+        NVertexOrder<D> permutation = new NVertexOrder<>(bestOrder.length);
+        for (int v : bestOrder) {
+            permutation.order.add(graph.getVertexById(v).data);
+        }
+        return permutation;
+    }
+
+    /**
+     * The graph of a search node: the adjacency of the remaining vertices, i.e. after the elimination of the vertices
+     * order[0] to order[numEliminated - 1]
+     */
+    private static class SearchState {
+        final BitSet[] adjacency;
+        final BitSet remaining;
+        final int[] order;
+        int numEliminated = 0;
+
+        SearchState(IntGraph<?> graph) {
+            int numIds = graph.getNumberOfIds();
+            adjacency = new BitSet[numIds];
+            remaining = new BitSet(numIds);
+            order = new int[graph.getNumberOfVertices()];
+            for (NVertex<?> v : graph) {
+                IntVertex<?> vertex = (IntVertex<?>) v;
+                BitSet neighbours = new BitSet(numIds);
+                for (int i = 0; i < vertex.getNumberOfNeighbors(); i++) {
+                    neighbours.set(vertex.getNeighborId(i));
+                }
+                adjacency[vertex.getId()] = neighbours;
+                remaining.set(vertex.getId());
+            }
+        }
+
+        private SearchState(SearchState state) {
+            adjacency = new BitSet[state.adjacency.length];
+            for (int v = 0; v < adjacency.length; v++) {
+                if (state.adjacency[v] != null) {
+                    adjacency[v] = (BitSet) state.adjacency[v].clone();
+                }
+            }
+            remaining = (BitSet) state.remaining.clone();
+            order = Arrays.copyOf(state.order, state.order.length);
+            numEliminated = state.numEliminated;
+        }
+
+        SearchState copy() {
+            return new SearchState(this);
+        }
+
+        /**
+         * Makes the neighbours of v pairwise adjacent and removes v
+         */
+        Elimination eliminate(int v) {
+            BitSet neighbours = adjacency[v];
+            int[] neighbourIds = neighbours.stream().toArray();
+            BitSet[] addedNeighbours = new BitSet[neighbourIds.length];
+            for (int i = 0; i < neighbourIds.length; i++) {
+                int u = neighbourIds[i];
+                BitSet added = (BitSet) neighbours.clone();
+                added.andNot(adjacency[u]);
+                added.clear(u);
+                adjacency[u].or(added);
+                adjacency[u].clear(v);
+                addedNeighbours[i] = added;
+            }
+            remaining.clear(v);
+            order[numEliminated++] = v;
+            return new Elimination(v, neighbourIds, addedNeighbours);
+        }
+
+        void restore(Elimination elimination) {
+            for (int i = 0; i < elimination.neighbourIds.length; i++) {
+                int u = elimination.neighbourIds[i];
+                adjacency[u].andNot(elimination.addedNeighbours[i]);
+                adjacency[u].set(elimination.vertex);
+            }
+            remaining.set(elimination.vertex);
+            numEliminated--;
+        }
+    }
+
+    private static class Elimination {
+        final int vertex;
+        final int[] neighbourIds;
+        final BitSet[] addedNeighbours;
+
+        Elimination(int vertex, int[] neighbourIds, BitSet[] addedNeighbours) {
+            this.vertex = vertex;
+            this.neighbourIds = neighbourIds;
+            this.addedNeighbours = addedNeighbours;
+        }
+    }
+}
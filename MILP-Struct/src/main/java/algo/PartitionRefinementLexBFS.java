@@ -0,0 +1,153 @@
+package main.java.algo;
+
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.Permutation;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+
+import java.util.Arrays;
+
+/**
+ * Lexicographic breadth first search as the LexBFS algorithm of LibTW: repeatedly visit an unvisited vertex with the
+ * lexicographically largest label, where the label of a vertex is the list of the visiting steps of its visited
+ * neighbours, earliest first. The permutation is the reversed visiting order, which is a perfect elimination ordering
+ * if the graph is chordal.
+ *
+ * Instead of comparing the labels as lists, the unvisited vertices are kept in an array that is partitioned into
+ * classes of equal labels, ordered by decreasing label. Visiting a vertex moves its unvisited neighbours to a new
+ * class in front of the rest of their class, which takes O(n + m) time in total. Among the vertices of the largest
+ * label the first one in the array is visited, the search starts with the first vertex of the graph.
+ */
+public class PartitionRefinementLexBFS<D extends GraphInput.InputData> extends ThreadExecutor implements Permutation<D> {
+
+    private AdjacencyArrays<D> adjacency;
+    private NVertexOrder<D> permutation = new NVertexOrder<>();
+
+    @Override
+    public String getName() {
+        return "PartitionRefinementLexBFS";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        adjacency = new AdjacencyArrays<>(g);
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        int numVertices = adjacency.getNumberOfVertices();
+        int[] visitOrder = new int[numVertices];
+        search(-1, visitOrder);
+        permutation = toPermutation(visitOrder);
+    }
+
+    AdjacencyArrays<D> getAdjacency() {
+        return adjacency;
+    }
+
+    /**
+     * @return the permutation of the vertices, i.e. the reversed visiting order
+     */
+    NVertexOrder<D> toPermutation(int[] visitOrder) {
+        NVertexOrder<D> order = new NVertexOrder<>(visitOrder.length);
+        for (int i = visitOrder.length - 1; i >= 0; i--) {
+            order.order.add(adjacency.getVertex(visitOrder[i]));
+        }
+        return order;
+    }
+
+    /**
+     * Runs the search on the input graph, it only uses local state and can be called by several threads at once
+     *
+     * @param startVertex the vertex that is visited first, -1 to start with the first vertex
+     * @param visitOrder  receives the visited vertices in the order of their visit
+     */
+    void search(int startVertex, int[] visitOrder) throws InterruptedException {
+        int numVertices = adjacency.getNumberOfVertices();
+        if (numVertices == 0) {
+            return;
+        }
+        int[] neighborStart = adjacency.neighborStart;
+        int[] neighbors = adjacency.neighbors;
+
+        // the vertices at the positions < i of the order are visited, the others are partitioned into the classes
+        int[] order = new int[numVertices];
+        int[] position = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            order[v] = v;
+            position[v] = v;
+        }
+        if (startVertex != -1) {
+            order[startVertex] = 0;
+            position[0] = startVertex;
+            order[0] = startVertex;
+            position[startVertex] = 0;
+        }
+
+        // a class occupies the positions classStart[c] .. classEnd[c] - 1; besides the non-empty classes there are at
+        // most as many empty ones during a refinement, so 2n class ids suffice
+        int[] classOf = new int[numVertices];
+        int[] classStart = new int[2 * numVertices];
+        int[] classEnd = new int[2 * numVertices];
+        int[] splitClass = new int[2 * numVertices]; // the class split off from c in the current step, -1 if none
+        int[] freeClasses = new int[2 * numVertices];
+        int numFreeClasses = 0;
+        int nextClass = 1;
+        int[] touchedClasses = new int[numVertices];
+        classEnd[0] = numVertices;
+        Arrays.fill(splitClass, -1);
+
+        for (int i = 0; i < numVertices; i++) {
+            if (i % 100 == 0) {
+                checkInterrupted();
+            }
+            int z = order[i];
+            visitOrder[i] = z;
+            int zClass = classOf[z];
+            classStart[zClass]++;
+            if (classStart[zClass] == classEnd[zClass]) {
+                freeClasses[numFreeClasses++] = zClass;
+            }
+
+            int numTouched = 0;
+            for (int k = neighborStart[z]; k < neighborStart[z + 1]; k++) {
+                int w = neighbors[k];
+                if (position[w] <= i) {
+                    continue;
+                }
+                int c = classOf[w];
+                int d = splitClass[c];
+                if (d == -1) {
+                    d = numFreeClasses > 0 ? freeClasses[--numFreeClasses] : nextClass++;
+                    classStart[d] = classStart[c];
+                    classEnd[d] = classStart[c];
+                    splitClass[c] = d;
+                    touchedClasses[numTouched++] = c;
+                }
+                // swap w with the first vertex of c and move the border between d and c behind it
+                int first = classStart[c];
+                int u = order[first];
+                order[position[w]] = u;
+                position[u] = position[w];
+                order[first] = w;
+                position[w] = first;
+                classStart[c]++;
+                classEnd[d]++;
+                classOf[w] = d;
+            }
+            for (int t = 0; t < numTouched; t++) {
+                int c = touchedClasses[t];
+                splitClass[c] = -1;
+                if (classStart[c] == classEnd[c]) {
+                    freeClasses[numFreeClasses++] = c;
+                }
+            }
+        }
+    }
+
+    @Override
+    public NVertexOrder<D> getPermutation() {
+        return permutation;
+    }
+}
@@ -0,0 +1,80 @@
+package main.java.algo;
+
+import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+
+/**
+ * Computes the same lower bound as the Ramachandramurthi algorithm of LibTW: the minimum over all pairs of
+ * non-adjacent vertices of the larger degree of the two, or n-1 if the graph is a clique.
+ *
+ * Instead of filling an n*n adjacency matrix, the vertices are sorted by degree with a counting sort. The bound is the
+ * degree of the first vertex in this order that is not adjacent to all vertices before it. A vertex at position j
+ * with fewer than j neighbours is such a vertex, so only vertices whose degree is at least their position have their
+ * neighbours scanned, which takes O(n + m) time in total.
+ */
+public class SparseRamachandramurthi<D extends GraphInput.InputData> extends ThreadExecutor implements LowerBound<D> {
+
+    private AdjacencyArrays<D> adjacency;
+    private int lowerBound = Integer.MIN_VALUE;
+
+    @Override
+    public String getName() {
+        return "SparseRamachandramurthi";
+    }
+
+    @Override
+    public void setInput(NGraph<D> g) {
+        adjacency = new AdjacencyArrays<>(g);
+    }
+
+    @Override
+    public void run() throws InterruptedException {
+        int numVertices = adjacency.getNumberOfVertices();
+        int[] neighborStart = adjacency.neighborStart;
+        int[] neighbors = adjacency.neighbors;
+
+        // counting sort of the vertices by degree, vertices of equal degree keep their order
+        int[] firstOfDegree = new int[numVertices + 1];
+        for (int v = 0; v < numVertices; v++) {
+            firstOfDegree[neighborStart[v + 1] - neighborStart[v] + 1]++;
+        }
+        for (int degree = 1; degree <= numVertices; degree++) {
+            firstOfDegree[degree] += firstOfDegree[degree - 1];
+        }
+        int[] sorted = new int[numVertices];
+        int[] position = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            int p = firstOfDegree[neighborStart[v + 1] - neighborStart[v]]++;
+            sorted[p] = v;
+            position[v] = p;
+        }
+
+        for (int j = 0; j < numVertices; j++) {
+            if (j % 100 == 0) {
+                checkInterrupted();
+            }
+            int v = sorted[j];
+            int degree = neighborStart[v + 1] - neighborStart[v];
+            int numEarlierNeighbors = 0;
+            if (degree >= j) {
+                for (int k = neighborStart[v]; k < neighborStart[v + 1]; k++) {
+                    if (position[neighbors[k]] < j) {
+                        numEarlierNeighbors++;
+                    }
+                }
+            }
+            if (numEarlierNeighbors < j) {
+                lowerBound = degree;
+                return;
+            }
+        }
+        lowerBound = numVertices - 1;
+    }
+
+    @Override
+    public int getLowerBound() {
+        return lowerBound;
+    }
+}
@@ -1,6 +1,8 @@
 package main.java.algo;
 
+import main.java.graph.IntGraph;
 import main.java.main.Configuration;
+import main.java.main.InterruptibleTask;
 import nl.uu.cs.treewidth.algorithm.LowerBound;
 import nl.uu.cs.treewidth.algorithm.UpperBound;
 import nl.uu.cs.treewidth.input.GraphInput;
@@ -9,13 +11,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntSupplier;
 
 /**
  * Wrapper class to use the lower- and upper bound algorithms of LibTW, but with the possiblity
  * to obtain better lower- and upper bounds by considering the connected components of the graph in the case that
  * it is not connected
  *
- * The algorithms used can be changed by setting Configuration.UPPER_BOUND_ALG and Configuration.LOWER_BOUND_ALG.
+ * The algorithms used can be changed by setting Configuration.UPPER_BOUND_ALG and Configuration.LOWER_BOUND_ALG, or
+ * are given by a BoundPortfolio.
+ * If Configuration.INT_GRAPH is set, the algorithms run on an IntGraph copy of the graph. The components are computed
+ * in parallel by Configuration.COMPONENT_THREADS threads.
  *
  * Created by Verena on 23.07.2017.
  */
@@ -23,70 +32,148 @@ public class TreeWidthWrapper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TreeWidthWrapper.class);
 
-    public static int computeLowerBoundWithComponents(NGraph<GraphInput.InputData> g) throws InterruptedException {
-        LowerBound<GraphInput.InputData> lowerBoundAlg = getLowerBoundAlgo();
-
+    private static <D> NGraph<D> prepareInput(NGraph<D> g) {
+        return Configuration.INT_GRAPH ? IntGraph.copyOf(g) : g;
+    }
 
-        int lowerbound = 0;
-        int lowerboundSubGraph;
-        for (NGraph subGraph : g.getComponents()) {
-            lowerboundSubGraph = computeLowerBoundForComponent(lowerBoundAlg, subGraph);
+    public static int computeLowerBoundWithComponents(NGraph<GraphInput.InputData> g) throws InterruptedException {
+        return computeLowerBoundWithComponents(g, Configuration.LOWER_BOUND_ALG);
+    }
 
-            // take the maximum over all subgraph lower bounds to be the lower bound
-            if (lowerboundSubGraph > lowerbound) {
-                lowerbound = lowerboundSubGraph;
-            }
-        }
+    /**
+     * @return the lower bound of the graph computed with the lower bound algorithm of the given class instead of
+     * Configuration.LOWER_BOUND_ALG, e.g. by a BoundPortfolio
+     */
+    public static int computeLowerBoundWithComponents(NGraph<GraphInput.InputData> g, Class<?> algorithm) throws InterruptedException {
+        return computeLowerBoundWithComponents(g, algorithm, null);
+    }
 
-        return lowerbound;
+    /**
+     * @param knownUpperBound an upper bound of the treewidth of g, which also bounds every component, such that a
+     *                        ParallelAllStart lower bound can stop once it reaches it; null if no upper bound is known
+     */
+    public static int computeLowerBoundWithComponents(NGraph<GraphInput.InputData> g, Class<?> algorithm, IntSupplier knownUpperBound) throws InterruptedException {
+        // take the maximum over all subgraph lower bounds to be the lower bound
+        return computeMaximumOverComponents(g, subGraph -> computeLowerBoundForComponent(getLowerBoundAlgo(algorithm), subGraph, knownUpperBound));
     }
 
-    private static int computeLowerBoundForComponent(LowerBound<GraphInput.InputData> lowerBoundAlg, NGraph subGraph) throws InterruptedException {
+    private static int computeLowerBoundForComponent(LowerBound<GraphInput.InputData> lowerBoundAlg, NGraph<GraphInput.InputData> subGraph,
+                                                     IntSupplier knownUpperBound) throws InterruptedException {
         int lowerboundSubGraph;
-        lowerBoundAlg.setInput(subGraph);
+        lowerBoundAlg.setInput(prepareInput(subGraph));
+        setKnownBound(lowerBoundAlg, knownUpperBound);
         lowerBoundAlg.run();
         lowerboundSubGraph = lowerBoundAlg.getLowerBound();
         return lowerboundSubGraph;
     }
 
     private static LowerBound<GraphInput.InputData> getLowerBoundAlgo() {
+        return getLowerBoundAlgo(Configuration.LOWER_BOUND_ALG);
+    }
+
+    private static LowerBound<GraphInput.InputData> getLowerBoundAlgo(Class<?> algorithm) {
         LowerBound<GraphInput.InputData> lowerBoundAlg = null;
         try {
-            lowerBoundAlg = (LowerBound<GraphInput.InputData>) Configuration.LOWER_BOUND_ALG.getConstructor().newInstance();
+            lowerBoundAlg = (LowerBound<GraphInput.InputData>) algorithm.getConstructor().newInstance();
         } catch (InstantiationException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
             LOGGER.error(e.getMessage());
         }
         return lowerBoundAlg;
     }
 
+    /**
+     * @return the lower bound of the graph that was reduced to g by a GraphReduction with the lower bound
+     * reductionLowerBound
+     */
+    public static int computeLowerBoundWithComponents(NGraph<GraphInput.InputData> g, int reductionLowerBound) throws InterruptedException {
+        return Math.max(reductionLowerBound, computeLowerBoundWithComponents(g));
+    }
+
     public static int computeUpperBoundWithComponents(NGraph<GraphInput.InputData> g) throws InterruptedException {
-        UpperBound<GraphInput.InputData> ubAlgo = getUpperBoundAlgo();
+        return computeUpperBoundWithComponents(g, Configuration.UPPER_BOUND_ALG);
+    }
 
-        int upperbound = 0;
-        int upperboundSubGraph;
-        for (NGraph subGraph : g.getComponents()) {
-            upperboundSubGraph = computeUpperBoundForComponent(ubAlgo, subGraph);
+    /**
+     * @return the upper bound of the graph computed with the upper bound algorithm of the given class instead of
+     * Configuration.UPPER_BOUND_ALG, e.g. by a BoundPortfolio
+     */
+    public static int computeUpperBoundWithComponents(NGraph<GraphInput.InputData> g, Class<?> algorithm) throws InterruptedException {
+        return computeUpperBoundWithComponents(g, algorithm, null);
+    }
+
+    /**
+     * @param knownLowerBound a lower bound of the treewidth of g, a component whose upper bound reaches it does not
+     *                        increase the upper bound of g, such that a ParallelAllStart upper bound can stop; null if
+     *                        no lower bound is known
+     */
+    public static int computeUpperBoundWithComponents(NGraph<GraphInput.InputData> g, Class<?> algorithm, IntSupplier knownLowerBound) throws InterruptedException {
+        // take the maximum over all subgraph upper bounds to be the upper bound
+        return computeMaximumOverComponents(g, subGraph -> computeUpperBoundForComponent(getUpperBoundAlgo(algorithm), subGraph, knownLowerBound));
+    }
+
+    private static void setKnownBound(Object algorithm, IntSupplier knownBound) {
+        if (knownBound != null && algorithm instanceof ParallelAllStart) {
+            ((ParallelAllStart<?>) algorithm).setKnownBound(knownBound);
+        }
+    }
+
+    /**
+     * @return the upper bound of the graph that was reduced to g by a GraphReduction with the lower bound
+     * reductionLowerBound
+     */
+    public static int computeUpperBoundWithComponents(NGraph<GraphInput.InputData> g, int reductionLowerBound) throws InterruptedException {
+        return Math.max(reductionLowerBound, computeUpperBoundWithComponents(g));
+    }
 
-            // take the maximum over all subgraph upper bounds to be the upper bound
-            if (upperboundSubGraph > upperbound) {
-                upperbound = upperboundSubGraph;
+    /**
+     * Computes the bound for every component with a fresh algorithm instance. If Configuration.COMPONENT_THREADS is
+     * larger than 1, the components are computed as InterruptibleTasks, the largest components first. If the
+     * calling thread is interrupted, e.g. due to the timeout of the instance, all component tasks are interrupted.
+     */
+    private static int computeMaximumOverComponents(NGraph<GraphInput.InputData> g, ComponentBound componentBound) throws InterruptedException {
+        List<NGraph<GraphInput.InputData>> components = new ArrayList<>(g.getComponents());
+
+        int maximum = 0;
+        if (Configuration.COMPONENT_THREADS <= 1 || components.size() <= 1) {
+            for (NGraph<GraphInput.InputData> subGraph : components) {
+                maximum = Math.max(maximum, componentBound.compute(subGraph));
             }
+            return maximum;
         }
-        return upperbound;
+
+        components.sort(Comparator.comparingInt((NGraph<GraphInput.InputData> subGraph) -> subGraph.getNumberOfVertices()).reversed());
+        List<InterruptibleTask<Integer>> tasks = new ArrayList<>();
+        for (NGraph<GraphInput.InputData> subGraph : components) {
+            tasks.add(new InterruptibleTask<>(() -> componentBound.compute(subGraph)));
+        }
+        for (int bound : InterruptibleTask.computeAll(tasks)) {
+            maximum = Math.max(maximum, bound);
+        }
+        return maximum;
     }
 
-    private static int computeUpperBoundForComponent(UpperBound<GraphInput.InputData> ubAlgo, NGraph subGraph) throws InterruptedException {
+    private interface ComponentBound {
+        int compute(NGraph<GraphInput.InputData> subGraph) throws InterruptedException;
+    }
+
+    private static int computeUpperBoundForComponent(UpperBound<GraphInput.InputData> ubAlgo, NGraph<GraphInput.InputData> subGraph,
+                                                     IntSupplier knownLowerBound) throws InterruptedException {
         int upperboundSubGraph;
-        ubAlgo.setInput(subGraph);
+        ubAlgo.setInput(prepareInput(subGraph));
+        setKnownBound(ubAlgo, knownLowerBound);
         ubAlgo.run();
         upperboundSubGraph = ubAlgo.getUpperBound();
         return upperboundSubGraph;
     }
 
     public static UpperBound<GraphInput.InputData> getUpperBoundAlgo() {
+        return getUpperBoundAlgo(Configuration.UPPER_BOUND_ALG);
+    }
+
+    private static UpperBound<GraphInput.InputData> getUpperBoundAlgo(Class<?> algorithm) {
         UpperBound<GraphInput.InputData> ubAlgo = null;
         try {
-            ubAlgo = (UpperBound<GraphInput.InputData>) Configuration.UPPER_BOUND_ALG.getConstructor().newInstance();
+            ubAlgo = (UpperBound<GraphInput.InputData>) algorithm.getConstructor().newInstance();
         } catch (InstantiationException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
             LOGGER.error(e.getMessage());
         }
@@ -96,7 +183,7 @@ public class TreeWidthWrapper {
 
     public static int computeUpperBound(NGraph<GraphInput.InputData> g) throws InterruptedException {
         UpperBound<GraphInput.InputData> ubAlgo = getUpperBoundAlgo();
-        ubAlgo.setInput(g);
+        ubAlgo.setInput(prepareInput(g));
         ubAlgo.run();
         int upperbound = ubAlgo.getUpperBound();
         return upperbound;
@@ -104,7 +191,7 @@ public class TreeWidthWrapper {
 
     public static int computeLowerBound(NGraph<GraphInput.InputData> g) throws InterruptedException {
         LowerBound<GraphInput.InputData> lowerBoundAlg = getLowerBoundAlgo();
-        lowerBoundAlg.setInput(g);
+        lowerBoundAlg.setInput(prepareInput(g));
         lowerBoundAlg.run();
         int lowerbound = lowerBoundAlg.getLowerBound();
         return lowerbound;
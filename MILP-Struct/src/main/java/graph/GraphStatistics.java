@@ -24,24 +24,41 @@ public abstract class GraphStatistics implements Serializable {
         return graphData;
     }
 
+    /**
+     * Computes the graph data of a graph built directly as NGraph from the number of (integer) nodes and edges and
+     * the degrees of the nodes
+     */
+    public void computeGraphData(int numNodes, int numIntegerNodes, int numEdges, int[] degrees) {
+        this.graphData = computeGeneralGraphData(numNodes, numIntegerNodes, numEdges, degrees);
+        computeDensity();
+    }
+
     GraphData computeGeneralGraphData(Graph graph) {
-        GraphData graphData = new GraphData();
-        graphData.numNodes = graph.getNodes().size();
         int numIntegerNodes = 0;
         for (Node node : graph.getNodes()) {
             if (node.isInteger()) {
                 numIntegerNodes++;
             }
         }
+        int[] degrees = new int[graph.getNeighbourNodes().size()];
+        int i = 0;
+        for (Map.Entry<String, List<Node>> entry : graph.getNeighbourNodes().entrySet()) {
+            degrees[i++] = entry.getValue().size();
+        }
+        return computeGeneralGraphData(graph.getNodes().size(), numIntegerNodes, graph.getEdges().size(), degrees);
+    }
+
+    private GraphData computeGeneralGraphData(int numNodes, int numIntegerNodes, int numEdges, int[] degrees) {
+        GraphData graphData = new GraphData();
+        graphData.numNodes = numNodes;
         graphData.numIntegerNodes = numIntegerNodes;
         graphData.proportionIntegerNodes = (double) numIntegerNodes / (double) graphData.numNodes;
-        graphData.numEdges = graph.getEdges().size();
+        graphData.numEdges = numEdges;
 
         int sumDegree = 0;
         int minDegree = Integer.MAX_VALUE;
         int maxDegree = Integer.MIN_VALUE;
-        for (Map.Entry<String, List<Node>> entry : graph.getNeighbourNodes().entrySet()) {
-            int degree = entry.getValue().size();
+        for (int degree : degrees) {
             sumDegree += degree;
             if (degree < minDegree) {
                 minDegree = degree;
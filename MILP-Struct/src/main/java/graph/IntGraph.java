@@ -0,0 +1,350 @@
+package main.java.graph;
+
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * NGraph whose vertices are IntVertex objects with dense ids. The neighbours of a vertex are stored as int[] of ids
+ * and every arc (directed neighbour relation) is kept in an open addressing hash set, such that isNeighbor and
+ * ensureNeighbor take constant time instead of scanning the neighbour list like ListVertex does.
+ *
+ * Vertices and neighbours are kept in the same order as in a ListGraph of ListVertex objects, so the LibTW
+ * algorithms compute the same results on it. As the algorithms copy their input with copy(), they run on an IntGraph
+ * when they get one as input.
+ */
+public class IntGraph<D> extends NGraph<D> {
+
+    private static final long serialVersionUID = 1L;
+
+    private IntVertex<D>[] vertexById = newVertexArray(16);
+    private int numIds = 0;
+
+    // vertex order, removed vertices leave holes (null) until the order is compacted
+    private IntVertex<D>[] order = newVertexArray(16);
+    private int orderSize = 0;
+    private int numVertices = 0;
+
+    final ArcSet arcs = new ArcSet();
+
+    /**
+     * @return an IntGraph with the same vertex data, vertex order and neighbour order as graph
+     */
+    public static <D> IntGraph<D> copyOf(NGraph<D> graph) {
+        return copyOf(graph, v -> v.data);
+    }
+
+    /**
+     * @return an IntGraph with the vertex data converted by c, the same vertex order and neighbour order as graph
+     */
+    public static <D, To> IntGraph<To> copyOf(NGraph<D> graph, Convertor<D, To> c) {
+        IntGraph<To> intGraph = new IntGraph<>();
+        Map<NVertex<D>, IntVertex<To>> oldToNew = new IdentityHashMap<>();
+        for (NVertex<D> v : graph) {
+            IntVertex<To> newVertex = new IntVertex<>(c.convert(v));
+            intGraph.addVertex(newVertex);
+            oldToNew.put(v, newVertex);
+        }
+        for (NVertex<D> v : graph) {
+            IntVertex<To> newVertex = oldToNew.get(v);
+            for (NVertex<D> neighbor : v) {
+                IntVertex<To> newNeighbor = oldToNew.get(neighbor);
+                if (newNeighbor != null) {
+                    newVertex.addNeighbor(newNeighbor);
+                }
+            }
+        }
+        return intGraph;
+    }
+
+    public IntVertex<D> getVertexById(int id) {
+        return vertexById[id];
+    }
+
+    /**
+     * @return whether the vertex with id to is a neighbour of the vertex with id from
+     */
+    public boolean isAdjacent(int from, int to) {
+        return arcs.contains(from, to);
+    }
+
+    /**
+     * @return the number of ids handed out, i.e. an upper bound for the ids of the vertices
+     */
+    public int getNumberOfIds() {
+        return numIds;
+    }
+
+    @Override
+    public void addVertex(NVertex<D> v) {
+        IntVertex<D> vertex = (IntVertex<D>) v;
+        if (vertex.graph == null) {
+            vertex.graph = this;
+            if (numIds == vertexById.length) {
+                vertexById = Arrays.copyOf(vertexById, 2 * numIds);
+            }
+            vertex.id = numIds++;
+            vertexById[vertex.id] = vertex;
+        } else if (vertex.graph != this) {
+            throw new IllegalArgumentException("Vertex belongs to another IntGraph");
+        } else if (vertex.position != -1) {
+            throw new IllegalArgumentException("Vertex is already in the graph");
+        }
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, 2 * orderSize);
+        }
+        vertex.position = orderSize;
+        order[orderSize++] = vertex;
+        numVertices++;
+    }
+
+    /**
+     * Removes v from the vertex order and from the neighbours of its neighbours, v keeps its own neighbours
+     */
+    @Override
+    public void removeVertex(NVertex<D> v) {
+        IntVertex<D> vertex = (IntVertex<D>) v;
+        if (vertex.graph != this) {
+            return;
+        }
+        if (vertex.position != -1) {
+            order[vertex.position] = null;
+            vertex.position = -1;
+            numVertices--;
+        }
+        for (int i = 0; i < vertex.degree; i++) {
+            IntVertex<D> neighbor = vertexById[vertex.neighbors[i]];
+            if (arcs.remove(neighbor.id, vertex.id)) {
+                neighbor.removeId(vertex.id);
+            }
+        }
+        if (orderSize > 2 * numVertices + 16) {
+            compact();
+        }
+    }
+
+    /**
+     * Same as NGraph.eliminate, but iterates over the neighbour ids directly
+     */
+    @Override
+    public void eliminate(NVertex<D> v) {
+        IntVertex<D> vertex = (IntVertex<D>) v;
+        int[] neighbors = vertex.neighbors;
+        int degree = vertex.degree;
+        for (int i = 0; i < degree; i++) {
+            IntVertex<D> n1 = vertexById[neighbors[i]];
+            for (int j = 0; j < degree; j++) {
+                int n2 = neighbors[j];
+                if (n1.id != n2 && arcs.add(n1.id, n2)) {
+                    n1.append(n2);
+                }
+            }
+        }
+        removeVertex(vertex);
+    }
+
+    private void compact() {
+        int size = 0;
+        for (int i = 0; i < orderSize; i++) {
+            IntVertex<D> vertex = order[i];
+            if (vertex != null) {
+                vertex.position = size;
+                order[size++] = vertex;
+            }
+        }
+        Arrays.fill(order, size, orderSize, null);
+        orderSize = size;
+    }
+
+    @Override
+    public NVertex<D> getVertex(int i) {
+        if (i < 0 || i >= numVertices) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + numVertices);
+        }
+        if (orderSize != numVertices) {
+            compact();
+        }
+        return order[i];
+    }
+
+    @Override
+    public Iterator<NVertex<D>> getVertices() {
+        return new Iterator<NVertex<D>>() {
+            private int next = advance(0);
+
+            private int advance(int i) {
+                while (i < orderSize && order[i] == null) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < orderSize;
+            }
+
+            @Override
+            public NVertex<D> next() {
+                if (next >= orderSize) {
+                    throw new NoSuchElementException();
+                }
+                NVertex<D> vertex = order[next];
+                next = advance(next + 1);
+                return vertex;
+            }
+        };
+    }
+
+    @Override
+    public int getNumberOfVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public void setVertices(ArrayList<NVertex<D>> vs) {
+        for (int i = 0; i < orderSize; i++) {
+            if (order[i] != null) {
+                order[i].position = -1;
+            }
+        }
+        order = newVertexArray(Math.max(16, vs.size()));
+        orderSize = 0;
+        numVertices = 0;
+        for (NVertex<D> v : vs) {
+            addVertex(v);
+        }
+    }
+
+    @Override
+    public NGraph<D> copy() {
+        return copy(v -> v.data);
+    }
+
+    /**
+     * Same as NGraph.copy(Convertor), but the copy is an IntGraph with dense ids in vertex order
+     */
+    @Override
+    public <To> NGraph<To> copy(Convertor<D, To> c) {
+        IntGraph<To> newGraph = new IntGraph<>();
+        int[] newIds = new int[numIds];
+        Arrays.fill(newIds, -1);
+        for (NVertex<D> v : this) {
+            IntVertex<To> newVertex = new IntVertex<>(c.convert(v));
+            newGraph.addVertex(newVertex);
+            newIds[((IntVertex<D>) v).id] = newVertex.id;
+        }
+        for (NVertex<D> v : this) {
+            IntVertex<D> vertex = (IntVertex<D>) v;
+            IntVertex<To> newVertex = newGraph.vertexById[newIds[vertex.id]];
+            for (int i = 0; i < vertex.degree; i++) {
+                int newNeighbor = newIds[vertex.neighbors[i]];
+                if (newNeighbor != -1) {
+                    newGraph.arcs.add(newVertex.id, newNeighbor);
+                    newVertex.append(newNeighbor);
+                }
+            }
+        }
+        return newGraph;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <D> IntVertex<D>[] newVertexArray(int size) {
+        return (IntVertex<D>[]) new IntVertex<?>[size];
+    }
+
+    /**
+     * Open addressing hash set of arcs (from, to) with linear probing and deletion by backward shifting
+     */
+    static final class ArcSet implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private static final long EMPTY = -1L;
+
+        private long[] keys = newTable(16);
+        private int size = 0;
+
+        private static long[] newTable(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+
+        private static long key(int from, int to) {
+            return ((long) from << 32) | (to & 0xFFFFFFFFL);
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+        }
+
+        boolean contains(int from, int to) {
+            long key = key(from, to);
+            int mask = keys.length - 1;
+            for (int i = slot(key); keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean add(int from, int to) {
+            long key = key(from, to);
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            if (++size > keys.length / 2) {
+                resize();
+            }
+            return true;
+        }
+
+        boolean remove(int from, int to) {
+            long key = key(from, to);
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            // shift back following keys of the probe sequence into the gap
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return true;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            keys = newTable(2 * oldKeys.length);
+            int mask = keys.length - 1;
+            for (long key : oldKeys) {
+                if (key != EMPTY) {
+                    int i = slot(key);
+                    while (keys[i] != EMPTY) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = key;
+                }
+            }
+        }
+    }
+}
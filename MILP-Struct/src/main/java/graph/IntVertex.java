@@ -0,0 +1,134 @@
+package main.java.graph;
+
+import nl.uu.cs.treewidth.ngraph.NVertex;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Vertex of an IntGraph. Its neighbours are stored as ids in insertion order, adjacency tests are answered by the
+ * arc set of the graph.
+ *
+ * A vertex gets its id when it is added to an IntGraph, neighbours can only be added afterwards.
+ */
+public class IntVertex<D> extends NVertex<D> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    IntGraph<D> graph = null;
+    int id = -1;
+    int position = -1; // index in the vertex order of the graph, -1 if removed
+    int[] neighbors = NO_NEIGHBORS;
+    int degree = 0;
+
+    public IntVertex() {
+    }
+
+    public IntVertex(D d) {
+        super(d);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getNeighborId(int i) {
+        return neighbors[i];
+    }
+
+    @Override
+    public <T> NVertex<T> newOfSameType(T d) {
+        return new IntVertex<>(d);
+    }
+
+    @Override
+    public boolean isNeighbor(NVertex<D> v) {
+        IntVertex<D> other = (IntVertex<D>) v;
+        return graph != null && other.graph == graph && graph.arcs.contains(id, other.id);
+    }
+
+    @Override
+    public boolean ensureNeighbor(NVertex<D> v) {
+        IntVertex<D> other = attached((IntVertex<D>) v);
+        if (graph.arcs.add(id, other.id)) {
+            append(other.id);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void addNeighbor(NVertex<D> v) {
+        IntVertex<D> other = attached((IntVertex<D>) v);
+        graph.arcs.add(id, other.id);
+        append(other.id);
+    }
+
+    @Override
+    public void removeNeighbor(NVertex<D> v) {
+        IntVertex<D> other = (IntVertex<D>) v;
+        if (graph != null && other.graph == graph && graph.arcs.remove(id, other.id)) {
+            removeId(other.id);
+        }
+    }
+
+    void append(int neighborId) {
+        if (degree == neighbors.length) {
+            neighbors = Arrays.copyOf(neighbors, Math.max(4, 2 * degree));
+        }
+        neighbors[degree++] = neighborId;
+    }
+
+    /**
+     * Removes the first occurrence of neighborId and keeps the order of the remaining neighbours
+     */
+    void removeId(int neighborId) {
+        for (int i = 0; i < degree; i++) {
+            if (neighbors[i] == neighborId) {
+                System.arraycopy(neighbors, i + 1, neighbors, i, degree - i - 1);
+                degree--;
+                return;
+            }
+        }
+    }
+
+    private IntVertex<D> attached(IntVertex<D> other) {
+        if (graph == null || other.graph != graph) {
+            throw new IllegalStateException("Both vertices have to be added to the same IntGraph before adding an edge");
+        }
+        return other;
+    }
+
+    @Override
+    public Iterator<NVertex<D>> getNeighbors() {
+        return new Iterator<NVertex<D>>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < degree;
+            }
+
+            @Override
+            public NVertex<D> next() {
+                if (next >= degree) {
+                    throw new NoSuchElementException();
+                }
+                return graph.getVertexById(neighbors[next++]);
+            }
+        };
+    }
+
+    @Override
+    public int getNumberOfNeighbors() {
+        return degree;
+    }
+
+    @Override
+    public NVertex<D> copy() {
+        return new IntVertex<>(data);
+    }
+}
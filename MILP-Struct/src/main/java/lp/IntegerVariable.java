@@ -3,7 +3,7 @@ package main.java.lp;
 /**
  * Created by Verena on 28.03.2017.
  */
-public class IntegerVariable<Integer> extends Variable {
+public class IntegerVariable extends Variable<Integer> {
     public IntegerVariable(String name) {
         super(name);
     }
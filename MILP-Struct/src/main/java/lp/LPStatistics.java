@@ -16,25 +16,72 @@ public class LPStatistics implements Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(LPStatistics.class);
 
     private transient LinearProgram linearProgram;
+    private String name; // kept for cached statistics, of which the linear program is not available
     private LPData linearProgramData;
 
     public LinearProgram getLinearProgram() {
         return linearProgram;
     }
 
+    public String getName() {
+        return name;
+    }
+
     public LPData getLinearProgramData() {
         return linearProgramData;
     }
 
     public LPStatistics(LinearProgram linearProgram) {
         this.linearProgram = linearProgram;
+        this.name = linearProgram.getName();
         computeLinearProgramData();
     }
 
     private void computeLinearProgramData() {
         linearProgramData = new LPData();
-        computeVariableInformation();
-        computeMatrixInformation();
+        if (linearProgram.getSparseMatrix() != null) {
+            computeVariableInformation(linearProgram.getSparseMatrix());
+            computeMatrixInformation(linearProgram.getSparseMatrix());
+        } else {
+            computeVariableInformation();
+            computeMatrixInformation();
+        }
+    }
+
+    private void computeMatrixInformation(SparseMatrix matrix) {
+        linearProgramData.numConstraints = matrix.getNumConstraints();
+
+        int numVariablesTotal = 0;
+        int numIntegerVariablesTotal = 0;
+        int minNumInteger = Integer.MAX_VALUE;
+        int maxNumInteger = Integer.MIN_VALUE;
+        // the objective function is the last row and only considered like a row in the matrix with OBJ_FUNCTION
+        int numRows = Configuration.OBJ_FUNCTION ? matrix.getNumRows() : matrix.getNumConstraints();
+        for (int row = 0; row < numRows; row++) {
+            int numIntegerInRow = 0;
+            for (int k = matrix.getRowStart(row); k < matrix.getRowEnd(row); k++) {
+                if (matrix.isInteger(matrix.getColumnIndex(k))) {
+                    numIntegerInRow++;
+                }
+            }
+            numVariablesTotal += matrix.getRowLength(row);
+            numIntegerVariablesTotal += numIntegerInRow;
+            minNumInteger = Math.min(minNumInteger, numIntegerInRow);
+            maxNumInteger = Math.max(maxNumInteger, numIntegerInRow);
+        }
+        linearProgramData.minIntegerVariables = minNumInteger; // per row
+        linearProgramData.maxIntegerVariables = maxNumInteger;
+        linearProgramData.avgIntegerVariables = (double) numIntegerVariablesTotal / ((double) linearProgramData.numConstraints);
+        linearProgramData.avgVariables = (double) numVariablesTotal / ((double) linearProgramData.numConstraints);
+        linearProgramData.sizeObjectiveFunction = matrix.getRowLength(matrix.getObjectiveRow());
+    }
+
+    private void computeVariableInformation(SparseMatrix matrix) {
+        linearProgramData.numVariables = matrix.getNumVariables();
+        int numInteger = matrix.getNumIntegerVariables();
+        linearProgramData.numIntegerVariables = numInteger;
+        linearProgramData.isIntegerLP = (numInteger == linearProgramData.numVariables);
+        linearProgramData.proportionIntegerVariables = (double) numInteger / (double) linearProgramData.numVariables;
     }
 
     private void computeMatrixInformation() {
@@ -55,7 +102,7 @@ public class LPStatistics implements Serializable {
         for (Row matrixRow : rows) {
 
             int numIntegerInRow = 0;
-            for (Variable matrixEntry : matrixRow.getVariableEntries()) {
+            for (Variable<?> matrixEntry : matrixRow.getVariableEntries()) {
                 numVariablesTotal++;
                 if (matrixEntry.isInteger()) {
                     numIntegerInRow++;
@@ -82,7 +129,7 @@ public class LPStatistics implements Serializable {
 
         // variable information
         int numInteger = 0;
-        for (Variable var : linearProgram.getVariables().values()) {
+        for (Variable<?> var : linearProgram.getVariables().values()) {
             if (var.isInteger()) {
                 numInteger++;
             }
@@ -2,6 +2,7 @@ package main.java.lp;
 
 import main.java.graph.GraphData;
 import main.java.main.Configuration;
+import main.java.main.StageMetrics;
 
 import java.text.DecimalFormat;
 
@@ -12,12 +13,10 @@ public class LPStatisticsFormatter {
     private static final String LINE_SEPARATOR = System.lineSeparator();
 
     private LPStatistics lpStatistics;
-    private LinearProgram linearProgram;
     private LPData linearProgramData;
 
     public LPStatisticsFormatter(LPStatistics lpStatistics) {
         this.lpStatistics = lpStatistics;
-        this.linearProgram = lpStatistics.getLinearProgram();
         this.linearProgramData = lpStatistics.getLinearProgramData();
     }
 
@@ -41,6 +40,10 @@ public class LPStatisticsFormatter {
             sbColumn.append(graphDataHeader);
         }
         sbColumn.append("totalTime");
+        if (Configuration.METRICS) {
+            sbDescription.append(";Stage metrics");
+            sbColumn.append(";").append(StageMetrics.csvFormatHeader());
+        }
         sbDescription.append(LINE_SEPARATOR);
         sbColumn.append(LINE_SEPARATOR);
         return sbDescription.append(sbColumn).toString();
@@ -53,7 +56,7 @@ public class LPStatisticsFormatter {
     }
 
     private void formatLinearProgramData(StringBuilder sb) {
-        sb.append(linearProgram.getName()).append(";");
+        sb.append(lpStatistics.getName()).append(";");
         sb.append(linearProgramData.numVariables).append(";");
         sb.append(linearProgramData.numConstraints).append(";");
         sb.append(linearProgramData.numIntegerVariables).append(";");
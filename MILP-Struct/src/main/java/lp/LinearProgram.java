@@ -42,9 +42,10 @@ public class LinearProgram {
     private String name;
     private Row objectiveFunction;
     private List<MatrixRow> constraints;
-    private Map<String, Variable> variables;
+    private Map<String, Variable<?>> variables;
     private boolean integerLP = false;
     private LPStatistics statistics;
+    private SparseMatrix sparseMatrix; // only set if Configuration.SPARSE_MATRIX
     private static final String NL = System.getProperty("line.separator");
 
     public LPStatistics getStatistics() {
@@ -55,6 +56,14 @@ public class LinearProgram {
         this.statistics = statistics;
     }
 
+    public SparseMatrix getSparseMatrix() {
+        return sparseMatrix;
+    }
+
+    public void setSparseMatrix(SparseMatrix sparseMatrix) {
+        this.sparseMatrix = sparseMatrix;
+    }
+
     public boolean isIntegerLP() {
         return integerLP;
     }
@@ -99,11 +108,11 @@ public class LinearProgram {
         return rows;
     }
 
-    public void setVariables(Map<String, Variable> variables) {
+    public void setVariables(Map<String, Variable<?>> variables) {
         this.variables = variables;
     }
 
-    public Map<String, Variable> getVariables() {
+    public Map<String, Variable<?>> getVariables() {
         return variables;
     }
 
@@ -111,14 +120,14 @@ public class LinearProgram {
          StringBuilder sb = new StringBuilder();
          sb.append("LinearProgram " + this.name + " (" + (integerLP ? "ILP" : "MILP") + ")" + " - Coefficients not printed" + NL);
          sb.append("Objective function " + this.getObjectiveFunction().getName() + " : ");
-         for (Variable variable : this.getObjectiveFunction().getVariableEntries()) {
+         for (Variable<?> variable : this.getObjectiveFunction().getVariableEntries()) {
              sb.append(variable.getName() + " + ");
          }
 
          sb.append(NL + "s.t." + NL);
          for (MatrixRow row : this.getConstraints()) {
              sb.append(row.getName() + " : ");
-             for (Variable variable : row.getVariableEntries()) {
+             for (Variable<?> variable : row.getVariableEntries()) {
                  sb.append(variable.getName() + " + ");
              }
              sb.append(" " + row.getEquality().toString() + " ");
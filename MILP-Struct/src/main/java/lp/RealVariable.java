@@ -3,7 +3,7 @@ package main.java.lp;
 /**
  * Created by Verena on 28.03.2017.
  */
-public class RealVariable<Double> extends Variable {
+public class RealVariable extends Variable<Double> {
     public RealVariable(String name) {
         super(name);
     }
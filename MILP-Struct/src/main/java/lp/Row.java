@@ -7,7 +7,16 @@ import java.util.List;
  */
 public class Row {
     private String name;
-    private List<Variable> variableEntries;
+    private List<Variable<?>> variableEntries;
+    private int index = -1; // row of the SparseMatrix, constraints first and the objective function last
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
 
     public String getName() {
         return name;
@@ -17,11 +26,11 @@ public class Row {
         this.name = name;
     }
 
-    public List<Variable> getVariableEntries() {
+    public List<Variable<?>> getVariableEntries() {
         return variableEntries;
     }
 
-    public void setVariableEntries(List<Variable> variableEntries) {
+    public void setVariableEntries(List<Variable<?>> variableEntries) {
         this.variableEntries = variableEntries;
     }
 }
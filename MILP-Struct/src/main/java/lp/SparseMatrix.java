@@ -0,0 +1,144 @@
+package main.java.lp;
+
+import java.util.BitSet;
+
+/**
+ * Compressed sparse row (CSR) and column (CSC) representation of the matrix of a LinearProgram. Rows are the
+ * constraints in the order of the ROWS section followed by the objective function, columns are the dense
+ * variable ids. Only nonzero coefficients are stored.
+ *
+ * The entries of row r are rowPointers[r] to rowPointers[r+1]-1 in columnIndices and coefficients, the entries of
+ * column c are columnPointers[c] to columnPointers[c+1]-1 in rowIndices and columnCoefficients, with the rows of a
+ * column in ascending order.
+ */
+public class SparseMatrix {
+
+    private final int numConstraints;
+    private final int numVariables;
+    private final boolean hasObjectiveFunction;
+
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] coefficients;
+
+    private final int[] columnPointers;
+    private final int[] rowIndices;
+    private final double[] columnCoefficients;
+
+    private final String[] rowNames;
+    private final String[] variableNames;
+    private final BitSet integerVariables;
+
+    SparseMatrix(int numConstraints, boolean hasObjectiveFunction, int[] rowPointers, int[] columnIndices,
+                 double[] coefficients, String[] rowNames, String[] variableNames, BitSet integerVariables) {
+        this.numConstraints = numConstraints;
+        this.numVariables = variableNames.length;
+        this.hasObjectiveFunction = hasObjectiveFunction;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.coefficients = coefficients;
+        this.rowNames = rowNames;
+        this.variableNames = variableNames;
+        this.integerVariables = integerVariables;
+
+        // transpose, rows are visited in ascending order such that the rows of a column are sorted
+        int numNonZeros = columnIndices.length;
+        columnPointers = new int[numVariables + 1];
+        for (int k = 0; k < numNonZeros; k++) {
+            columnPointers[columnIndices[k] + 1]++;
+        }
+        for (int c = 0; c < numVariables; c++) {
+            columnPointers[c + 1] += columnPointers[c];
+        }
+        rowIndices = new int[numNonZeros];
+        columnCoefficients = new double[numNonZeros];
+        int[] next = new int[numVariables];
+        System.arraycopy(columnPointers, 0, next, 0, numVariables);
+        for (int r = 0; r < getNumRows(); r++) {
+            for (int k = rowPointers[r]; k < rowPointers[r + 1]; k++) {
+                int position = next[columnIndices[k]]++;
+                rowIndices[position] = r;
+                columnCoefficients[position] = coefficients[k];
+            }
+        }
+    }
+
+    public int getNumRows() {
+        return rowNames.length;
+    }
+
+    public int getNumConstraints() {
+        return numConstraints;
+    }
+
+    public int getNumVariables() {
+        return numVariables;
+    }
+
+    public int getNumNonZeros() {
+        return columnIndices.length;
+    }
+
+    /**
+     * @return the row of the objective function or -1 if the LinearProgram has none
+     */
+    public int getObjectiveRow() {
+        return hasObjectiveFunction ? numConstraints : -1;
+    }
+
+    public int getRowStart(int row) {
+        return rowPointers[row];
+    }
+
+    public int getRowEnd(int row) {
+        return rowPointers[row + 1];
+    }
+
+    public int getRowLength(int row) {
+        return rowPointers[row + 1] - rowPointers[row];
+    }
+
+    public int getColumnIndex(int entry) {
+        return columnIndices[entry];
+    }
+
+    public double getCoefficient(int entry) {
+        return coefficients[entry];
+    }
+
+    public int getColumnStart(int column) {
+        return columnPointers[column];
+    }
+
+    public int getColumnEnd(int column) {
+        return columnPointers[column + 1];
+    }
+
+    public int getColumnLength(int column) {
+        return columnPointers[column + 1] - columnPointers[column];
+    }
+
+    public int getRowIndex(int columnEntry) {
+        return rowIndices[columnEntry];
+    }
+
+    public double getColumnCoefficient(int columnEntry) {
+        return columnCoefficients[columnEntry];
+    }
+
+    public String getRowName(int row) {
+        return rowNames[row];
+    }
+
+    public String getVariableName(int column) {
+        return variableNames[column];
+    }
+
+    public boolean isInteger(int column) {
+        return integerVariables.get(column);
+    }
+
+    public int getNumIntegerVariables() {
+        return integerVariables.cardinality();
+    }
+}
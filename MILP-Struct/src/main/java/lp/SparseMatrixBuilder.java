@@ -0,0 +1,77 @@
+package main.java.lp;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Collects the nonzero entries of a LinearProgram while it is parsed and compresses them into a SparseMatrix.
+ * Rows are identified by Row.getIndex() and columns by Variable.getId().
+ */
+public class SparseMatrixBuilder {
+
+    private int[] rows = new int[1024];
+    private int[] columns = new int[1024];
+    private double[] values = new double[1024];
+    private int size = 0;
+
+    public void addEntry(int row, int column, double coefficient) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, 2 * size);
+            columns = Arrays.copyOf(columns, 2 * size);
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        rows[size] = row;
+        columns[size] = column;
+        values[size] = coefficient;
+        size++;
+    }
+
+    /**
+     * @param lp the parsed LinearProgram whose rows have their indices and variables their ids set
+     * @return the matrix of all collected entries, the entries of a row are kept in the order they were added
+     */
+    public SparseMatrix build(LinearProgram lp) {
+        int numConstraints = lp.getConstraints().size();
+        boolean hasObjectiveFunction = lp.getObjectiveFunction() != null;
+        int numRows = numConstraints + (hasObjectiveFunction ? 1 : 0);
+
+        String[] rowNames = new String[numRows];
+        for (MatrixRow constraint : lp.getConstraints()) {
+            rowNames[constraint.getIndex()] = constraint.getName();
+        }
+        if (hasObjectiveFunction) {
+            rowNames[lp.getObjectiveFunction().getIndex()] = lp.getObjectiveFunction().getName();
+        }
+
+        Map<String, Variable<?>> variables = lp.getVariables();
+        String[] variableNames = new String[variables.size()];
+        BitSet integerVariables = new BitSet(variables.size());
+        for (Variable<?> variable : variables.values()) {
+            variableNames[variable.getId()] = variable.getName();
+            if (variable.isInteger()) {
+                integerVariables.set(variable.getId());
+            }
+        }
+
+        // counting sort of the entries by row, stable such that the order within a row is kept
+        int[] rowPointers = new int[numRows + 1];
+        for (int k = 0; k < size; k++) {
+            rowPointers[rows[k] + 1]++;
+        }
+        for (int r = 0; r < numRows; r++) {
+            rowPointers[r + 1] += rowPointers[r];
+        }
+        int[] columnIndices = new int[size];
+        double[] coefficients = new double[size];
+        int[] next = Arrays.copyOf(rowPointers, numRows);
+        for (int k = 0; k < size; k++) {
+            int position = next[rows[k]]++;
+            columnIndices[position] = columns[k];
+            coefficients[position] = values[k];
+        }
+
+        return new SparseMatrix(numConstraints, hasObjectiveFunction, rowPointers, columnIndices, coefficients,
+                rowNames, variableNames, integerVariables);
+    }
+}
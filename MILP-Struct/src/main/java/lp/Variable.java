@@ -6,11 +6,20 @@ package main.java.lp;
  */
 public abstract class Variable<T extends Number> {
     private String name;
+    private int id = -1; // dense id in order of first occurrence in the COLUMNS section
 
     public Variable(String name) {
         this.name = name;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,341 @@
+package main.java.main;
+
+import main.java.algo.LPInputData;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.ListGraph;
+import nl.uu.cs.treewidth.ngraph.ListVertex;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary file format for the graph representations of (M)ILP instances, written and read with buffered
+ * file channels instead of Java serialization of the vertex objects.
+ *
+ * Layout (big endian):
+ * header:      magic, version, number of vertices n, number of arcs m, number of components c, comments
+ * vertices:    n ids, n flags (integer variable, node handled, LPInputData), string table of the n names
+ *              (total length, n+1 offsets, UTF-8 bytes)
+ * adjacency:   n+1 offsets and m neighbour indices in neighbour order (CSR)
+ * components:  n component labels, -1 if the graph has no components
+ *
+ * Reading the file results in a ListGraph of ListVertex objects with the same vertex and neighbour order and the
+ * same components, of which the vertices are listed in the order of the graph.
+ */
+public class BinaryGraphFormat {
+
+    private static final int MAGIC = 0x4D53474C; // "MSGL"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final byte FLAG_INTEGER = 1;
+    private static final byte FLAG_NODE_HANDLED = 2;
+    private static final byte FLAG_LP_INPUT_DATA = 4;
+
+    public static void write(NGraph<GraphInput.InputData> graph, Path path) throws IOException {
+        int numVertices = graph.getNumberOfVertices();
+        List<NVertex<GraphInput.InputData>> vertices = new ArrayList<>(numVertices);
+        Map<NVertex<GraphInput.InputData>, Integer> indices = new IdentityHashMap<>(numVertices);
+        for (NVertex<GraphInput.InputData> v : graph) {
+            indices.put(v, vertices.size());
+            vertices.add(v);
+        }
+
+        int[] offsets = new int[numVertices + 1];
+        for (int i = 0; i < numVertices; i++) {
+            offsets[i + 1] = offsets[i] + vertices.get(i).getNumberOfNeighbors();
+        }
+
+        List<NGraph<GraphInput.InputData>> components = graph.getComponents();
+        int[] componentLabels = new int[numVertices];
+        Arrays.fill(componentLabels, -1);
+        if (components != null) {
+            for (int c = 0; c < components.size(); c++) {
+                for (NVertex<GraphInput.InputData> v : components.get(c)) {
+                    componentLabels[indexOf(indices, v)] = c;
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelWriter out = new ChannelWriter(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(numVertices);
+            out.putInt(offsets[numVertices]);
+            out.putInt(components == null ? -1 : components.size());
+            out.putString(graph.getComments());
+
+            for (NVertex<GraphInput.InputData> v : vertices) {
+                out.putInt(v.data.id);
+            }
+            for (NVertex<GraphInput.InputData> v : vertices) {
+                out.putByte(getFlags(v.data));
+            }
+            writeStringTable(out, vertices);
+
+            for (int offset : offsets) {
+                out.putInt(offset);
+            }
+            for (NVertex<GraphInput.InputData> v : vertices) {
+                for (NVertex<GraphInput.InputData> neighbor : v) {
+                    out.putInt(indexOf(indices, neighbor));
+                }
+            }
+
+            for (int label : componentLabels) {
+                out.putInt(label);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Writes the total length, the n+1 offsets and the concatenated UTF-8 bytes of the vertex names
+     */
+    private static void writeStringTable(ChannelWriter out, List<NVertex<GraphInput.InputData>> vertices) throws IOException {
+        byte[][] names = new byte[vertices.size()][];
+        int totalLength = 0;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = vertices.get(i).data.name.getBytes(StandardCharsets.UTF_8);
+            totalLength += names[i].length;
+        }
+        out.putInt(totalLength);
+        int offset = 0;
+        out.putInt(offset);
+        for (byte[] name : names) {
+            offset += name.length;
+            out.putInt(offset);
+        }
+        for (byte[] name : names) {
+            out.putBytes(name);
+        }
+    }
+
+    private static String[] readStringTable(ChannelReader in, int numStrings) throws IOException {
+        byte[] bytes = new byte[in.getInt()];
+        int[] offsets = new int[numStrings + 1];
+        for (int i = 0; i <= numStrings; i++) {
+            offsets[i] = in.getInt();
+        }
+        in.getBytes(bytes);
+        String[] strings = new String[numStrings];
+        for (int i = 0; i < numStrings; i++) {
+            strings[i] = new String(bytes, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static int indexOf(Map<NVertex<GraphInput.InputData>, Integer> indices, NVertex<GraphInput.InputData> v) {
+        Integer index = indices.get(v);
+        if (index == null) {
+            throw new IllegalArgumentException("Vertex " + v.data.name + " is not a vertex of the graph");
+        }
+        return index;
+    }
+
+    private static byte getFlags(GraphInput.InputData data) {
+        if (!(data instanceof LPInputData)) {
+            return 0;
+        }
+        LPInputData lpData = (LPInputData) data;
+        byte flags = FLAG_LP_INPUT_DATA;
+        if (lpData.isInteger()) {
+            flags |= FLAG_INTEGER;
+        }
+        if (lpData.isNodeHandled()) {
+            flags |= FLAG_NODE_HANDLED;
+        }
+        return flags;
+    }
+
+    public static NGraph<GraphInput.InputData> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ChannelReader in = new ChannelReader(channel);
+            if (in.getInt() != MAGIC) {
+                throw new IOException(path + " is not a graph file");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has graph file version " + version + ", expected " + VERSION);
+            }
+            int numVertices = in.getInt();
+            int numArcs = in.getInt();
+            int numComponents = in.getInt();
+            String comments = in.getString();
+
+            int[] ids = new int[numVertices];
+            for (int i = 0; i < numVertices; i++) {
+                ids[i] = in.getInt();
+            }
+            byte[] flags = new byte[numVertices];
+            for (int i = 0; i < numVertices; i++) {
+                flags[i] = in.getByte();
+            }
+            String[] names = readStringTable(in, numVertices);
+            ListGraph<GraphInput.InputData> graph = new ListGraph<>();
+            graph.addComment(comments);
+            List<NVertex<GraphInput.InputData>> vertices = new ArrayList<>(numVertices);
+            for (int i = 0; i < numVertices; i++) {
+                NVertex<GraphInput.InputData> v = new ListVertex<>(createData(ids[i], names[i], flags[i]));
+                vertices.add(v);
+                graph.addVertex(v);
+            }
+
+            int[] offsets = new int[numVertices + 1];
+            for (int i = 0; i <= numVertices; i++) {
+                offsets[i] = in.getInt();
+            }
+            if (offsets[numVertices] != numArcs) {
+                throw new IOException(path + " has inconsistent adjacency offsets");
+            }
+            for (int i = 0; i < numVertices; i++) {
+                NVertex<GraphInput.InputData> v = vertices.get(i);
+                for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                    v.addNeighbor(vertices.get(in.getInt()));
+                }
+            }
+
+            if (numComponents >= 0) {
+                List<ArrayList<NVertex<GraphInput.InputData>>> verticesOfComponents = new ArrayList<>(numComponents);
+                for (int c = 0; c < numComponents; c++) {
+                    verticesOfComponents.add(new ArrayList<>());
+                }
+                for (int i = 0; i < numVertices; i++) {
+                    int label = in.getInt();
+                    if (label >= 0) {
+                        verticesOfComponents.get(label).add(vertices.get(i));
+                    }
+                }
+                List<NGraph<GraphInput.InputData>> components = new ArrayList<>(numComponents);
+                for (ArrayList<NVertex<GraphInput.InputData>> verticesOfComponent : verticesOfComponents) {
+                    ListGraph<GraphInput.InputData> component = new ListGraph<>();
+                    component.vertices = verticesOfComponent;
+                    components.add(component);
+                }
+                graph.setComponents(components);
+            }
+            return graph;
+        }
+    }
+
+    private static GraphInput.InputData createData(int id, String name, byte flags) {
+        if ((flags & FLAG_LP_INPUT_DATA) == 0) {
+            return new GraphInput.InputData(id, name);
+        }
+        LPInputData data = new LPInputData(id, name, (flags & FLAG_INTEGER) != 0);
+        data.setNodeHandled((flags & FLAG_NODE_HANDLED) != 0);
+        return data;
+    }
+
+    private static class ChannelWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void putByte(byte value) throws IOException {
+            ensureRemaining(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(4);
+            buffer.putInt(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int written = 0;
+            while (written < bytes.length) {
+                ensureRemaining(1);
+                int length = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, length);
+                written += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static class ChannelReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        ChannelReader(FileChannel channel) {
+            this.channel = channel;
+            buffer.limit(0);
+        }
+
+        private void ensureAvailable(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Graph file ends unexpectedly");
+                }
+            }
+            buffer.flip();
+        }
+
+        byte getByte() throws IOException {
+            ensureAvailable(1);
+            return buffer.get();
+        }
+
+        int getInt() throws IOException {
+            ensureAvailable(4);
+            return buffer.getInt();
+        }
+
+        String getString() throws IOException {
+            byte[] bytes = new byte[getInt()];
+            getBytes(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void getBytes(byte[] bytes) throws IOException {
+            int read = 0;
+            while (read < bytes.length) {
+                ensureAvailable(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - read);
+                buffer.get(bytes, read, chunk);
+                read += chunk;
+            }
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package main.java.main;
 
+import main.java.graph.GraphType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Created by Verena on 22.05.2017.
  */
@@ -14,13 +18,21 @@ public class Configuration {
     public static String PROGRAM_NAME = "MILP-Struct";
     public static long TERMINATION_TIMEOUT = 5;
     public static long TIMEOUT = 60 * 10; // 10 min
+    public static int NUM_THREADS = 1; // number of (M)ILP instances computed concurrently
+    public static int COMPONENT_THREADS = Runtime.getRuntime().availableProcessors(); // threads for the components and the graph representations
     public static Class<?> UPPER_BOUND_ALG = null;
     public static Class<?> LOWER_BOUND_ALG = null;
-    public static final String DEFAULT_LOWER_BOUND_ALG = "nl.uu.cs.treewidth.algorithm.MaximumMinimumDegreePlusLeastC";
-    public static final String DEFAULT_UPPER_BOUND_ALG = "nl.uu.cs.treewidth.algorithm.GreedyDegree";
+    public static final String DEFAULT_LOWER_BOUND_ALG = "main.java.algo.BucketMaximumMinimumDegreePlusLeastC";
+    public static final String DEFAULT_UPPER_BOUND_ALG = "main.java.algo.BucketGreedyDegree";
+    public static List<Class<?>> LOWER_BOUND_PORTFOLIO = null; // lower bound algorithms run concurrently instead of LOWER_BOUND_ALG
+    public static List<Class<?>> UPPER_BOUND_PORTFOLIO = null; // upper bound algorithms run concurrently instead of UPPER_BOUND_ALG
+    public static long PORTFOLIO_TIMEOUT = 0; // seconds after which unfinished portfolio algorithms are interrupted, 0 for none
+    public static String DP_SPILL_FOLDER = null; // folder of the memory-mapped levels of the CompactTreewidthDP, null keeps them on the heap
     public static String INPUT_FILE = null;
     public static String OUTPUT_FILE = null;
+    public static boolean RESUME = false; // skip the instances that already have a row in the output file
     public static String GRAPH_REPRESENTATIONS_FOLDER = "./graphs/";
+    public static long CACHE_SIZE = 1024; // maximum size of the cache in the graph representations folder in MB, 0 disables it
     public static boolean PRIMAL = false;
     public static boolean INCIDENCE = false;
     public static boolean DUAL = false;
@@ -29,6 +41,11 @@ public class Configuration {
     public static boolean UPPER_BOUND = false;
     public static boolean TREE_DEPTH = false;
     public static boolean OBJ_FUNCTION = false;
+    public static boolean MAPPED_PARSER = false; // parse with the memory-mapped MappedMILPParser
+    public static boolean SPARSE_MATRIX = false; // additionally store the LP as SparseMatrix
+    public static boolean INT_GRAPH = false; // run the treewidth bound algorithms on an IntGraph
+    public static boolean REDUCTION = false; // reduce the graphs with safe treewidth rules before the treewidth bounds
+    public static boolean METRICS = false; // record per-stage time and memory metrics
     public static String MPS_TEST_FILES_FOLDER = "./src/tests/resources/mps_files/";
 
     public static void print() {
@@ -39,6 +56,13 @@ public class Configuration {
         addDualInformation(sb);
         addObjectiveFunctionInformation(sb);
         addTimeoutInformation(sb);
+        addThreadInformation(sb);
+        addParserInformation(sb);
+        addAlgorithmInformation(sb);
+        addPortfolioInformation(sb);
+        addReductionInformation(sb);
+        addCacheInformation(sb);
+        addMetricsInformation(sb);
         LOGGER.info(sb.toString());
     }
 
@@ -46,6 +70,82 @@ public class Configuration {
         sb.append("Timeout for one MILP instance: ").append(Configuration.TIMEOUT).append(" seconds").append(NL);
     }
 
+    private static void addThreadInformation(StringBuilder sb) {
+        if (NUM_THREADS > 1) {
+            sb.append("Number of MILP instances computed concurrently: ").append(NUM_THREADS).append(NL);
+        }
+        if (COMPONENT_THREADS > 1) {
+            sb.append("Number of threads computing the components and graph representations: ").append(COMPONENT_THREADS).append(NL);
+        }
+    }
+
+    private static void addParserInformation(StringBuilder sb) {
+        if (MAPPED_PARSER) {
+            sb.append("MPS files are parsed memory-mapped.").append(NL);
+        }
+        if (SPARSE_MATRIX) {
+            sb.append("LPs are stored as sparse matrix.").append(NL);
+        }
+        if (INT_GRAPH) {
+            sb.append("Treewidth bounds are computed on int-array graphs.").append(NL);
+        }
+    }
+
+    private static void addReductionInformation(StringBuilder sb) {
+        if (REDUCTION) {
+            sb.append("Treewidth bounds are computed on the reduced graphs.").append(NL);
+        }
+    }
+
+    private static void addAlgorithmInformation(StringBuilder sb) {
+        if (UPPER_BOUND_ALG != null) {
+            sb.append("Upper bound algorithm: ").append(UPPER_BOUND_ALG.getSimpleName()).append(NL);
+        }
+        if (LOWER_BOUND_ALG != null) {
+            sb.append("Lower bound algorithm: ").append(LOWER_BOUND_ALG.getSimpleName()).append(NL);
+        }
+        if (DP_SPILL_FOLDER != null) {
+            sb.append("Levels of the treewidth dynamic programming are spilled to: ").append(DP_SPILL_FOLDER).append(NL);
+        }
+    }
+
+    private static void addPortfolioInformation(StringBuilder sb) {
+        if (LOWER_BOUND_PORTFOLIO != null) {
+            sb.append("Lower bound portfolio: ").append(getSimpleNames(LOWER_BOUND_PORTFOLIO)).append(NL);
+        }
+        if (UPPER_BOUND_PORTFOLIO != null) {
+            sb.append("Upper bound portfolio: ").append(getSimpleNames(UPPER_BOUND_PORTFOLIO)).append(NL);
+        }
+        if (isPortfolio() && PORTFOLIO_TIMEOUT > 0) {
+            sb.append("Timeout for the portfolio algorithms: ").append(PORTFOLIO_TIMEOUT).append(" seconds").append(NL);
+        }
+    }
+
+    private static String getSimpleNames(List<Class<?>> algorithms) {
+        StringBuilder sb = new StringBuilder();
+        for (Class<?> algorithm : algorithms) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(algorithm.getSimpleName());
+        }
+        return sb.toString();
+    }
+
+    private static void addCacheInformation(StringBuilder sb) {
+        if (CACHE_SIZE > 0) {
+            sb.append("Cache size: ").append(CACHE_SIZE).append(" MB").append(NL);
+        } else {
+            sb.append("Cache is disabled.").append(NL);
+        }
+    }
+
+    private static void addMetricsInformation(StringBuilder sb) {
+        if (METRICS) {
+            sb.append("Metrics file: ").append(getMetricsFile()).append(NL);
+        }
+    }
+
     private static void addObjectiveFunctionInformation(StringBuilder sb) {
         if (OBJ_FUNCTION) {
             sb.append("Objective function is considered.").append(NL);
@@ -55,6 +155,9 @@ public class Configuration {
     private static void addFileInformation(StringBuilder sb) {
         sb.append("Input file: ").append(INPUT_FILE).append(NL);
         sb.append("Output file: ").append(OUTPUT_FILE).append(NL);
+        if (RESUME) {
+            sb.append("Instances already contained in the output file are skipped.").append(NL);
+        }
     }
 
     private static void addDualInformation(StringBuilder sb) {
@@ -100,10 +203,55 @@ public class Configuration {
         }
     }
 
+    public static boolean isConfigured(GraphType graphType) {
+        switch (graphType) {
+            case PRIMAL: return PRIMAL;
+            case INCIDENCE: return INCIDENCE;
+            case DUAL: return DUAL;
+            default: return false;
+        }
+    }
+
+    /**
+     * @return the file next to the output file to which the stage metrics are written as JSON lines
+     */
+    public static String getMetricsFile() {
+        String outputFile = OUTPUT_FILE.endsWith(".csv") ? OUTPUT_FILE.substring(0, OUTPUT_FILE.length() - 4) : OUTPUT_FILE;
+        return outputFile + "_metrics.jsonl";
+    }
+
+    /**
+     * @return whether the treewidth bounds are computed by a BoundPortfolio
+     */
+    public static boolean isPortfolio() {
+        return LOWER_BOUND_PORTFOLIO != null || UPPER_BOUND_PORTFOLIO != null;
+    }
+
+    /**
+     * @return the lower bound algorithms of the portfolio, only LOWER_BOUND_ALG if no lower bound portfolio is set
+     */
+    public static List<Class<?>> getLowerBoundAlgorithms() {
+        return LOWER_BOUND_PORTFOLIO != null ? LOWER_BOUND_PORTFOLIO : Collections.singletonList(LOWER_BOUND_ALG);
+    }
+
+    /**
+     * @return the upper bound algorithms of the portfolio, only UPPER_BOUND_ALG if no upper bound portfolio is set
+     */
+    public static List<Class<?>> getUpperBoundAlgorithms() {
+        return UPPER_BOUND_PORTFOLIO != null ? UPPER_BOUND_PORTFOLIO : Collections.singletonList(UPPER_BOUND_ALG);
+    }
+
+    /**
+     * Sets the upper and lower bound algorithms that were not chosen by the input arguments to the default ones
+     */
     public static void setDefaultAlgorithms() {
         try {
-            Configuration.UPPER_BOUND_ALG = Class.forName(Configuration.DEFAULT_UPPER_BOUND_ALG);
-            Configuration.LOWER_BOUND_ALG = Class.forName(Configuration.DEFAULT_LOWER_BOUND_ALG);
+            if (Configuration.UPPER_BOUND_ALG == null) {
+                Configuration.UPPER_BOUND_ALG = Class.forName(Configuration.DEFAULT_UPPER_BOUND_ALG);
+            }
+            if (Configuration.LOWER_BOUND_ALG == null) {
+                Configuration.LOWER_BOUND_ALG = Class.forName(Configuration.DEFAULT_LOWER_BOUND_ALG);
+            }
         } catch (ClassNotFoundException e) {
             LOGGER.error("", e);
         }
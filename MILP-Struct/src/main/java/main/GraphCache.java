@@ -0,0 +1,293 @@
+package main.java.main;
+
+import main.java.graph.GraphStatistics;
+import main.java.graph.GraphType;
+import main.java.lp.LPStatistics;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of the LP statistics, graph representations, graph statistics and computed structural parameters of (M)ILP
+ * instances. Entries are keyed by the SHA-256 hash of the content of the .mps file together with the graph type and
+ * whether the objective function is considered, so renamed or moved files are found again and changed files are not.
+ * The computed parameters of a graph representation are stored by the name of the parameter and the algorithms
+ * computing it.
+ *
+ * The total size of the entries in the folder is limited, exceeding it deletes the least recently used entries. The
+ * last modified time of an entry is updated when it is read, so it is the time of its last use. The total size is
+ * listed once per folder and then kept up to date by the writes, the folder is only listed again to evict entries.
+ */
+public class GraphCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GraphCache.class);
+
+    private static final String ENTRY_PATTERN = "[0-9a-f]{64}_.*\\.(graph|ser)";
+    private static final Object EVICTION_LOCK = new Object();
+    private static final Map<Path, Long> TOTAL_SIZES = new HashMap<>(); // guarded by EVICTION_LOCK
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path folder;
+    private final long maxSize;
+    private final String fileHash;
+
+    /**
+     * Cache in the graph representations folder with the size of the configuration for the given .mps file. The file
+     * is only hashed if the cache is enabled, i.e. the cache size is positive.
+     */
+    public GraphCache(String filePath) throws IOException {
+        this(Paths.get(Configuration.GRAPH_REPRESENTATIONS_FOLDER), Configuration.CACHE_SIZE * 1024L * 1024L,
+                Configuration.CACHE_SIZE > 0 ? hashFile(Paths.get(filePath)) : null);
+    }
+
+    public GraphCache(Path folder, long maxSize, String fileHash) {
+        this.folder = folder;
+        this.maxSize = maxSize;
+        this.fileHash = fileHash;
+    }
+
+    /**
+     * @return the hexadecimal SHA-256 hash of the content of the file
+     */
+    public static String hashFile(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the key of a computed parameter, consisting of its name and the algorithms computing it
+     */
+    public static String getResultKey(String parameter, Class<?>... algorithms) {
+        StringBuilder sb = new StringBuilder(parameter);
+        for (Class<?> algorithm : algorithms) {
+            sb.append(":").append(algorithm.getName());
+        }
+        return sb.toString();
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public LPStatistics getLPStatistics() {
+        return (LPStatistics) getObject(null, "lp.ser");
+    }
+
+    public void putLPStatistics(LPStatistics lpStatistics) {
+        putObject(null, "lp.ser", lpStatistics);
+    }
+
+    public NGraph<GraphInput.InputData> getGraph(GraphType graphType) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path path = getEntryPath(graphType, "graph.graph");
+        if (Files.notExists(path)) {
+            return null;
+        }
+        NGraph<GraphInput.InputData> graph = Serializer.deserializeGraphFromFile(path.toString());
+        if (graph != null) {
+            touch(path);
+        }
+        return graph;
+    }
+
+    public void putGraph(GraphType graphType, NGraph<GraphInput.InputData> graph) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path path = getEntryPath(graphType, "graph.graph");
+        Path temporaryPath = getTemporaryPath(path);
+        Serializer.serializeGraphToFile(graph, temporaryPath.toString());
+        commit(temporaryPath, path);
+    }
+
+    public GraphStatistics getGraphStatistics(GraphType graphType) {
+        return (GraphStatistics) getObject(graphType, "statistics.ser");
+    }
+
+    public void putGraphStatistics(GraphType graphType, GraphStatistics graphStatistics) {
+        putObject(graphType, "statistics.ser", graphStatistics);
+    }
+
+    /**
+     * @return the computed parameters of the graph representation by their result keys, empty if there are none
+     */
+    @SuppressWarnings("unchecked")
+    public HashMap<String, Integer> getResults(GraphType graphType) {
+        HashMap<String, Integer> results = (HashMap<String, Integer>) getObject(graphType, "results.ser");
+        return results == null ? new HashMap<>() : results;
+    }
+
+    public void putResults(GraphType graphType, HashMap<String, Integer> results) {
+        putObject(graphType, "results.ser", results);
+    }
+
+    private Path getEntryPath(GraphType graphType, String kind) {
+        StringBuilder sb = new StringBuilder(fileHash).append("_");
+        if (graphType != null) {
+            sb.append(graphType).append("_");
+        }
+        if (Configuration.OBJ_FUNCTION) {
+            sb.append("obj_");
+        }
+        return folder.resolve(sb.append(kind).toString());
+    }
+
+    private Object getObject(GraphType graphType, String kind) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path path = getEntryPath(graphType, kind);
+        if (Files.notExists(path)) {
+            return null;
+        }
+        Object object = Serializer.deserializeFromFile(path.toString());
+        if (object != null) {
+            touch(path);
+        }
+        return object;
+    }
+
+    private void putObject(GraphType graphType, String kind, Serializable object) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path path = getEntryPath(graphType, kind);
+        Path temporaryPath = getTemporaryPath(path);
+        Serializer.serializeToFile(object, temporaryPath.toString());
+        commit(temporaryPath, path);
+    }
+
+    /**
+     * Entries are written to a temporary file first, such that concurrent computations never read partial entries
+     */
+    private static Path getTemporaryPath(Path path) {
+        return path.resolveSibling(path.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+    }
+
+    private void commit(Path temporaryPath, Path path) {
+        synchronized (EVICTION_LOCK) {
+            Path key = folder.toAbsolutePath().normalize();
+            try {
+                if (!TOTAL_SIZES.containsKey(key)) {
+                    TOTAL_SIZES.put(key, getSize(listEntries()));
+                }
+                if (Files.exists(temporaryPath)) {
+                    long replacedSize = Files.exists(path) ? Files.size(path) : 0;
+                    Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    TOTAL_SIZES.put(key, TOTAL_SIZES.get(key) + Files.size(path) - replacedSize);
+                }
+                if (TOTAL_SIZES.get(key) > maxSize) {
+                    TOTAL_SIZES.put(key, evict());
+                }
+            } catch (IOException e) {
+                LOGGER.error("IOException when storing cache entry {}: {}", path, e.getMessage());
+                // the total size is listed again at the next write
+                TOTAL_SIZES.remove(key);
+            }
+        }
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOGGER.debug("Cannot update last use of cache entry {}", path);
+        }
+    }
+
+    private List<CacheEntry> listEntries() throws IOException {
+        List<CacheEntry> entries = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(folder)) {
+            for (Path path : paths.filter(p -> p.getFileName().toString().matches(ENTRY_PATTERN))
+                    .collect(Collectors.toList())) {
+                entries.add(new CacheEntry(path, Files.size(path), Files.getLastModifiedTime(path).toMillis()));
+            }
+        }
+        return entries;
+    }
+
+    private static long getSize(List<CacheEntry> entries) {
+        long size = 0;
+        for (CacheEntry entry : entries) {
+            size += entry.size;
+        }
+        return size;
+    }
+
+    /**
+     * Deletes the least recently used entries until the total size of the entries is within the maximum size
+     *
+     * @return the total size of the remaining entries
+     */
+    private long evict() throws IOException {
+        List<CacheEntry> entries = listEntries();
+        long totalSize = getSize(entries);
+
+        entries.sort(Comparator.comparingLong(entry -> entry.lastUse));
+        for (CacheEntry entry : entries) {
+            if (totalSize <= maxSize) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.path);
+                totalSize -= entry.size;
+                LOGGER.debug("Evicted cache entry {}", entry.path);
+            } catch (IOException e) {
+                LOGGER.error("IOException when evicting cache entry {}: {}", entry.path, e.getMessage());
+            }
+        }
+        return totalSize;
+    }
+
+    private static class CacheEntry {
+        private final Path path;
+        private final long size;
+        private final long lastUse;
+
+        CacheEntry(Path path, long size, long lastUse) {
+            this.path = path;
+            this.size = size;
+            this.lastUse = lastUse;
+        }
+    }
+}
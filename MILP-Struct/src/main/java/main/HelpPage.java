@@ -16,7 +16,7 @@ public class HelpPage {
     private static final String DOUBLE_TAB = "\t\t";
 
     private static final String shortHelpMessage = "Usage: " + Configuration.PROGRAM_NAME + " [--help] <inputFile(.mps|.txt)> [-o <outputFile.csv>] " +
-            "(--lb|--ub|--to|--td) -g (<primal>|<incidence>|<dual>) [--obj]";
+            "(--lb|--ub|--to|--td) -g (<primal>|<incidence>|<dual>) [--obj] [-t <numThreads>] [-ct <numThreads>] [--mmap] [--sparse] [--intgraph] [--lbalg <alg>] [--ubalg <degree|fillin|lexbfs|quickbb|dp>] [--dpspill <folder>] [--reduce] [--lbportfolio <algs>] [--ubportfolio <algs>] [--portfoliotime <seconds>] [--cachesize <MB>] [--resume] [--metrics]";
 
     public static String getShortHelpMessage() {
         return shortHelpMessage;
@@ -54,7 +54,12 @@ public class HelpPage {
                 Arrays.asList("", "Arguments", ""),
                 Arrays.asList("", "", Configuration.PROGRAM_NAME + " [--help] <inputFile(.mps|.txt)> "),
                 Arrays.asList("", "", "[-o <outputFile.csv>] (--lb|--ub|--to|--td)"),
-                Arrays.asList("", "", "-g (<primal>|<incidence>|<dual>) [--obj]"),
+                Arrays.asList("", "", "-g (<primal>|<incidence>|<dual>) [--obj] [-t <numThreads>]"),
+                Arrays.asList("", "", "[-ct <numThreads>] [--cachesize <MB>] [--resume] [--metrics]"),
+                Arrays.asList("", "", "[--mmap] [--sparse] [--intgraph] [--reduce] [--lbalg <alg>]"),
+                Arrays.asList("", "", "[--ubalg <degree|fillin|lexbfs|quickbb|dp>] [--dpspill <folder>]"),
+                Arrays.asList("", "", "[--lbportfolio <algs>] [--ubportfolio <algs>]"),
+                Arrays.asList("", "", "[--portfoliotime <seconds>]"),
                 Arrays.asList("", "", ""),
                 Arrays.asList("", "", "--help"),
                 Arrays.asList("", "", DOUBLE_TAB + "Display this help and exit (optional)"),
@@ -66,6 +71,11 @@ public class HelpPage {
                 Arrays.asList("", "", "-o, --output <outputFile.csv>"),
                 Arrays.asList("", "", DOUBLE_TAB + "Path to output file (optional)"),
                 Arrays.asList("", "", DOUBLE_TAB + "Output file must end on .csv as a .csv file is generated."),
+                Arrays.asList("", "", DOUBLE_TAB + "The result of every instance is appended when it is done."),
+                Arrays.asList("", "", "--resume"),
+                Arrays.asList("", "", DOUBLE_TAB + "Keep the existing output file and skip the instances that"),
+                Arrays.asList("", "", DOUBLE_TAB + "already have a row in it, as recorded by their file paths in"),
+                Arrays.asList("", "", DOUBLE_TAB + "<outputFile.csv>.done (optional)"),
                 Arrays.asList("", "", "-lb, --lowerbound"),
                 Arrays.asList("", "", DOUBLE_TAB + "Compute the treewidth lower bound (optional)"),
                 Arrays.asList("", "", "-ub, --upperbound"),
@@ -84,6 +94,66 @@ public class HelpPage {
                 Arrays.asList("", "", DOUBLE_TAB + "Consider objective function (optional), i.e. in "),
                 Arrays.asList("", "", DOUBLE_TAB + "the graph representation computed it is handled "),
                 Arrays.asList("", "", DOUBLE_TAB + "as if it were part of the constraint matrix"),
+                Arrays.asList("", "", "-t, --threads <numThreads>"),
+                Arrays.asList("", "", DOUBLE_TAB + "Number of (M)ILP instances of a .txt input file that are"),
+                Arrays.asList("", "", DOUBLE_TAB + "computed concurrently (optional, default 1). The timeout"),
+                Arrays.asList("", "", DOUBLE_TAB + "applies to every instance separately"),
+                Arrays.asList("", "", "-ct, --componentthreads <numThreads>"),
+                Arrays.asList("", "", DOUBLE_TAB + "Number of threads computing the treewidth bounds of the"),
+                Arrays.asList("", "", DOUBLE_TAB + "connected components of a graph and generating the graph"),
+                Arrays.asList("", "", DOUBLE_TAB + "representations of an instance (optional, default number"),
+                Arrays.asList("", "", DOUBLE_TAB + "of processors)"),
+                Arrays.asList("", "", "--mmap"),
+                Arrays.asList("", "", DOUBLE_TAB + "Parse the .mps files memory-mapped (optional), faster"),
+                Arrays.asList("", "", DOUBLE_TAB + "for large instances and results in the same (M)ILP"),
+                Arrays.asList("", "", "--sparse"),
+                Arrays.asList("", "", DOUBLE_TAB + "Store the (M)ILP additionally as compressed sparse matrix"),
+                Arrays.asList("", "", DOUBLE_TAB + "(optional), statistics and the incidence and dual graph"),
+                Arrays.asList("", "", DOUBLE_TAB + "are computed from it"),
+                Arrays.asList("", "", "--intgraph"),
+                Arrays.asList("", "", DOUBLE_TAB + "Compute the treewidth bounds on graphs with int-array"),
+                Arrays.asList("", "", DOUBLE_TAB + "adjacency (optional), faster for large graphs and results"),
+                Arrays.asList("", "", DOUBLE_TAB + "in the same bounds"),
+                Arrays.asList("", "", "--lbalg (<mmd+>|<mmd>|<minor>|<mcs>|<rama>|<allmmd+>|<allminor>|<allmcs>)"),
+                Arrays.asList("", "", DOUBLE_TAB + "Heuristic for the treewidth lower bound (optional), MMD+"),
+                Arrays.asList("", "", DOUBLE_TAB + "least-c (default), MMD, minor-min-width, MCS,"),
+                Arrays.asList("", "", DOUBLE_TAB + "Ramachandramurthi or the all-start variants of MMD+"),
+                Arrays.asList("", "", DOUBLE_TAB + "least-c, minor-min-width and MCS, which are run by the"),
+                Arrays.asList("", "", DOUBLE_TAB + "component threads"),
+                Arrays.asList("", "", "--ubalg (<degree>|<fillin>|<lexbfs>|<quickbb>|<dp>)"),
+                Arrays.asList("", "", DOUBLE_TAB + "Heuristic for the treewidth upper bound (optional), greedy"),
+                Arrays.asList("", "", DOUBLE_TAB + "minimum degree (default), greedy minimum fill-in, all-start"),
+                Arrays.asList("", "", DOUBLE_TAB + "LexBFS, the branch and bound QuickBB or the dynamic"),
+                Arrays.asList("", "", DOUBLE_TAB + "programming TreewidthDP. The last two are exact unless"),
+                Arrays.asList("", "", DOUBLE_TAB + "they time out, the last three are run by the component"),
+                Arrays.asList("", "", DOUBLE_TAB + "threads"),
+                Arrays.asList("", "", "--dpspill <folder>"),
+                Arrays.asList("", "", DOUBLE_TAB + "Write the finished levels of the dynamic programming to"),
+                Arrays.asList("", "", DOUBLE_TAB + "memory-mapped files in the folder (optional), instead of"),
+                Arrays.asList("", "", DOUBLE_TAB + "keeping them on the heap"),
+                Arrays.asList("", "", "--reduce"),
+                Arrays.asList("", "", DOUBLE_TAB + "Remove islet, twig, series, simplicial and almost"),
+                Arrays.asList("", "", DOUBLE_TAB + "simplicial vertices before the treewidth bounds are"),
+                Arrays.asList("", "", DOUBLE_TAB + "computed (optional), the removed vertices are logged"),
+                Arrays.asList("", "", "--lbportfolio <mmd+,mmd,minor,mcs,rama,allmmd+,allminor,allmcs>"),
+                Arrays.asList("", "", DOUBLE_TAB + "Comma-separated lower bound heuristics that are run"),
+                Arrays.asList("", "", DOUBLE_TAB + "concurrently (optional), the best bound is kept and the"),
+                Arrays.asList("", "", DOUBLE_TAB + "result and time of every heuristic are logged"),
+                Arrays.asList("", "", "--ubportfolio <degree,fillin,lexbfs,quickbb,dp>"),
+                Arrays.asList("", "", DOUBLE_TAB + "Comma-separated upper bound heuristics that are run"),
+                Arrays.asList("", "", DOUBLE_TAB + "concurrently (optional). The portfolio stops as soon as"),
+                Arrays.asList("", "", DOUBLE_TAB + "the lower bound equals the upper bound"),
+                Arrays.asList("", "", "--portfoliotime <seconds>"),
+                Arrays.asList("", "", DOUBLE_TAB + "Interrupt the portfolio heuristics that are not finished"),
+                Arrays.asList("", "", DOUBLE_TAB + "after the given seconds (optional, default 0 for none)"),
+                Arrays.asList("", "", "--cachesize <MB>"),
+                Arrays.asList("", "", DOUBLE_TAB + "Maximum size of the cache of graphs and computed"),
+                Arrays.asList("", "", DOUBLE_TAB + "parameters in ./graphs/ (optional, default 1024), the"),
+                Arrays.asList("", "", DOUBLE_TAB + "least recently used entries are evicted. 0 disables it"),
+                Arrays.asList("", "", "--metrics"),
+                Arrays.asList("", "", DOUBLE_TAB + "Add wall time, CPU time and allocated memory of every stage"),
+                Arrays.asList("", "", DOUBLE_TAB + "as columns (optional) and write them to the file"),
+                Arrays.asList("", "", DOUBLE_TAB + "<outputFile>_metrics.jsonl, also for timed out instances"),
                 Arrays.asList("", "", "One of --lb, --ub, --to, --td must be specified. "),
                 Arrays.asList("", "", "Increasing the stack and/or heap size of the Java VM may be necessary. "),
                 Arrays.asList("", "", ""),
@@ -92,6 +162,7 @@ public class HelpPage {
                 Arrays.asList("", "", Configuration.PROGRAM_NAME + " inputFile.txt -o outputFile.csv -g p --ub"),
                 Arrays.asList("", "", Configuration.PROGRAM_NAME + " inputFile.txt -g primal --to --obj"),
                 Arrays.asList("", "", Configuration.PROGRAM_NAME + " inputFile.txt -g primal incidence --td --to"),
+                Arrays.asList("", "", Configuration.PROGRAM_NAME + " inputFile.txt -g primal --lb --ub -t 8"),
                 Arrays.asList("", "", ""),
                 Arrays.asList("", "Example Windows", ""),
                 Arrays.asList("", "", "java -Xss256m -Xmx4g -jar " + Configuration.PROGRAM_NAME + ".jar inputFile.txt -g p --lb")
@@ -0,0 +1,259 @@
+package main.java.main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A task of the fork-join pool of Configuration.COMPONENT_THREADS threads, which is shared by all structural
+ * parameter computations, e.g. for the components of a graph or the graph representations of one instance.
+ *
+ * A task remembers the worker thread it runs on, such that it can be interrupted, and clears the interrupted status
+ * of the worker thread before it is used for the next task. Interrupting a task also interrupts the tasks it computes
+ * with computeAll itself. A task counts as stopped once its computation returned, or once it was interrupted before
+ * its computation started. The CPU time and allocations of the worker thread are added to the stage of the submitting thread.
+ */
+public class InterruptibleTask<T> extends RecursiveTask<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<InterruptibleTask<?>> CURRENT_TASK = new ThreadLocal<>();
+
+    private static ForkJoinPool sharedPool = null;
+
+    private final Computation<T> computation;
+    private final StageMetrics.Stage stage = StageMetrics.getCurrentStage();
+    private final Thread submitter = Thread.currentThread();
+    private final Object lock = new Object();
+    private final List<InterruptibleTask<?>> subtasks = new ArrayList<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private Thread runner = null;
+    private boolean started = false;
+    private boolean interrupted = false;
+    private boolean computed = false;
+    private T computedResult = null;
+    private BlockingQueue<InterruptibleTask<?>> finishedTasks = null;
+
+    public InterruptibleTask(Computation<T> computation) {
+        this.computation = computation;
+    }
+
+    public interface Computation<T> {
+        T compute() throws InterruptedException;
+    }
+
+    /**
+     * Runs the tasks on the shared pool and waits for all of them. If the calling thread is interrupted, e.g. due to
+     * the timeout of the instance, or one of the tasks fails, all tasks are interrupted.
+     *
+     * @return the results in the order of the tasks
+     */
+    public static <T> List<T> computeAll(List<? extends InterruptibleTask<T>> tasks) throws InterruptedException {
+        InterruptibleTask<?> parent = CURRENT_TASK.get();
+        if (parent != null) {
+            parent.addSubtasks(tasks);
+        }
+        ForkJoinPool pool = getSharedPool();
+        for (InterruptibleTask<T> task : tasks) {
+            pool.execute(task);
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (InterruptibleTask<T> task : tasks) {
+                results.add(getResult(task, tasks));
+            }
+        } finally {
+            if (parent != null) {
+                parent.removeSubtasks(tasks);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the tasks on the shared pool like computeAll, but passes every result to the listener as soon as its task
+     * is finished. The remaining tasks are interrupted once the listener returns true or timeout nanoseconds have
+     * passed, if timeout is positive, and waited for until they stopped. The tasks that still return a result after
+     * they were interrupted, e.g. the best bound found so far, pass it to the listener then as well.
+     *
+     * @return the results in the order of the tasks, null for the tasks that were interrupted without a result
+     */
+    public static <T> List<T> computeUntil(List<? extends InterruptibleTask<T>> tasks, long timeout, ResultListener<T> listener) throws InterruptedException {
+        InterruptibleTask<?> parent = CURRENT_TASK.get();
+        if (parent != null) {
+            parent.addSubtasks(tasks);
+        }
+        BlockingQueue<InterruptibleTask<?>> finishedTasks = new LinkedBlockingQueue<>();
+        ForkJoinPool pool = getSharedPool();
+        for (InterruptibleTask<T> task : tasks) {
+            task.finishedTasks = finishedTasks;
+            pool.execute(task);
+        }
+        long deadline = System.nanoTime() + timeout;
+        List<T> results = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+        boolean[] reported = new boolean[tasks.size()];
+        try {
+            for (int numFinished = 0; numFinished < tasks.size(); numFinished++) {
+                InterruptibleTask<?> finishedTask = timeout > 0
+                        ? finishedTasks.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) : finishedTasks.take();
+                if (finishedTask == null) {
+                    break;
+                }
+                int index = tasks.indexOf(finishedTask);
+                T result = getResult(tasks.get(index), tasks);
+                results.set(index, result);
+                reported[index] = true;
+                if (listener.finished(index, result)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            interruptAll(tasks);
+            throw e;
+        } finally {
+            if (parent != null) {
+                parent.removeSubtasks(tasks);
+            }
+        }
+        // the interrupted tasks release the pool and their memory before the caller continues; a cancelled task counts
+        // as done for the pool at once, so the stop of its computation is waited for instead
+        interruptAll(tasks);
+        for (InterruptibleTask<T> task : tasks) {
+            task.stopped.await();
+        }
+        for (int index = 0; index < tasks.size(); index++) {
+            InterruptibleTask<T> task = tasks.get(index);
+            if (!reported[index] && task.computed) {
+                results.set(index, task.computedResult);
+                listener.finished(index, task.computedResult);
+            }
+        }
+        return results;
+    }
+
+    public interface ResultListener<T> {
+        /**
+         * @return whether the results of the remaining tasks are not needed anymore
+         */
+        boolean finished(int task, T result);
+    }
+
+    private static <T> T getResult(InterruptibleTask<T> task, List<? extends InterruptibleTask<?>> tasks) throws InterruptedException {
+        try {
+            return task.get();
+        } catch (InterruptedException | CancellationException e) {
+            interruptAll(tasks);
+            throw new InterruptedException();
+        } catch (ExecutionException e) {
+            interruptAll(tasks);
+            if (e.getCause() instanceof CancellationException) {
+                throw new InterruptedException();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static synchronized ForkJoinPool getSharedPool() {
+        if (sharedPool == null) {
+            // asynchronous mode: the submitted tasks are taken in FIFO order, e.g. the largest components first
+            sharedPool = new ForkJoinPool(Configuration.COMPONENT_THREADS,
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        }
+        return sharedPool;
+    }
+
+    private static void interruptAll(List<? extends InterruptibleTask<?>> tasks) {
+        for (InterruptibleTask<?> task : tasks) {
+            task.interrupt();
+        }
+    }
+
+    @Override
+    protected T compute() {
+        synchronized (lock) {
+            if (interrupted) {
+                throw new CancellationException();
+            }
+            started = true;
+            runner = Thread.currentThread();
+        }
+        // the submitting thread may run the task itself while waiting for it, then its stage measures it already
+        boolean measure = stage != null && runner != submitter;
+        long cpuTime = measure ? StageMetrics.getCurrentThreadCpuTime() : 0;
+        long allocatedBytes = measure ? StageMetrics.getCurrentThreadAllocatedBytes() : 0;
+        InterruptibleTask<?> previousTask = CURRENT_TASK.get();
+        CURRENT_TASK.set(this);
+        StageMetrics.Stage previousStage = StageMetrics.setCurrentStage(stage);
+        try {
+            T result = computation.compute();
+            // cancel marks an interrupted task as done at once, so its result can only be taken from here
+            computedResult = result;
+            computed = true;
+            return result;
+        } catch (InterruptedException e) {
+            throw new CancellationException();
+        } finally {
+            CURRENT_TASK.set(previousTask);
+            StageMetrics.setCurrentStage(previousStage);
+            if (measure) {
+                stage.addUsage(StageMetrics.getCurrentThreadCpuTime() - cpuTime,
+                        StageMetrics.getCurrentThreadAllocatedBytes() - allocatedBytes);
+            }
+            synchronized (lock) {
+                runner = null;
+                // the interrupted status of the submitting thread belongs to the submitting thread
+                if (Thread.currentThread() != submitter) {
+                    Thread.interrupted();
+                }
+            }
+            stopped.countDown();
+            if (finishedTasks != null) {
+                finishedTasks.offer(this);
+            }
+        }
+    }
+
+    void interrupt() {
+        synchronized (lock) {
+            interrupted = true;
+            if (runner != null) {
+                runner.interrupt();
+            }
+            interruptAll(subtasks);
+            // a task that did not start yet never runs its computation
+            if (!started) {
+                stopped.countDown();
+            }
+        }
+        cancel(false);
+    }
+
+    private void addSubtasks(List<? extends InterruptibleTask<?>> tasks) {
+        synchronized (lock) {
+            subtasks.addAll(tasks);
+            if (interrupted) {
+                interruptAll(tasks);
+            }
+        }
+    }
+
+    private void removeSubtasks(List<? extends InterruptibleTask<?>> tasks) {
+        synchronized (lock) {
+            subtasks.removeAll(tasks);
+        }
+    }
+}
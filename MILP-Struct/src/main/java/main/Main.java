@@ -7,10 +7,7 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.concurrent.*;
 
 /**
  * This program is used for analyzing structural parameters of graphical representations of (M)ILP instances.
@@ -49,69 +46,45 @@ public class Main {
         InputParser.parseArguments(args);
         Configuration.setDefaultAlgorithms();
         List<String> filePaths = getFilePathsForComputation();
-        StringBuilder sb = computeStructuralParametersForFiles(filePaths);
-        writeStatisticsToOutputFile(sb);
+        computeStructuralParametersForFiles(filePaths);
     }
 
-    private static void writeStatisticsToOutputFile(StringBuilder sb) {
-        try{
-            PrintWriter writer = new PrintWriter(Configuration.OUTPUT_FILE, "UTF-8");
-            writer.print(sb.toString());
-            writer.close();
-        } catch (IOException e) {
-            LOGGER.error("Error writing statistics to output file {}", Configuration.OUTPUT_FILE, e);
-        }
-    }
-
-    private static StringBuilder computeStructuralParametersForFiles(List<String> filePaths) {
-        StringBuilder sb = appendHeader();
-        ThreadExecutor threadExecutor = new ThreadExecutor();
-
+    private static void computeStructuralParametersForFiles(List<String> filePaths) throws IOException {
+        ResultWriter resultWriter = new ResultWriter(Configuration.OUTPUT_FILE, createHeader(), Configuration.RESUME);
+        List<String> filePathsToCompute = new ArrayList<>();
         for (String fileName : filePaths) {
-            String resultString = invokeTask(threadExecutor, fileName);
-            if (resultString != null) {
-                sb.append(resultString);
+            if (Configuration.RESUME && resultWriter.hasRow(fileName)) {
+                LOGGER.info("Skip {} as the output file already contains it", fileName);
+            } else {
+                filePathsToCompute.add(fileName);
             }
         }
-        LOGGER.info("Finished with structural parameters computation");
-        threadExecutor.shutdown();
-        return sb;
-    }
+        resultWriter.start(filePathsToCompute.size());
+        ThreadExecutor threadExecutor = new ThreadExecutor(Configuration.NUM_THREADS);
 
-    private static String invokeTask(ThreadExecutor executor, String fileName) {
-        String resultString;
-        LOGGER.info("Start structural parameters computation for {}", fileName);
-        try {
-            // invoke all waits until all tasks are finished (= terminated or had an error)
-            List<Future<String>> result = executor.startStructuralParameterComputation(fileName);
+        // all instances are queued at once, the worker pool runs up to Configuration.NUM_THREADS of them concurrently
+        // and the results are written in the order in which the computations finish
+        for (String fileName : filePathsToCompute) {
+            LOGGER.info("Queue structural parameters computation for {}", fileName);
+            threadExecutor.submitStructuralParameterComputation(fileName, result -> resultWriter.add(fileName, result));
+        }
 
-            if (result.get(0).isCancelled()) {
-                // task finished by cancellation (seconds exceeded)
-                LOGGER.warn("{} was cancelled", fileName);
-                resultString = fileName + ";no result;" + LINE_SEPARATOR;
-            } else {
-                resultString = result.get(0).get();
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            if (e.getCause().getClass().equals(StackOverflowError.class)) {
-                LOGGER.debug("StackOverflowError for {} occurred " , fileName, e);
-                LOGGER.error("StackOverflowError occurred. Try to increase the maximum stack size with VM option -Xss, for example \"java -Xss256m -Xmx4g -jar " + Configuration.PROGRAM_NAME + ".jar ... \"");
-            } else if (e.getCause().getClass().equals(OutOfMemoryError.class)) {
-                LOGGER.debug("OutOfMemoryError for {} occurred " , fileName, e);
-                LOGGER.error("OutOfMemoryError occurred. Try to increase the maximum heap size with VM option -Xmx, for example \"java -Xss256m -Xmx4g -jar " + Configuration.PROGRAM_NAME + ".jar ... \"");
-            } else {
-                LOGGER.error("Error for {} occured " , fileName, e);
-            }
-            resultString = fileName + ";no result;" + LINE_SEPARATOR;
+        try {
+            resultWriter.awaitTermination();
+        } catch (IOException e) {
+            LOGGER.error("Error writing statistics to output file {}", Configuration.OUTPUT_FILE, e);
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted Exception", e);
         }
-        return resultString;
+        LOGGER.info("Finished with structural parameters computation");
+        threadExecutor.shutdown();
     }
 
-    private static StringBuilder appendHeader() {
+    private static String createHeader() {
         StringBuilder sb = new StringBuilder();
         sb.append("Timeout for one MILP instance: ").append(Configuration.TIMEOUT).append("s").append(LINE_SEPARATOR);
         sb.append(LPStatisticsFormatter.csvFormatHeader());
-        return sb;
+        return sb.toString();
     }
 
     private static List<String> getFilePathsForComputation() throws IOException {
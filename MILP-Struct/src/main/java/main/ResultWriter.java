@@ -0,0 +1,176 @@
+package main.java.main;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Writes the results of the structural parameter computations to the output file as soon as they are finished.
+ * Finished computations are queued and a single writer thread appends their rows and flushes them to disk, so a
+ * cancelled or crashed run keeps the results of all finished instances.
+ *
+ * The file paths of the instances whose rows are written are appended to the file <outputFile>.done. In resume mode
+ * the rows of an existing output file are kept and the instances whose file path is in this file can be skipped, so
+ * different files with the same name in the MPS file are told apart. A last row or file path that was only partially
+ * written is removed.
+ */
+public class ResultWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultWriter.class);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Path outputFile;
+    private final Path doneFile;
+    private final Set<String> existingRows = new HashSet<>();
+    private final BlockingQueue<FinishedComputation> finishedComputations = new LinkedBlockingQueue<>();
+    private Thread writerThread = null;
+    private IOException writeException = null;
+
+    /**
+     * Creates the output file with the header, or keeps the existing rows in resume mode
+     */
+    public ResultWriter(String outputFile, String header, boolean resume) throws IOException {
+        this.outputFile = Paths.get(outputFile);
+        this.doneFile = Paths.get(outputFile + ".done");
+        if (resume && Files.exists(this.outputFile) && Files.size(this.outputFile) > 0) {
+            removePartialRow(this.outputFile);
+            if (Files.exists(doneFile)) {
+                removePartialRow(doneFile);
+                existingRows.addAll(Files.readAllLines(doneFile, StandardCharsets.UTF_8));
+            }
+            LOGGER.info("Resuming {} with {} existing rows", outputFile, existingRows.size());
+        } else {
+            try (Writer writer = Files.newBufferedWriter(this.outputFile, StandardCharsets.UTF_8)) {
+                writer.write(header);
+            }
+            Files.deleteIfExists(doneFile);
+        }
+    }
+
+    private static void removePartialRow(Path outputFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(outputFile.toFile(), "rw")) {
+            long length = file.length();
+            while (length > 0) {
+                file.seek(length - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                length--;
+            }
+            if (length < file.length()) {
+                LOGGER.warn("Removing partially written row at the end of {}", outputFile);
+                file.setLength(length);
+            }
+        }
+    }
+
+    /**
+     * @return whether the output file already has a row for the (M)ILP instance, identified by its absolute file path
+     */
+    public boolean hasRow(String filePath) {
+        return existingRows.contains(getDonePath(filePath));
+    }
+
+    private static String getDonePath(String filePath) {
+        return Paths.get(filePath.trim()).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Starts the writer thread, which terminates after it has written numResults results
+     */
+    public void start(int numResults) {
+        writerThread = new Thread(() -> writeResults(numResults), "ResultWriter");
+        writerThread.start();
+    }
+
+    /**
+     * Queues the finished computation of the instance filePath to be written
+     */
+    public void add(String filePath, Future<String> result) {
+        finishedComputations.add(new FinishedComputation(filePath, result));
+    }
+
+    /**
+     * Waits until the writer thread has written all results
+     */
+    public void awaitTermination() throws IOException, InterruptedException {
+        writerThread.join();
+        if (writeException != null) {
+            throw writeException;
+        }
+    }
+
+    private void writeResults(int numResults) {
+        try (FileOutputStream fileOut = new FileOutputStream(outputFile.toFile(), true);
+             Writer writer = new OutputStreamWriter(fileOut, StandardCharsets.UTF_8);
+             FileOutputStream doneOut = new FileOutputStream(doneFile.toFile(), true);
+             Writer doneWriter = new OutputStreamWriter(doneOut, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < numResults; i++) {
+                FinishedComputation finishedComputation = finishedComputations.take();
+                writer.write(getResult(finishedComputation.result, finishedComputation.filePath));
+                writer.flush();
+                fileOut.getFD().sync();
+                // recorded after the row is on disk, so a crash in between computes the instance again instead of
+                // losing its row
+                doneWriter.write(getDonePath(finishedComputation.filePath) + "\n");
+                doneWriter.flush();
+                doneOut.getFD().sync();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error writing statistics to output file {}", outputFile, e);
+            writeException = e;
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted Exception", e);
+        }
+    }
+
+    private static String getResult(Future<String> result, String fileName) {
+        String resultString;
+        try {
+            // the task is finished (= terminated, cancelled or had an error), so get() does not block
+            resultString = result.get();
+        } catch (CancellationException e) {
+            // task finished by cancellation (seconds exceeded)
+            LOGGER.warn("{} was cancelled", fileName);
+            resultString = fileName + ";no result;" + LINE_SEPARATOR;
+        } catch (InterruptedException | ExecutionException e) {
+            if (e.getCause() != null && e.getCause().getClass().equals(StackOverflowError.class)) {
+                LOGGER.debug("StackOverflowError for {} occurred " , fileName, e);
+                LOGGER.error("StackOverflowError occurred. Try to increase the maximum stack size with VM option -Xss, for example \"java -Xss256m -Xmx4g -jar " + Configuration.PROGRAM_NAME + ".jar ... \"");
+            } else if (e.getCause() != null && e.getCause().getClass().equals(OutOfMemoryError.class)) {
+                LOGGER.debug("OutOfMemoryError for {} occurred " , fileName, e);
+                LOGGER.error("OutOfMemoryError occurred. Try to increase the maximum heap size with VM option -Xmx, for example \"java -Xss256m -Xmx4g -jar " + Configuration.PROGRAM_NAME + ".jar ... \"");
+            } else {
+                LOGGER.error("Error for {} occured " , fileName, e);
+            }
+            resultString = fileName + ";no result;" + LINE_SEPARATOR;
+        }
+        return resultString;
+    }
+
+    private static class FinishedComputation {
+        private final String filePath;
+        private final Future<String> result;
+
+        FinishedComputation(String filePath, Future<String> result) {
+            this.filePath = filePath;
+            this.result = result;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package main.java.main;
 
-import main.java.graph.GraphType;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,16 +12,6 @@ import java.nio.file.Paths;
 public class Serializer {
     private static final Logger LOGGER = LoggerFactory.getLogger(Serializer.class);
 
-    public static String getDefaultGraphPath(String fileName, GraphType graphType) {
-        return Configuration.GRAPH_REPRESENTATIONS_FOLDER + fileName + "_" + graphType
-                + (Configuration.OBJ_FUNCTION ? "_obj" : "" ) + ".ser";
-    }
-
-    public static String getDefaultStatisticsPath(String fileName, GraphType graphType) {
-        return Configuration.GRAPH_REPRESENTATIONS_FOLDER + fileName + "_" + graphType
-                + (Configuration.OBJ_FUNCTION ? "_obj" : "" ) + "_statistics.ser";
-    }
-
     public static void serializeToFile(Object object, String filePath) {
         try {
             createDirectoriesToFilePath(filePath);
@@ -34,6 +25,34 @@ public class Serializer {
         }
     }
 
+    /**
+     * Writes the graph in the BinaryGraphFormat
+     */
+    public static void serializeGraphToFile(NGraph<GraphInput.InputData> graph, String filePath) {
+        try {
+            createDirectoriesToFilePath(filePath);
+            BinaryGraphFormat.write(graph, Paths.get(filePath));
+        } catch (IOException e) {
+            LOGGER.error(e.toString());
+        }
+    }
+
+    /**
+     * @return the graph read from a file in the BinaryGraphFormat or null if there is none or it cannot be read
+     */
+    public static NGraph<GraphInput.InputData> deserializeGraphFromFile(String filePath) {
+        if (Files.notExists(Paths.get(filePath))) {
+            LOGGER.debug("No serialization exists for {}", filePath);
+            return null;
+        }
+        try {
+            return BinaryGraphFormat.read(Paths.get(filePath));
+        } catch (IOException e) {
+            LOGGER.error("IOException when deserializing {}: {}", filePath, e.getMessage());
+            return null;
+        }
+    }
+
     private static void createDirectoriesToFilePath(String filePath) {
         int lastFolderIndex = Math.max(filePath.lastIndexOf("/"), filePath.lastIndexOf("\\"));
         File directories = new File(filePath.substring(0, lastFolderIndex));
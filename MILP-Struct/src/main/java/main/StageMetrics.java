@@ -0,0 +1,272 @@
+package main.java.main;
+
+import main.java.graph.GraphType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wall time, CPU time and allocated bytes of the stages of the structural parameters computation of one (M)ILP
+ * instance, measured with the ThreadMXBean. CPU time and allocations are those of the thread measuring the stage plus
+ * those of the InterruptibleTasks, e.g. of the components in the TreeWidthWrapper, which add their usage to the stage
+ * that is current in the thread submitting them.
+ *
+ * The stages are the parsing, the cache accesses and, per graph type, the generation of the NGraph with its graph
+ * statistics, the graph reduction and the computed parameters, where the treewidth bounds of a portfolio are one
+ * stage. A stage that is started several times accumulates.
+ */
+public class StageMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StageMetrics.class);
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final ThreadLocal<Stage> CURRENT_STAGE = new ThreadLocal<>();
+    private static final Object METRICS_FILE_LOCK = new Object();
+
+    public static final String PARSE = "parse";
+    public static final String CACHE = "cache";
+    public static final String GENERATE = "generate";
+    public static final String REDUCE = "reduce";
+    public static final String TW_LB = "tw_lb";
+    public static final String TW_UB = "tw_ub";
+    public static final String PORTFOLIO = "tw_portfolio";
+    public static final String TORSO_WIDTH = "torso";
+    public static final String TREE_DEPTH = "td";
+
+    static {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            if (threadMXBean.isThreadAllocatedMemorySupported() && !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+    }
+
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    /**
+     * @return the names of the stages for the configured graph types and parameters, in the order of the CSV columns
+     */
+    public static List<String> getStageNames() {
+        List<String> stageNames = new ArrayList<>();
+        stageNames.add(PARSE);
+        stageNames.add(CACHE);
+        for (GraphType graphType : GraphType.values()) {
+            if (!Configuration.isConfigured(graphType)) {
+                continue;
+            }
+            stageNames.add(getStageName(graphType, GENERATE));
+            if (Configuration.REDUCTION && (Configuration.LOWER_BOUND || Configuration.UPPER_BOUND)) {
+                stageNames.add(getStageName(graphType, REDUCE));
+            }
+            if (Configuration.isPortfolio() && (Configuration.LOWER_BOUND || Configuration.UPPER_BOUND)) {
+                stageNames.add(getStageName(graphType, PORTFOLIO));
+            } else {
+                if (Configuration.LOWER_BOUND) {
+                    stageNames.add(getStageName(graphType, TW_LB));
+                }
+                if (Configuration.UPPER_BOUND) {
+                    stageNames.add(getStageName(graphType, TW_UB));
+                }
+            }
+            if (graphType == GraphType.PRIMAL && Configuration.TORSO_WIDTH) {
+                stageNames.add(getStageName(graphType, TORSO_WIDTH));
+            }
+            if (graphType == GraphType.PRIMAL && Configuration.TREE_DEPTH) {
+                stageNames.add(getStageName(graphType, TREE_DEPTH));
+            }
+        }
+        return stageNames;
+    }
+
+    public static String getStageName(GraphType graphType, String stage) {
+        return graphType + "_" + stage;
+    }
+
+    /**
+     * @return the stage that is current in the calling thread, null if there is none
+     */
+    public static Stage getCurrentStage() {
+        return CURRENT_STAGE.get();
+    }
+
+    /**
+     * Sets the stage that is current in the calling thread, e.g. for an InterruptibleTask such that the tasks it
+     * submits itself add their usage to the same stage
+     *
+     * @return the stage that was current before
+     */
+    static Stage setCurrentStage(Stage stage) {
+        Stage previousStage = CURRENT_STAGE.get();
+        CURRENT_STAGE.set(stage);
+        return previousStage;
+    }
+
+    public static long getCurrentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    public static long getCurrentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            long allocatedBytes = ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+            return Math.max(allocatedBytes, 0);
+        }
+        return 0;
+    }
+
+    /**
+     * Starts measuring the stage in the calling thread, which has to stop it again. Different stages may be measured
+     * by different threads concurrently, e.g. the generation of the graph representations.
+     */
+    public synchronized Stage start(String stageName) {
+        Stage stage = stages.computeIfAbsent(stageName, Stage::new);
+        stage.start();
+        return stage;
+    }
+
+    public synchronized Stage getStage(String stageName) {
+        return stages.get(stageName);
+    }
+
+    public static String csvFormatHeader() {
+        StringBuilder sb = new StringBuilder();
+        for (String stageName : getStageNames()) {
+            sb.append(stageName).append("_wall_ms;");
+            sb.append(stageName).append("_cpu_ms;");
+            sb.append(stageName).append("_alloc_mb;");
+        }
+        return sb.toString();
+    }
+
+    public synchronized String csvFormat() {
+        StringBuilder sb = new StringBuilder();
+        for (String stageName : getStageNames()) {
+            Stage stage = stages.get(stageName);
+            if (stage == null) {
+                sb.append("0;0;0;");
+            } else {
+                sb.append(stage.getWallTime() / 1000000).append(";");
+                sb.append(stage.getCpuTime() / 1000000).append(";");
+                sb.append(stage.getAllocatedBytes() / (1024 * 1024)).append(";");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the metrics as one JSON object per line to the metrics file
+     */
+    public void appendToFile(Path metricsFile, String filePath, boolean finished, long totalWallTime) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"instance\":\"").append(escape(filePath)).append("\",");
+        sb.append("\"finished\":").append(finished).append(",");
+        sb.append("\"wallMs\":").append(totalWallTime).append(",");
+        sb.append("\"stages\":[");
+        boolean first = true;
+        for (Stage stage : getStages()) {
+            if (!first) {
+                sb.append(",");
+            }
+            first = false;
+            sb.append("{\"stage\":\"").append(escape(stage.name)).append("\",");
+            sb.append("\"wallMs\":").append(stage.getWallTime() / 1000000).append(",");
+            sb.append("\"cpuMs\":").append(stage.getCpuTime() / 1000000).append(",");
+            sb.append("\"allocatedBytes\":").append(stage.getAllocatedBytes()).append("}");
+        }
+        sb.append("]}").append(System.lineSeparator());
+
+        synchronized (METRICS_FILE_LOCK) {
+            try {
+                Files.write(metricsFile, sb.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                LOGGER.error("Error writing metrics to {}", metricsFile, e);
+            }
+        }
+    }
+
+    private synchronized List<Stage> getStages() {
+        return new ArrayList<>(stages.values());
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The accumulated usage of one stage. The usage of other threads is added with addUsage.
+     */
+    public static class Stage {
+        private final String name;
+        private long wallTime = 0;
+        private long cpuTime = 0;
+        private long allocatedBytes = 0;
+        private final AtomicLong otherThreadsCpuTime = new AtomicLong();
+        private final AtomicLong otherThreadsAllocatedBytes = new AtomicLong();
+
+        private long startWallTime;
+        private long startCpuTime;
+        private long startAllocatedBytes;
+        private Stage previousStage;
+
+        private Stage(String name) {
+            this.name = name;
+        }
+
+        private void start() {
+            previousStage = CURRENT_STAGE.get();
+            CURRENT_STAGE.set(this);
+            startWallTime = System.nanoTime();
+            startCpuTime = getCurrentThreadCpuTime();
+            startAllocatedBytes = getCurrentThreadAllocatedBytes();
+        }
+
+        public void stop() {
+            wallTime += System.nanoTime() - startWallTime;
+            cpuTime += getCurrentThreadCpuTime() - startCpuTime;
+            allocatedBytes += getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+            CURRENT_STAGE.set(previousStage);
+        }
+
+        /**
+         * Adds the CPU time and allocations of another thread working for this stage
+         */
+        public void addUsage(long cpuTime, long allocatedBytes) {
+            otherThreadsCpuTime.addAndGet(cpuTime);
+            otherThreadsAllocatedBytes.addAndGet(allocatedBytes);
+        }
+
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        public long getCpuTime() {
+            return cpuTime + otherThreadsCpuTime.get();
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes + otherThreadsAllocatedBytes.get();
+        }
+    }
+}
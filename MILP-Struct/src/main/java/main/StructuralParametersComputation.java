@@ -1,6 +1,9 @@
 package main.java.main;
 
 import main.java.graph.*;
+import main.java.algo.BoundPortfolio;
+import main.java.algo.GraphReduction;
+import main.java.algo.ParallelAllStart;
 import main.java.algo.TorsoWidth;
 import main.java.algo.TreeDepth;
 import main.java.algo.TreeWidthWrapper;
@@ -14,11 +17,19 @@ import nl.uu.cs.treewidth.ngraph.NGraph;
 import nl.uu.cs.treewidth.timing.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import sun.security.krb5.Config;
 
 import java.io.IOException;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 /**
  * The structural parameter computation for one (M)ILP instance. It returns a String containing the results
@@ -32,13 +43,17 @@ public class StructuralParametersComputation extends ThreadExecutor implements C
     private String filePath;
     private String fileName;
     private StringBuilder sb = new StringBuilder();
-    private static final Stopwatch t = new Stopwatch();
-    private static final Stopwatch totalTimer = new Stopwatch();
-    private NGraph<GraphInput.InputData> gPrimal = null, gIncidence = null, gDual = null;
+    private final Stopwatch totalTimer = new Stopwatch();
+    private GraphCache cache;
+    private LinearProgram lp = null;
     private LPStatistics lpStatistics;
-    private GraphStatistics primalGraphStatistics = new PrimalGraphStatistics();
-    private GraphStatistics incidenceGraphStatistics = new IncidenceGraphStatistics();
-    private GraphStatistics dualGraphStatistics = new DualGraphStatistics();
+    private final Map<GraphType, NGraph<GraphInput.InputData>> graphs = new EnumMap<>(GraphType.class);
+    private final Map<GraphType, GraphStatistics> graphStatistics = new EnumMap<>(GraphType.class);
+    private final Map<GraphType, HashMap<String, Integer>> results = new EnumMap<>(GraphType.class);
+    private final Map<GraphType, GraphReduction<GraphInput.InputData>> reductions = new EnumMap<>(GraphType.class);
+    private final Map<GraphType, BoundPortfolio> portfolios = new EnumMap<>(GraphType.class);
+    private final Map<GraphType, Integer> treewidthUpperBounds = new EnumMap<>(GraphType.class);
+    private final StageMetrics metrics = new StageMetrics();
 
     public StructuralParametersComputation (String filePath) {
         this.filePath = filePath;
@@ -47,26 +62,52 @@ public class StructuralParametersComputation extends ThreadExecutor implements C
             lastIndexOfSlashOrBackslash = filePath.lastIndexOf("/");
         }
         this.fileName = filePath.substring(lastIndexOfSlashOrBackslash+1, filePath.length()-4);
+        for (GraphType graphType : GraphType.values()) {
+            graphStatistics.put(graphType, createGraphStatistics(graphType));
+        }
     }
 
     @Override
     public String call() throws IOException {
+        LOGGER.info("Start structural parameters computation for {}", filePath);
+        boolean finished = false;
         try {
             computeStructuralParameters(filePath);
+            finished = true;
         } catch (InterruptedException e) {
             // ignore as thread still is set as interrupted
+        } finally {
+            // also written for cancelled computations, to show the stage in which the timeout occurred
+            if (Configuration.METRICS) {
+                metrics.appendToFile(Paths.get(Configuration.getMetricsFile()), filePath, finished, totalTimer.getTime());
+            }
         }
         return sb.toString();
     }
 
     private void computeStructuralParameters(String fileName) throws IOException, InterruptedException {
         startTimer(totalTimer);
-        LinearProgram lp = parseLinearProgram(fileName);
-        LOGGER.debug("Finished parsing linear program");
-        computeGraphRepresentations(lp);
+        StageMetrics.Stage cacheStage = metrics.start(StageMetrics.CACHE);
+        try {
+            cache = new GraphCache(fileName);
+            lpStatistics = cache.getLPStatistics();
+        } finally {
+            cacheStage.stop();
+        }
+        if (lpStatistics == null) {
+            parseLinearProgram(fileName);
+            LOGGER.debug("Finished parsing linear program");
+        }
+        computeGraphRepresentations();
         LOGGER.debug("Finished computing graph representations");
-        computeTWLowerBounds();
-        computeTWUpperBounds();
+        if (isAllStartLowerBound()) {
+            // an all-start lower bound stops once it reaches the upper bound, so the upper bound is computed first
+            computeTWUpperBounds();
+            computeTWLowerBounds();
+        } else {
+            computeTWLowerBounds();
+            computeTWUpperBounds();
+        }
         computeTorsoWidthOnPrimalGraph();
         computeTreeDepthOnPrimalGraph();
         formatLPStatistics();
@@ -76,152 +117,355 @@ public class StructuralParametersComputation extends ThreadExecutor implements C
     }
 
     private LinearProgram parseLinearProgram(String fileName) throws IOException, InterruptedException {
-        MILPParser milpParser = new MILPParser();
-        LinearProgram lp = milpParser.parseMPS(fileName);
+        StageMetrics.Stage stage = metrics.start(StageMetrics.PARSE);
+        try {
+            MILPParser milpParser = Configuration.MAPPED_PARSER ? new MappedMILPParser() : new MILPParser();
+            lp = milpParser.parseMPS(fileName);
+        } finally {
+            stage.stop();
+        }
         checkInterrupted();
         lpStatistics = lp.getStatistics();
+        inCacheStage(() -> cache.putLPStatistics(lpStatistics));
         return lp;
     }
 
-    private void computeGraphRepresentations(LinearProgram lp) throws InterruptedException {
-        if (Configuration.PRIMAL) {
-            if (!deserializeGraphRepresentation(GraphType.PRIMAL)) {
-                gPrimal = computeGraphRepresentation(lp, new PrimalGraphGenerator(), primalGraphStatistics, GraphType.PRIMAL);
+    private LinearProgram getLinearProgram() throws IOException, InterruptedException {
+        return lp != null ? lp : parseLinearProgram(filePath);
+    }
+
+    /**
+     * Takes the statistics and computed parameters of every graph representation from the cache, only the graph
+     * representations without cached statistics are computed. The other graphs are loaded when a parameter that
+     * is not cached is computed on them.
+     */
+    private void computeGraphRepresentations() throws IOException, InterruptedException {
+        List<GraphType> graphTypesToCompute = new ArrayList<>();
+        for (GraphType graphType : GraphType.values()) {
+            if (!Configuration.isConfigured(graphType)) {
+                continue;
             }
-        }
-        if (Configuration.INCIDENCE) {
-            if (!deserializeGraphRepresentation(GraphType.INCIDENCE)) {
-                gIncidence = computeGraphRepresentation(lp, new IncidenceGraphGenerator(), incidenceGraphStatistics, GraphType.INCIDENCE);
+            GraphStatistics statistics = inCacheStage(() -> cache.getGraphStatistics(graphType));
+            if (statistics != null) {
+                graphStatistics.put(graphType, statistics);
+                LOGGER.debug("Took {} graph statistics from the cache", graphType);
+            } else {
+                graphTypesToCompute.add(graphType);
             }
+            results.put(graphType, inCacheStage(() -> cache.getResults(graphType)));
+        }
+        if (graphTypesToCompute.isEmpty()) {
+            return;
         }
-        if (Configuration.DUAL) {
-            if (!deserializeGraphRepresentation(GraphType.DUAL)) {
-                gDual = computeGraphRepresentation(lp, new DualGraphGenerator(), dualGraphStatistics, GraphType.DUAL);
+
+        LinearProgram lp = getLinearProgram();
+        List<NGraph<GraphInput.InputData>> generatedGraphs = new ArrayList<>();
+        if (Configuration.COMPONENT_THREADS <= 1 || graphTypesToCompute.size() == 1) {
+            for (GraphType graphType : graphTypesToCompute) {
+                generatedGraphs.add(computeNGraph(lp, graphType, graphStatistics.get(graphType)));
             }
+        } else {
+            // the graph representations are independent read-only views of the linear program
+            List<InterruptibleTask<NGraph<GraphInput.InputData>>> tasks = new ArrayList<>();
+            for (GraphType graphType : graphTypesToCompute) {
+                tasks.add(new InterruptibleTask<>(() -> computeNGraph(lp, graphType, graphStatistics.get(graphType))));
+            }
+            generatedGraphs = InterruptibleTask.computeAll(tasks);
+        }
+        for (int i = 0; i < graphTypesToCompute.size(); i++) {
+            GraphType graphType = graphTypesToCompute.get(i);
+            graphs.put(graphType, cacheGraphRepresentation(graphType, generatedGraphs.get(i)));
+            inCacheStage(() -> cache.putGraphStatistics(graphType, graphStatistics.get(graphType)));
         }
     }
 
-    private NGraph<GraphInput.InputData> computeGraphRepresentation(LinearProgram lp, GraphGenerator graphGenerator, GraphStatistics graphStatistics, GraphType graphType) throws InterruptedException {
-        NGraph<GraphInput.InputData> graph = computeNGraph(lp, graphGenerator, graphStatistics);
+    /**
+     * Accesses the cache within the cache stage of the metrics
+     */
+    private <T> T inCacheStage(Supplier<T> cacheAccess) {
+        StageMetrics.Stage stage = metrics.start(StageMetrics.CACHE);
+        try {
+            return cacheAccess.get();
+        } finally {
+            stage.stop();
+        }
+    }
+
+    private void inCacheStage(Runnable cacheAccess) {
+        inCacheStage(() -> {
+            cacheAccess.run();
+            return null;
+        });
+    }
+
+    private static GraphGenerator createGraphGenerator(GraphType graphType) {
+        switch (graphType) {
+            case PRIMAL: return new PrimalGraphGenerator();
+            case INCIDENCE: return new IncidenceGraphGenerator();
+            case DUAL: return new DualGraphGenerator();
+            default: throw new IllegalArgumentException();
+        }
+    }
+
+    private static GraphStatistics createGraphStatistics(GraphType graphType) {
+        switch (graphType) {
+            case PRIMAL: return new PrimalGraphStatistics();
+            case INCIDENCE: return new IncidenceGraphStatistics();
+            case DUAL: return new DualGraphStatistics();
+            default: throw new IllegalArgumentException();
+        }
+    }
+
+    private NGraph<GraphInput.InputData> computeGraphRepresentation(GraphType graphType, GraphStatistics statistics) throws IOException, InterruptedException {
+        return cacheGraphRepresentation(graphType, computeNGraph(getLinearProgram(), graphType, statistics));
+    }
+
+    private NGraph<GraphInput.InputData> cacheGraphRepresentation(GraphType graphType, NGraph<GraphInput.InputData> graph) throws InterruptedException {
         graph.addComment(graphType.toString());
         LOGGER.debug("Finished {} graph representation", graphType.toString());
-        Serializer.serializeToFile(graph, Serializer.getDefaultGraphPath(fileName, graphType));
-        Serializer.serializeToFile(graphStatistics, Serializer.getDefaultStatisticsPath(fileName, graphType));
-        LOGGER.debug("Finished serializing {} graph representation to file", graphType.toString());
+        inCacheStage(() -> cache.putGraph(graphType, graph));
+        LOGGER.debug("Finished caching {} graph representation", graphType.toString());
         checkInterrupted();
         return graph;
     }
 
-    private boolean deserializeGraphRepresentation(GraphType graphType) {
-        NGraph<GraphInput.InputData> graph = (NGraph<GraphInput.InputData>) Serializer.deserializeFromFile(Serializer.getDefaultGraphPath(fileName,graphType));
-        GraphStatistics statistics = (GraphStatistics) Serializer.deserializeFromFile(Serializer.getDefaultStatisticsPath(fileName, graphType));
-
-        if (graph == null || statistics == null) {
-            return false;
+    /**
+     * @return the graph representation, from the cache if possible. The statistics computed with a graph that is not
+     * cached are discarded, as the statistics of the graph type may already contain cached parameters.
+     */
+    private NGraph<GraphInput.InputData> getGraph(GraphType graphType) throws IOException, InterruptedException {
+        NGraph<GraphInput.InputData> graph = graphs.get(graphType);
+        if (graph == null) {
+            graph = inCacheStage(() -> cache.getGraph(graphType));
+            if (graph == null) {
+                graph = computeGraphRepresentation(graphType, createGraphStatistics(graphType));
+            } else {
+                LOGGER.debug("Took {} graph representation from the cache", graphType);
+            }
+            graphs.put(graphType, graph);
         }
-        switch (graphType) {
-            case PRIMAL: gPrimal = graph; primalGraphStatistics = statistics; break;
-            case DUAL: gDual = graph; dualGraphStatistics = statistics; break;
-            case INCIDENCE: gIncidence = graph; incidenceGraphStatistics = statistics; break;
-            default: return false;
+        return graph;
+    }
+
+    /**
+     * @return the cached parameter of the graph representation with the result key or null if it was not computed yet
+     */
+    private Integer getCachedResult(GraphType graphType, String resultKey) {
+        Integer result = results.get(graphType).get(resultKey);
+        if (result != null) {
+            LOGGER.info("{} {} {}: {} from the cache", fileName, graphType, resultKey, result);
         }
-        LOGGER.debug("Deserialized from {}", Serializer.getDefaultGraphPath(fileName,graphType));
-        return true;
+        return result;
     }
 
-    public NGraph<GraphInput.InputData> computeNGraph(LinearProgram lp, GraphGenerator graphGenerator, GraphStatistics graphStatistics) throws InterruptedException {
-        Graph graph;
-        NGraph<GraphInput.InputData> nGraph;
-        graph = graphGenerator.linearProgramToGraph(lp);
-        checkInterrupted();
-        nGraph = GraphTransformator.graphToNGraph(graph);
-        computeGraphStatistics(graphStatistics, graph, nGraph);
-        return nGraph;
+    private void putResult(GraphType graphType, String resultKey, int result) {
+        results.get(graphType).put(resultKey, result);
+        inCacheStage(() -> cache.putResults(graphType, results.get(graphType)));
     }
 
-    private void computeGraphStatistics(GraphStatistics graphStatistics, Graph graph, NGraph<GraphInput.InputData> nGraph) {
-        graphStatistics.setLpStatistics(lpStatistics);
-        graphStatistics.computeGraphData(graph);
-        graphStatistics.getGraphData().setNumComponents(nGraph.getComponents().size());
+    private NGraph<GraphInput.InputData> computeNGraph(LinearProgram lp, GraphType graphType, GraphStatistics graphStatistics) throws InterruptedException {
+        StageMetrics.Stage stage = metrics.start(StageMetrics.getStageName(graphType, StageMetrics.GENERATE));
+        try {
+            graphStatistics.setLpStatistics(lpStatistics);
+            return createGraphGenerator(graphType).linearProgramToNGraph(lp, graphStatistics);
+        } finally {
+            stage.stop();
+        }
+    }
+
+    private static boolean isAllStartLowerBound() {
+        return !Configuration.isPortfolio() && Configuration.LOWER_BOUND_ALG != null
+                && ParallelAllStart.class.isAssignableFrom(Configuration.LOWER_BOUND_ALG);
     }
 
-    private void computeTWLowerBounds() throws InterruptedException {
+    private void computeTWLowerBounds() throws IOException, InterruptedException {
         if (Configuration.LOWER_BOUND) {
-            if (Configuration.PRIMAL) {
-                int treewidthLowerBoundPrimal = computeTWLowerBound(gPrimal);
-                primalGraphStatistics.getGraphData().setTreewidthLB(treewidthLowerBoundPrimal);
-            }
-            checkInterrupted();
-            if (Configuration.INCIDENCE) {
-                int treewidthLowerBoundIncidence = computeTWLowerBound(gIncidence);
-                incidenceGraphStatistics.getGraphData().setTreewidthLB(treewidthLowerBoundIncidence);
+            String resultKey = getTWResultKey("tw_lb", Configuration.getLowerBoundAlgorithms());
+            for (GraphType graphType : GraphType.values()) {
+                if (Configuration.isConfigured(graphType)) {
+                    Integer treewidthLowerBound = getCachedResult(graphType, resultKey);
+                    if (treewidthLowerBound == null) {
+                        treewidthLowerBound = computeTWLowerBound(graphType);
+                        putResult(graphType, resultKey, treewidthLowerBound);
+                    }
+                    graphStatistics.get(graphType).getGraphData().setTreewidthLB(treewidthLowerBound);
+                }
+                checkInterrupted();
             }
-            checkInterrupted();
-            if (Configuration.DUAL) {
-                int treewidthLowerBoundDual = computeTWLowerBound(gDual);
-                dualGraphStatistics.getGraphData().setTreewidthLB(treewidthLowerBoundDual);
+        }
+    }
+
+    /**
+     * @return the result key of a treewidth bound computed with the given algorithms, which also depends on the graph
+     * reduction and on the portfolio and its timeout
+     */
+    private static String getTWResultKey(String parameter, List<Class<?>> algorithms) {
+        List<Class<?>> keyAlgorithms = new ArrayList<>(algorithms);
+        if (Configuration.REDUCTION) {
+            keyAlgorithms.add(GraphReduction.class);
+        }
+        if (Configuration.isPortfolio()) {
+            keyAlgorithms.add(BoundPortfolio.class);
+            if (Configuration.PORTFOLIO_TIMEOUT > 0) {
+                parameter += "_" + Configuration.PORTFOLIO_TIMEOUT + "s";
             }
         }
+        return GraphCache.getResultKey(parameter, keyAlgorithms.toArray(new Class<?>[0]));
     }
 
-    private int computeTWLowerBound(NGraph<GraphInput.InputData> g) throws InterruptedException {
-        startTimer(t);
-        int lowerbound = TreeWidthWrapper.computeLowerBoundWithComponents(g);
-        stopTimer(t);
-        printTimingInfo(g, "LB TreeWidth", lowerbound, Configuration.LOWER_BOUND_ALG.getSimpleName());
+    private int computeTWLowerBound(GraphType graphType) throws IOException, InterruptedException {
+        if (Configuration.isPortfolio()) {
+            return getPortfolio(graphType).getLowerBound();
+        }
+        GraphReduction<GraphInput.InputData> reduction = Configuration.REDUCTION ? getReduction(graphType) : null;
+        NGraph<GraphInput.InputData> g = reduction != null ? reduction.getReducedGraph() : getGraph(graphType);
+        Integer knownUpperBound = treewidthUpperBounds.get(graphType);
+        IntSupplier upperBound = knownUpperBound != null ? () -> knownUpperBound : null;
+        StageMetrics.Stage stage = metrics.start(StageMetrics.getStageName(graphType, StageMetrics.TW_LB));
+        int lowerbound;
+        try {
+            lowerbound = TreeWidthWrapper.computeLowerBoundWithComponents(g, Configuration.LOWER_BOUND_ALG, upperBound);
+            if (reduction != null) {
+                lowerbound = Math.max(reduction.getLowerBound(), lowerbound);
+            }
+        } finally {
+            stage.stop();
+        }
+        printTimingInfo(g, "LB TreeWidth", lowerbound, Configuration.LOWER_BOUND_ALG.getSimpleName(), stage);
         return lowerbound;
     }
 
-    private void computeTWUpperBounds() throws InterruptedException {
+    private void computeTWUpperBounds() throws IOException, InterruptedException {
         if (Configuration.UPPER_BOUND) {
-            if (Configuration.PRIMAL) {
-                int treewidthUpperBoundPrimal = computeTWUpperBound(gPrimal);
-                primalGraphStatistics.getGraphData().setTreewidthUB(treewidthUpperBoundPrimal);
-            }            
-            checkInterrupted();
-            if (Configuration.INCIDENCE) {
-                int treewidthUpperBoundIncidence = computeTWUpperBound(gIncidence);
-                incidenceGraphStatistics.getGraphData().setTreewidthUB(treewidthUpperBoundIncidence);
-            }
-            checkInterrupted();
-            if (Configuration.DUAL) {
-                int treewidthUpperBoundDual = computeTWUpperBound(gDual);
-                dualGraphStatistics.getGraphData().setTreewidthUB(treewidthUpperBoundDual);
+            String resultKey = getTWResultKey("tw_ub", Configuration.getUpperBoundAlgorithms());
+            for (GraphType graphType : GraphType.values()) {
+                if (Configuration.isConfigured(graphType)) {
+                    Integer treewidthUpperBound = getCachedResult(graphType, resultKey);
+                    if (treewidthUpperBound == null) {
+                        treewidthUpperBound = computeTWUpperBound(graphType);
+                        putResult(graphType, resultKey, treewidthUpperBound);
+                    }
+                    graphStatistics.get(graphType).getGraphData().setTreewidthUB(treewidthUpperBound);
+                    treewidthUpperBounds.put(graphType, treewidthUpperBound);
+                }
+                checkInterrupted();
             }
         }
     }
 
-    private int computeTWUpperBound(NGraph<GraphInput.InputData> g) throws InterruptedException {
-        startTimer(t);
-        int upperbound = TreeWidthWrapper.computeUpperBoundWithComponents(g);
-        stopTimer(t);
-        printTimingInfo(g, "UB TreeWidth", upperbound, Configuration.UPPER_BOUND_ALG.getSimpleName());
+    private int computeTWUpperBound(GraphType graphType) throws IOException, InterruptedException {
+        if (Configuration.isPortfolio()) {
+            return getPortfolio(graphType).getUpperBound();
+        }
+        GraphReduction<GraphInput.InputData> reduction = Configuration.REDUCTION ? getReduction(graphType) : null;
+        NGraph<GraphInput.InputData> g = reduction != null ? reduction.getReducedGraph() : getGraph(graphType);
+        StageMetrics.Stage stage = metrics.start(StageMetrics.getStageName(graphType, StageMetrics.TW_UB));
+        int upperbound;
+        try {
+            upperbound = reduction != null
+                    ? TreeWidthWrapper.computeUpperBoundWithComponents(g, reduction.getLowerBound())
+                    : TreeWidthWrapper.computeUpperBoundWithComponents(g);
+        } finally {
+            stage.stop();
+        }
+        printTimingInfo(g, "UB TreeWidth", upperbound, Configuration.UPPER_BOUND_ALG.getSimpleName(), stage);
         return upperbound;
     }
 
-    private void computeTorsoWidthOnPrimalGraph() throws InterruptedException {
+    /**
+     * @return the reduction of the graph representation, which is computed once for the lower and the upper bound
+     */
+    private GraphReduction<GraphInput.InputData> getReduction(GraphType graphType) throws IOException, InterruptedException {
+        GraphReduction<GraphInput.InputData> reduction = reductions.get(graphType);
+        if (reduction == null) {
+            NGraph<GraphInput.InputData> g = getGraph(graphType);
+            reduction = new GraphReduction<>();
+            StageMetrics.Stage stage = runAlgo(g, reduction, StageMetrics.getStageName(graphType, StageMetrics.REDUCE));
+            NGraph<GraphInput.InputData> reducedGraph = reduction.getReducedGraph();
+            reducedGraph.addComment(graphType.toString());
+            LOGGER.info("{} {} reduction: {} of {} nodes removed ({}), lower bound: {}, time: {} s", fileName, g.getComments(),
+                    g.getNumberOfVertices() - reducedGraph.getNumberOfVertices(), g.getNumberOfVertices(),
+                    reduction.formatRemovedVertices(), reduction.getLowerBound(), stage.getWallTime() / 1000000000);
+            reductions.put(graphType, reduction);
+        }
+        return reduction;
+    }
+
+    /**
+     * @return the portfolio of the configured lower and upper bound algorithms, which is run once for both bounds
+     * such that it can stop as soon as they are equal
+     */
+    private BoundPortfolio getPortfolio(GraphType graphType) throws IOException, InterruptedException {
+        BoundPortfolio portfolio = portfolios.get(graphType);
+        if (portfolio == null) {
+            GraphReduction<GraphInput.InputData> reduction = Configuration.REDUCTION ? getReduction(graphType) : null;
+            NGraph<GraphInput.InputData> g = reduction != null ? reduction.getReducedGraph() : getGraph(graphType);
+            portfolio = new BoundPortfolio(
+                    Configuration.LOWER_BOUND ? Configuration.getLowerBoundAlgorithms() : Collections.emptyList(),
+                    Configuration.UPPER_BOUND ? Configuration.getUpperBoundAlgorithms() : Collections.emptyList(),
+                    Configuration.PORTFOLIO_TIMEOUT);
+            StageMetrics.Stage stage = metrics.start(StageMetrics.getStageName(graphType, StageMetrics.PORTFOLIO));
+            try {
+                portfolio.run(g, reduction != null ? reduction.getLowerBound() : 0);
+            } finally {
+                stage.stop();
+            }
+            for (BoundPortfolio.Member member : portfolio.getMembers()) {
+                LOGGER.info("{} {} portfolio {} {}: {}, time: {} ms", fileName, g.getComments(), member.getKind(),
+                        member.getAlgorithm().getSimpleName(), member.isFinished() ? member.getBound() : "not finished",
+                        member.getWallTime() / 1000000);
+            }
+            if (Configuration.LOWER_BOUND) {
+                printTimingInfo(g, "LB TreeWidth", portfolio.getLowerBound(), getWinnerName(portfolio.getLowerBoundWinner()), stage);
+            }
+            if (Configuration.UPPER_BOUND) {
+                printTimingInfo(g, "UB TreeWidth", portfolio.getUpperBound(), getWinnerName(portfolio.getUpperBoundWinner()), stage);
+            }
+            portfolios.put(graphType, portfolio);
+        }
+        return portfolio;
+    }
+
+    private static String getWinnerName(BoundPortfolio.Member winner) {
+        return winner != null ? winner.getAlgorithm().getSimpleName() + " of the portfolio" : "trivial bound of the portfolio";
+    }
+
+    private void computeTorsoWidthOnPrimalGraph() throws IOException, InterruptedException {
         if (Configuration.TORSO_WIDTH && Configuration.PRIMAL) {
-            computeTorsoWidthOnPrimalGraph(gPrimal);
+            String lowerBoundKey = GraphCache.getResultKey("torso_lb", Configuration.LOWER_BOUND_ALG, Configuration.UPPER_BOUND_ALG);
+            String upperBoundKey = GraphCache.getResultKey("torso_ub", Configuration.LOWER_BOUND_ALG, Configuration.UPPER_BOUND_ALG);
+            Integer torsoWidthLowerBound = getCachedResult(GraphType.PRIMAL, lowerBoundKey);
+            Integer torsoWidthUpperBound = getCachedResult(GraphType.PRIMAL, upperBoundKey);
+            if (torsoWidthLowerBound == null || torsoWidthUpperBound == null) {
+                TorsoWidth<?> torsoWidthAlgo = computeTorsoWidthOnPrimalGraph(getGraph(GraphType.PRIMAL));
+                torsoWidthLowerBound = torsoWidthAlgo.getLowerBound();
+                torsoWidthUpperBound = torsoWidthAlgo.getUpperBound();
+                putResult(GraphType.PRIMAL, lowerBoundKey, torsoWidthLowerBound);
+                putResult(GraphType.PRIMAL, upperBoundKey, torsoWidthUpperBound);
+            }
+            GraphData primalGraphData = graphStatistics.get(GraphType.PRIMAL).getGraphData();
+            primalGraphData.setTorsoWidthUB(torsoWidthUpperBound);
+            primalGraphData.setTorsoWidthLB(torsoWidthLowerBound);
         }
     }
 
-    private void computeTorsoWidthOnPrimalGraph(NGraph<GraphInput.InputData> g) throws InterruptedException {
-        TorsoWidth torsoWidthAlgo = new TorsoWidth();
-        runAlgo(g, torsoWidthAlgo);
-        int torsoWidthLowerBound = torsoWidthAlgo.getLowerBound();
-        int torsoWidthUpperBound = torsoWidthAlgo.getUpperBound();
-        printTimingInfo(g, "LB TorsoWidth", torsoWidthLowerBound, torsoWidthAlgo.getName());
-        printTimingInfo(g, "UB TorsoWidth", torsoWidthUpperBound, torsoWidthAlgo.getName());
-        GraphData primalGraphData = primalGraphStatistics.getGraphData();
-        primalGraphData.setTorsoWidthUB(torsoWidthUpperBound);
-        primalGraphData.setTorsoWidthLB(torsoWidthLowerBound);
+    private TorsoWidth<?> computeTorsoWidthOnPrimalGraph(NGraph<GraphInput.InputData> g) throws InterruptedException {
+        TorsoWidth<?> torsoWidthAlgo = new TorsoWidth<>();
+        StageMetrics.Stage stage = runAlgo(g, torsoWidthAlgo, StageMetrics.getStageName(GraphType.PRIMAL, StageMetrics.TORSO_WIDTH));
+        printTimingInfo(g, "LB TorsoWidth", torsoWidthAlgo.getLowerBound(), torsoWidthAlgo.getName(), stage);
+        printTimingInfo(g, "UB TorsoWidth", torsoWidthAlgo.getUpperBound(), torsoWidthAlgo.getName(), stage);
+        return torsoWidthAlgo;
     }
 
-    private static void runAlgo(NGraph<GraphInput.InputData> g, Algorithm algorithm) throws InterruptedException {
-        startTimer(t);
-        algorithm.setInput(g);
-        algorithm.run();
-        stopTimer(t);
+    private StageMetrics.Stage runAlgo(NGraph<GraphInput.InputData> g, Algorithm algorithm, String stageName) throws InterruptedException {
+        StageMetrics.Stage stage = metrics.start(stageName);
+        try {
+            algorithm.setInput(g);
+            algorithm.run();
+        } finally {
+            stage.stop();
+        }
+        return stage;
     }
 
     private static void startTimer(Stopwatch t) {
@@ -233,21 +477,27 @@ public class StructuralParametersComputation extends ThreadExecutor implements C
         t.stop();
     }
 
-    private void computeTreeDepthOnPrimalGraph() throws InterruptedException {
+    private void computeTreeDepthOnPrimalGraph() throws IOException, InterruptedException {
         if (Configuration.TREE_DEPTH) {
             checkInterrupted();
             if (Configuration.PRIMAL) {
-                computeTreeDepth(gPrimal, primalGraphStatistics.getGraphData());
+                String resultKey = GraphCache.getResultKey("td_ub");
+                Integer treeDepthUpperBound = getCachedResult(GraphType.PRIMAL, resultKey);
+                if (treeDepthUpperBound == null) {
+                    treeDepthUpperBound = computeTreeDepth(getGraph(GraphType.PRIMAL));
+                    putResult(GraphType.PRIMAL, resultKey, treeDepthUpperBound);
+                }
+                graphStatistics.get(GraphType.PRIMAL).getGraphData().setTreeDepthUB(treeDepthUpperBound);
             }
         }
     }
 
-    private void computeTreeDepth(NGraph<GraphInput.InputData> g, GraphData graphData) throws InterruptedException {
+    private int computeTreeDepth(NGraph<GraphInput.InputData> g) throws InterruptedException {
         TreeDepth<GraphInput.InputData> treeDepthAlgo = new TreeDepth<>();
-        runAlgo(g, treeDepthAlgo);
+        StageMetrics.Stage stage = runAlgo(g, treeDepthAlgo, StageMetrics.getStageName(GraphType.PRIMAL, StageMetrics.TREE_DEPTH));
         int treeDepthUpperBound = treeDepthAlgo.getUpperBound();
-        printTimingInfo(g, "UB TreeDepth", treeDepthUpperBound, treeDepthAlgo.getName());
-        graphData.setTreeDepthUB(treeDepthUpperBound);
+        printTimingInfo(g, "UB TreeDepth", treeDepthUpperBound, treeDepthAlgo.getName(), stage);
+        return treeDepthUpperBound;
     }
 
     private void formatLPStatistics() {
@@ -255,16 +505,20 @@ public class StructuralParametersComputation extends ThreadExecutor implements C
     }
 
     private void formatGraphStatistics() {
-        sb.append(new GraphStatisticsFormatter(primalGraphStatistics, incidenceGraphStatistics, dualGraphStatistics).csvFormat());
+        sb.append(new GraphStatisticsFormatter(graphStatistics.get(GraphType.PRIMAL), graphStatistics.get(GraphType.INCIDENCE),
+                graphStatistics.get(GraphType.DUAL)).csvFormat());
     }
 
     private void addTimingInformation() {
         sb.append(totalTimer.getTime() / 1000).append("s");
+        if (Configuration.METRICS) {
+            sb.append(";").append(metrics.csvFormat());
+        }
         sb.append(System.lineSeparator());
     }
 
-    private void printTimingInfo(NGraph<GraphInput.InputData> graph, String algorithm, int result, String algoName) {
+    private void printTimingInfo(NGraph<GraphInput.InputData> graph, String algorithm, int result, String algoName, StageMetrics.Stage stage) {
         LOGGER.info("{} {} {}: {} of {} nodes with {}, time: {} s", fileName, graph.getComments(), algorithm, result,
-                graph.getNumberOfVertices(), algoName, t.getTime() / 1000);
+                graph.getNumberOfVertices(), algoName, stage.getWallTime() / 1000000000);
     }
 }
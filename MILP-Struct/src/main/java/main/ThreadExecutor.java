@@ -3,27 +3,35 @@ package main.java.main;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 /**
  * Thread creation such that threads can be cancelled after the specified Configuration.TIMEOUT
+ *
+ * A ThreadExecutor created with a number of threads runs up to that many structural parameter computations
+ * concurrently. The timeout of a computation starts when a worker thread picks it up, so queued instances
+ * are not cancelled while waiting for a free worker.
  */
 public class ThreadExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(ThreadExecutor.class);
 
     private ExecutorService executor = null;
+    private ScheduledExecutorService watchdog = null;
 
-    public ThreadExecutor () {
-        createSingleThreadExecutor();
+    /**
+     * Creates a ThreadExecutor without worker threads, subclasses only use it for checkInterrupted()
+     */
+    public ThreadExecutor() {
     }
 
-    private void createSingleThreadExecutor() {
-        executor = Executors.newSingleThreadExecutor();
+    public ThreadExecutor(int numThreads) {
+        createThreadPoolExecutor(numThreads);
+    }
+
+    private void createThreadPoolExecutor(int numThreads) {
+        executor = Executors.newFixedThreadPool(numThreads);
+        watchdog = Executors.newSingleThreadScheduledExecutor();
     }
 
     public void shutdown() {
@@ -42,10 +50,28 @@ public class ThreadExecutor {
         } catch (InterruptedException e) {
             LOGGER.error("Interrupted Exception", e);
         }
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Queues the structural parameters computation for fileName. The returned future is cancelled if the computation
+     * takes longer than Configuration.TIMEOUT seconds once it has been started.
+     *
+     * @param fileName the (M)ILP instance that is handled
+     * @return the future holding the result string of the computation
+     */
+    public Future<String> submitStructuralParameterComputation(String fileName) {
+        return submitStructuralParameterComputation(fileName, result -> { });
     }
 
-    public List<Future<String>> startStructuralParameterComputation(String fileName) throws InterruptedException {
-        return executor.invokeAll(Arrays.asList(new StructuralParametersComputation(fileName)), Configuration.TIMEOUT, TimeUnit.SECONDS);
+    /**
+     * Same as submitStructuralParameterComputation(fileName), additionally onFinished is called with the future as
+     * soon as the computation is finished, i.e. terminated, cancelled or had an error
+     */
+    public Future<String> submitStructuralParameterComputation(String fileName, Consumer<Future<String>> onFinished) {
+        TimedTask task = new TimedTask(new StructuralParametersComputation(fileName), onFinished);
+        executor.execute(task);
+        return task;
     }
 
     public void checkInterrupted() throws InterruptedException {
@@ -53,4 +79,32 @@ public class ThreadExecutor {
             throw new InterruptedException();
         }
     }
+
+    /**
+     * Cancels itself after Configuration.TIMEOUT seconds counted from the start of its execution
+     */
+    private class TimedTask extends FutureTask<String> {
+
+        private final Consumer<Future<String>> onFinished;
+
+        TimedTask(Callable<String> callable, Consumer<Future<String>> onFinished) {
+            super(callable);
+            this.onFinished = onFinished;
+        }
+
+        @Override
+        protected void done() {
+            onFinished.accept(this);
+        }
+
+        @Override
+        public void run() {
+            ScheduledFuture<?> timeout = watchdog.schedule(() -> cancel(true), Configuration.TIMEOUT, TimeUnit.SECONDS);
+            try {
+                super.run();
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package main.java.parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The neighbours of the vertices from to to - 1 in CSR form, collected by one range of GraphGenerator.computeRanges
+ * into a buffer of its own. The neighbours of vertex v are adjacency[offsets[v - from]] to
+ * adjacency[offsets[v - from + 1] - 1].
+ */
+class AdjacencyRange {
+
+    final int from;
+    final int to;
+    final int[] offsets;
+    int[] adjacency;
+    int numArcs = 0;
+
+    AdjacencyRange(int from, int to) {
+        this.from = from;
+        this.to = to;
+        this.offsets = new int[to - from + 1];
+        this.adjacency = new int[Math.max(16, 2 * (to - from))];
+    }
+
+    void add(int neighbour) {
+        if (numArcs == adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, 2 * adjacency.length);
+        }
+        adjacency[numArcs++] = neighbour;
+    }
+
+    /**
+     * Ends the neighbours of vertex v, the vertices have to be finished in ascending order
+     */
+    void finishVertex(int v) {
+        offsets[v - from + 1] = numArcs;
+    }
+
+    /**
+     * Sets the adjacency of the ranges, which have to cover all vertices of the builder in ascending order
+     */
+    static void setAdjacency(GraphBuilder builder, List<AdjacencyRange> ranges) {
+        int numArcs = 0;
+        for (AdjacencyRange range : ranges) {
+            numArcs += range.numArcs;
+        }
+        int[] offsets = new int[builder.getNumberOfVertices() + 1];
+        int[] adjacency = new int[numArcs];
+        int base = 0;
+        for (AdjacencyRange range : ranges) {
+            for (int v = range.from; v < range.to; v++) {
+                offsets[v + 1] = base + range.offsets[v - range.from + 1];
+            }
+            System.arraycopy(range.adjacency, 0, adjacency, base, range.numArcs);
+            base += range.numArcs;
+        }
+        builder.setAdjacency(offsets, adjacency);
+    }
+}
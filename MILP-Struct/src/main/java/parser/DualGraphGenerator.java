@@ -1,12 +1,11 @@
 package main.java.parser;
 
-import main.java.graph.Graph;
-import main.java.graph.Node;
 import main.java.lp.*;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 
 /**
@@ -17,51 +16,87 @@ public class DualGraphGenerator extends GraphGenerator {
     /**
      *
      * @param lp the input (M)ILP of which the dual graph is constructed
-     * @return Dual Graph
+     * @param builder the builder the vertices and edges are added to
      * @throws InterruptedException in case the thread is set to cancelled
      * The dual graph has as nodes the constraints of the linear program and has an edge between two constraint
-     * nodes iff there is a variable that occurs in both constraints
+     * nodes iff there is a variable that occurs in both constraints. The edges are found via an index from variables
+     * to the constraints they occur in, so the effort depends on the sum of squared column lengths. The constraints
+     * are split into ranges of about the same number of visited entries, which are collected in parallel.
      */
     @Override
-    public Graph linearProgramToGraph(LinearProgram lp) throws InterruptedException {
+    void generate(LinearProgram lp, GraphBuilder builder) throws InterruptedException {
         List<Row> constraints = getRows(lp);
         int numConstraints = constraints.size();
-        Map<String, Node> constraintNodes = new HashMap<>();
-        for (int i = 0; i < numConstraints; i++) {
-            checkInterrupted();
-            Row constraint1 = constraints.get(i);
-            Node constraintNode1 = createNodeIfNotExists(constraintNodes, constraint1.getName());
-            for (int j = i+1; j < numConstraints; j++) {
-                Row constraint2 = constraints.get(j);
-                Node constraintNode2 = createNodeIfNotExists(constraintNodes, constraint2.getName());
-                if (haveCommonVariable(constraint1, constraint2)) {
-                    generateEdge(constraintNode1, constraintNode2);
-                    createNeighbours(constraintNode1, constraintNode2);
-                }
-            }
+        // the vertex of constraint i has id i
+        for (Row constraint : constraints) {
+            builder.addVertex(constraint.getName(), false);
         }
 
-        Graph dualGraph = createGraph(nodes, edges, neighbourNodes);
-        return dualGraph;
-    }
+        int[][] variablesOfConstraints = lp.getSparseMatrix() != null
+                ? getVariablesOfRows(lp.getSparseMatrix(), constraints)
+                : getVariablesOfRows(constraints);
+        int[][] constraintsOfVariables = createInvertedIndex(variablesOfConstraints);
 
-    private Node createNodeIfNotExists(Map<String, Node> constraintNodes, String constraintName) {
-        Node constraintNode1 = constraintNodes.get(constraintName);
-        if (constraintNode1 == null) {
-            constraintNode1 = generateNode(constraintName);
-            constraintNodes.put(constraintName, constraintNode1);
+        // the work of a constraint is the number of entries visited for it
+        long[] work = new long[numConstraints];
+        for (int i = 0; i < numConstraints; i++) {
+            for (int variable : variablesOfConstraints[i]) {
+                work[i] += constraintsOfVariables[variable][0];
+            }
+        }
+        // marker arrays are reused by later ranges, as the marks of other constraints never match
+        Queue<int[]> markers = new ConcurrentLinkedQueue<>();
+        List<AdjacencyRange> ranges = computeRanges(work, (from, to) -> {
+            int[] marked = markers.poll();
+            if (marked == null) {
+                marked = new int[numConstraints];
+                Arrays.fill(marked, -1);
+            }
+            AdjacencyRange range = collectHigherNeighbours(from, to, variablesOfConstraints, constraintsOfVariables, marked);
+            markers.offer(marked);
+            return range;
+        });
+        // edges are created in the same order as comparing each pair of constraints would create them
+        for (AdjacencyRange range : ranges) {
+            for (int i = range.from; i < range.to; i++) {
+                for (int k = range.offsets[i - range.from]; k < range.offsets[i - range.from + 1]; k++) {
+                    builder.addEdge(i, range.adjacency[k]);
+                }
+            }
         }
-        return constraintNode1;
     }
 
-    private boolean haveCommonVariable(Row constraint1, Row constraint2) {
-        for (Variable entryVariable1 : constraint1.getVariableEntries()) {
-            for (Variable entryVariable2 : constraint2.getVariableEntries()) {
-                if (entryVariable1.getName().equals(entryVariable2.getName())) {
-                    return true;
+    /**
+     * Collects for every constraint from from to to - 1 the ascending constraints with a higher index sharing a
+     * variable, marked[j] == i if j was found for constraint i
+     */
+    private AdjacencyRange collectHigherNeighbours(int from, int to, int[][] variablesOfConstraints, int[][] constraintsOfVariables,
+                                                   int[] marked) throws InterruptedException {
+        AdjacencyRange range = new AdjacencyRange(from, to);
+        int[] neighbours = new int[16];
+        for (int i = from; i < to; i++) {
+            checkInterrupted();
+            int numNeighbours = 0;
+            for (int variable : variablesOfConstraints[i]) {
+                int[] constraintsOfVariable = constraintsOfVariables[variable];
+                int numConstraintsOfVariable = constraintsOfVariable[0];
+                for (int k = numConstraintsOfVariable; k >= 1 && constraintsOfVariable[k] > i; k--) {
+                    int j = constraintsOfVariable[k];
+                    if (marked[j] != i) {
+                        marked[j] = i;
+                        if (numNeighbours == neighbours.length) {
+                            neighbours = Arrays.copyOf(neighbours, 2 * neighbours.length);
+                        }
+                        neighbours[numNeighbours++] = j;
+                    }
                 }
             }
+            Arrays.sort(neighbours, 0, numNeighbours);
+            for (int k = 0; k < numNeighbours; k++) {
+                range.add(neighbours[k]);
+            }
+            range.finishVertex(i);
         }
-        return false;
+        return range;
     }
 }
@@ -0,0 +1,222 @@
+package main.java.parser;
+
+import main.java.algo.LPInputData;
+import main.java.graph.Edge;
+import main.java.graph.Graph;
+import main.java.graph.GraphStatistics;
+import main.java.graph.Node;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.ListGraph;
+import nl.uu.cs.treewidth.ngraph.ListVertex;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the vertices and edges of a graph representation by dense int ids, the id of a vertex is the order in
+ * which it was added. The neighbours of every vertex are stored in a growable int array in the order the edges were
+ * added, the generators make sure that no edge is added twice. Alternatively a generator sets the complete adjacency
+ * in compressed sparse row (CSR) form, which is also the form the graph is built from.
+ *
+ * The collected graph is built either directly as NGraph of LPInputData, together with its components and its graph
+ * statistics, or as Graph of Node and Edge objects.
+ */
+class GraphBuilder {
+
+    private String[] names = new String[16];
+    private boolean[] integer = new boolean[16];
+    private int[][] neighbours = new int[16][];
+    private int[] degrees = new int[16];
+    private int numVertices = 0;
+    private int numEdges = 0;
+
+    // CSR adjacency: the neighbours of vertex v are adjacency[offsets[v]] to adjacency[offsets[v+1]-1]
+    private int[] offsets = null;
+    private int[] adjacency = null;
+
+    /**
+     * @return the id of the new vertex
+     */
+    int addVertex(String name, boolean isInteger) {
+        if (numVertices == names.length) {
+            int capacity = 2 * names.length;
+            names = Arrays.copyOf(names, capacity);
+            integer = Arrays.copyOf(integer, capacity);
+            neighbours = Arrays.copyOf(neighbours, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+        }
+        names[numVertices] = name;
+        integer[numVertices] = isInteger;
+        return numVertices++;
+    }
+
+    void addEdge(int vertex1, int vertex2) {
+        addNeighbour(vertex1, vertex2);
+        addNeighbour(vertex2, vertex1);
+        numEdges++;
+    }
+
+    private void addNeighbour(int vertex, int neighbour) {
+        if (neighbours[vertex] == null) {
+            neighbours[vertex] = new int[4];
+        } else if (degrees[vertex] == neighbours[vertex].length) {
+            neighbours[vertex] = Arrays.copyOf(neighbours[vertex], 2 * degrees[vertex]);
+        }
+        neighbours[vertex][degrees[vertex]++] = neighbour;
+    }
+
+    /**
+     * Sets the neighbours of all vertices in CSR form, every edge has to occur in the neighbours of both vertices
+     */
+    void setAdjacency(int[] offsets, int[] adjacency) {
+        if (offsets.length != numVertices + 1) {
+            throw new IllegalArgumentException("Adjacency of " + (offsets.length - 1) + " vertices for " + numVertices + " vertices");
+        }
+        this.offsets = offsets;
+        this.adjacency = adjacency;
+        this.neighbours = null;
+        this.numEdges = offsets[numVertices] / 2;
+        for (int v = 0; v < numVertices; v++) {
+            degrees[v] = offsets[v + 1] - offsets[v];
+        }
+    }
+
+    int getNumberOfVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Copies the neighbours added edge by edge into the CSR form
+     */
+    private void compact() {
+        if (offsets != null) {
+            return;
+        }
+        offsets = new int[numVertices + 1];
+        for (int v = 0; v < numVertices; v++) {
+            offsets[v + 1] = offsets[v] + degrees[v];
+        }
+        adjacency = new int[offsets[numVertices]];
+        for (int v = 0; v < numVertices; v++) {
+            if (neighbours[v] != null) {
+                System.arraycopy(neighbours[v], 0, adjacency, offsets[v], degrees[v]);
+                neighbours[v] = null;
+            }
+        }
+        neighbours = null;
+    }
+
+    /**
+     * Builds the NGraph with the vertices in id order and the neighbours in the order the edges were added. The
+     * components are labelled like in the LPGraphInput. The general graph data, the density and the number of
+     * components are computed into graphStatistics, of which the LP statistics have to be set.
+     */
+    NGraph<GraphInput.InputData> buildNGraph(GraphStatistics graphStatistics) {
+        compact();
+        ListGraph<GraphInput.InputData> graph = new ListGraph<>();
+        graph.vertices = new ArrayList<>(numVertices);
+        int numIntegerVertices = 0;
+        for (int v = 0; v < numVertices; v++) {
+            ListVertex<GraphInput.InputData> vertex = new ListVertex<>(new LPInputData(v, names[v], integer[v]));
+            vertex.neighbors = new ArrayList<>(degrees[v]);
+            graph.addVertex(vertex);
+            if (integer[v]) {
+                numIntegerVertices++;
+            }
+        }
+        for (int v = 0; v < numVertices; v++) {
+            ArrayList<NVertex<GraphInput.InputData>> neighboursOfVertex = ((ListVertex<GraphInput.InputData>) graph.vertices.get(v)).neighbors;
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                neighboursOfVertex.add(graph.vertices.get(adjacency[k]));
+            }
+        }
+        graph.setComponents(createComponents(graph));
+
+        graphStatistics.computeGraphData(numVertices, numIntegerVertices, numEdges, Arrays.copyOf(degrees, numVertices));
+        graphStatistics.getGraphData().setNumComponents(graph.getComponents().size());
+        return graph;
+    }
+
+    /**
+     * Labels the connected components with a breadth first search from every vertex that is not yet labelled, in id
+     * order. Components are ordered by their first vertex and list their vertices in id order.
+     */
+    private List<NGraph<GraphInput.InputData>> createComponents(ListGraph<GraphInput.InputData> graph) {
+        int[] componentOf = new int[numVertices];
+        Arrays.fill(componentOf, -1);
+        int[] queue = new int[numVertices];
+        int numComponents = 0;
+        for (int root = 0; root < numVertices; root++) {
+            if (componentOf[root] != -1) {
+                continue;
+            }
+            componentOf[root] = numComponents;
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                    int neighbour = adjacency[k];
+                    if (componentOf[neighbour] == -1) {
+                        componentOf[neighbour] = numComponents;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+            numComponents++;
+        }
+
+        List<ArrayList<NVertex<GraphInput.InputData>>> verticesOfComponents = new ArrayList<>(numComponents);
+        for (int c = 0; c < numComponents; c++) {
+            verticesOfComponents.add(new ArrayList<>());
+        }
+        for (int v = 0; v < numVertices; v++) {
+            verticesOfComponents.get(componentOf[v]).add(graph.vertices.get(v));
+        }
+        List<NGraph<GraphInput.InputData>> components = new ArrayList<>(numComponents);
+        for (ArrayList<NVertex<GraphInput.InputData>> verticesOfComponent : verticesOfComponents) {
+            ListGraph<GraphInput.InputData> component = new ListGraph<>();
+            component.vertices = verticesOfComponent;
+            components.add(component);
+        }
+        return components;
+    }
+
+    /**
+     * Builds the Graph with the nodes in id order. Every edge is listed once, from the vertex with the smaller id,
+     * ordered by that vertex and then by the order the edges were added.
+     */
+    Graph buildGraph() {
+        compact();
+        List<Node> nodes = new ArrayList<>(numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            Node node = new Node(names[v], v);
+            node.setInteger(integer[v]);
+            nodes.add(node);
+        }
+        List<Edge> edges = new ArrayList<>(numEdges);
+        Map<String, List<Node>> neighbourNodes = new LinkedHashMap<>();
+        for (int v = 0; v < numVertices; v++) {
+            List<Node> neighbourNodesOfVertex = new ArrayList<>(degrees[v]);
+            for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+                int neighbour = adjacency[k];
+                neighbourNodesOfVertex.add(nodes.get(neighbour));
+                if (v < neighbour) {
+                    edges.add(new Edge(nodes.get(v), nodes.get(neighbour)));
+                }
+            }
+            neighbourNodes.put(names[v], neighbourNodesOfVertex);
+        }
+
+        Graph graph = new Graph();
+        graph.setNodes(nodes);
+        graph.setEdges(edges);
+        graph.setNeighbourNodes(neighbourNodes);
+        return graph;
+    }
+}
@@ -1,37 +1,61 @@
 package main.java.parser;
 
+import main.java.graph.GraphStatistics;
 import main.java.main.Configuration;
-import main.java.graph.Edge;
 import main.java.graph.Graph;
-import main.java.graph.Node;
 import main.java.lp.LinearProgram;
 import main.java.lp.Row;
+import main.java.lp.SparseMatrix;
+import main.java.lp.Variable;
+import main.java.main.InterruptibleTask;
 import main.java.main.ThreadExecutor;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
 
 import java.util.*;
 
 
 /**
+ * Generates a graph representation of a LinearProgram. The vertices and edges are generated by int ids into a
+ * GraphBuilder, from which either the NGraph used by the algorithms is built directly or the Graph.
+ *
+ * A generator keeps no state between calls and only reads the LinearProgram, so the graph representations of one
+ * instance can be generated concurrently. The primal and dual generator split their main loop into ranges with
+ * computeRanges, each range collects the neighbours into its own buffer and the buffers are merged in index order,
+ * such that the generated graph does not depend on the number of threads.
+ *
  * Created by Verena on 09.03.2017.
  */
 public abstract class GraphGenerator extends ThreadExecutor {
-    protected static int vertexId = 0;
-    protected Map<String, Node> nodes = new HashMap<>();
-    protected List<Edge> edges = new ArrayList<>();
-    protected Map<String, List<Node>> neighbourNodes = new HashMap<>();
-
-    public abstract Graph linearProgramToGraph(LinearProgram lp) throws InterruptedException;
-
-    Graph createGraph(Map<String, Node> nodes, List<Edge> edges, Map<String, List<Node>> neighbourNodes) {
-        Graph graph = new Graph();
-        graph.setEdges(edges);
-        graph.setNeighbourNodes(neighbourNodes);
-        graph.setNodes(new ArrayList<>(nodes.values()));
-        return graph;
+
+    // below this estimated work, e.g. the number of entries visited, the ranges are not computed in parallel
+    private static final long MIN_PARALLEL_WORK = 1 << 16;
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * Adds the vertices and edges of the graph representation of lp to the builder
+     */
+    abstract void generate(LinearProgram lp, GraphBuilder builder) throws InterruptedException;
+
+    public Graph linearProgramToGraph(LinearProgram lp) throws InterruptedException {
+        GraphBuilder builder = new GraphBuilder();
+        generate(lp, builder);
+        return builder.buildGraph();
+    }
+
+    /**
+     * @return the graph representation of lp as NGraph with its components, without constructing a Graph first.
+     * The graph data is computed into graphStatistics, of which the LP statistics have to be set.
+     */
+    public NGraph<GraphInput.InputData> linearProgramToNGraph(LinearProgram lp, GraphStatistics graphStatistics) throws InterruptedException {
+        GraphBuilder builder = new GraphBuilder();
+        generate(lp, builder);
+        checkInterrupted();
+        return builder.buildNGraph(graphStatistics);
     }
 
     List<Row> getRows(LinearProgram lp) {
-        ArrayList rows;
+        List<Row> rows;
         if (Configuration.OBJ_FUNCTION) {
             // objective function is considered like a row in the matrix
             rows = new ArrayList<>(lp.getRows().values());
@@ -42,40 +66,129 @@ public abstract class GraphGenerator extends ThreadExecutor {
         return rows;
     }
 
-    protected Node generateNodeIfNotExists(String nodeName) {
-        Node node =  nodes.get(nodeName);
-        if (node == null) {
-            node = new Node(nodeName, vertexId++);
-            nodes.put(nodeName, node);
-            neighbourNodes.put(nodeName, new ArrayList<>());
+    /**
+     * @return for every variable id of lp the id of its vertex, -1 as long as it has none
+     */
+    static int[] createVertexIds(LinearProgram lp) {
+        int[] vertexIds = new int[lp.getVariables().size()];
+        Arrays.fill(vertexIds, -1);
+        return vertexIds;
+    }
+
+    /**
+     * @return the id of the vertex of the variable, which is added to the builder if it has none yet
+     */
+    static int getVariableVertex(Variable<?> variable, GraphBuilder builder, int[] vertexIds) {
+        int vertex = vertexIds[variable.getId()];
+        if (vertex == -1) {
+            vertex = builder.addVertex(variable.getName(), variable.isInteger());
+            vertexIds[variable.getId()] = vertex;
         }
-        return node;
+        return vertex;
     }
 
-    protected Node generateNode(String nodeName) {
-        Node node = new Node(nodeName, vertexId++);
-        nodes.put(nodeName, node);
-        neighbourNodes.put(node.getName(), new ArrayList<>());
-        return node;
+    /**
+     * @return for every row the ids of its variables
+     */
+    int[][] getVariablesOfRows(List<Row> rows) throws InterruptedException {
+        int[][] variablesOfRows = new int[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            if (i % 10 == 0) {
+                checkInterrupted();
+            }
+            List<Variable<?>> entries = rows.get(i).getVariableEntries();
+            variablesOfRows[i] = new int[entries.size()];
+            for (int k = 0; k < entries.size(); k++) {
+                variablesOfRows[i][k] = entries.get(k).getId();
+            }
+        }
+        return variablesOfRows;
     }
 
-    protected void generateEdge(Node node1, Node node2) {
-        Edge edge = new Edge(node1, node2);
-        edges.add(edge);
+    /**
+     * @return for every row the column indices of its entries in the sparse matrix
+     */
+    int[][] getVariablesOfRows(SparseMatrix matrix, List<Row> rows) {
+        int[][] variablesOfRows = new int[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.get(i).getIndex();
+            variablesOfRows[i] = new int[matrix.getRowLength(row)];
+            for (int k = matrix.getRowStart(row); k < matrix.getRowEnd(row); k++) {
+                variablesOfRows[i][k - matrix.getRowStart(row)] = matrix.getColumnIndex(k);
+            }
+        }
+        return variablesOfRows;
     }
 
-    protected void createNeighbours(Node node1, Node node2) {
-        addNeighbour(node2, node1);
-        addNeighbour(node1, node2);
+    /**
+     * @return for every variable id the ascending indices of the rows it occurs in, null for variables occurring in
+     * none. The first element of each array is the number of rows stored
+     */
+    int[][] createInvertedIndex(int[][] variablesOfRows) throws InterruptedException {
+        int numVariables = 0;
+        for (int[] variables : variablesOfRows) {
+            for (int variable : variables) {
+                numVariables = Math.max(numVariables, variable + 1);
+            }
+        }
+        int[][] rowsOfVariables = new int[numVariables][];
+        for (int i = 0; i < variablesOfRows.length; i++) {
+            if (i % 10 == 0) {
+                checkInterrupted();
+            }
+            for (int variable : variablesOfRows[i]) {
+                int[] rowsOfVariable = rowsOfVariables[variable];
+                if (rowsOfVariable == null) {
+                    rowsOfVariable = new int[4];
+                    rowsOfVariables[variable] = rowsOfVariable;
+                } else if (rowsOfVariable[rowsOfVariable[0]] == i) {
+                    // variable occurs multiple times in the same row
+                    continue;
+                } else if (rowsOfVariable[0] + 1 == rowsOfVariable.length) {
+                    rowsOfVariable = Arrays.copyOf(rowsOfVariable, 2 * rowsOfVariable.length);
+                    rowsOfVariables[variable] = rowsOfVariable;
+                }
+                rowsOfVariable[++rowsOfVariable[0]] = i;
+            }
+        }
+        return rowsOfVariables;
     }
 
-    private void addNeighbour(Node node, Node neighbourNode) {
-        if (!neighbourNodes.containsKey(neighbourNode.getName())) {
-            List<Node> neighboursVariableNode = new ArrayList<>();
-            neighboursVariableNode.add(node);
-            neighbourNodes.put(neighbourNode.getName(), neighboursVariableNode);
-        } else {
-            neighbourNodes.get(neighbourNode.getName()).add(node);
+    /**
+     * Splits the indices 0 to work.length - 1 into consecutive ranges of about the same work, where work[i] estimates
+     * the effort of index i, and computes the ranges as InterruptibleTasks if Configuration.COMPONENT_THREADS is
+     * larger than 1. Small inputs are computed as one range by the calling thread.
+     *
+     * @return the results of the ranges in index order
+     */
+    static <T> List<T> computeRanges(long[] work, RangeComputation<T> computation) throws InterruptedException {
+        long totalWork = 0;
+        for (long w : work) {
+            totalWork += w;
+        }
+        int numRanges = Math.min(work.length, RANGES_PER_THREAD * Configuration.COMPONENT_THREADS);
+        if (Configuration.COMPONENT_THREADS <= 1 || numRanges <= 1 || totalWork < MIN_PARALLEL_WORK) {
+            return Collections.singletonList(computation.compute(0, work.length));
         }
+
+        List<InterruptibleTask<T>> tasks = new ArrayList<>(numRanges);
+        int from = 0;
+        long doneWork = 0;
+        for (int r = 1; r <= numRanges && from < work.length; r++) {
+            int to = from;
+            long targetWork = totalWork * r / numRanges;
+            while (to < work.length && (to == from || doneWork < targetWork || r == numRanges)) {
+                doneWork += work[to++];
+            }
+            int rangeFrom = from;
+            int rangeTo = to;
+            tasks.add(new InterruptibleTask<>(() -> computation.compute(rangeFrom, rangeTo)));
+            from = to;
+        }
+        return InterruptibleTask.computeAll(tasks);
+    }
+
+    interface RangeComputation<T> {
+        T compute(int from, int to) throws InterruptedException;
     }
 }
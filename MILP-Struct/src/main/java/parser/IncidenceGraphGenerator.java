@@ -1,11 +1,13 @@
 package main.java.parser;
 
-import main.java.graph.Graph;
-import main.java.graph.Node;
 import main.java.lp.LinearProgram;
 import main.java.lp.Row;
+import main.java.lp.SparseMatrix;
 import main.java.lp.Variable;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Created by Verena on 18.08.2017.
  */
@@ -13,26 +15,61 @@ public class IncidenceGraphGenerator extends GraphGenerator {
 
     /**
      *
-     * @param lp the input (M)ILP of which the dual graph is constructed
-     * @return Incidence graph of the linear program
+     * @param lp the input (M)ILP of which the incidence graph is constructed
+     * @param builder the builder the vertices and edges are added to
      * @throws InterruptedException in case the thread is set to cancelled
      *  The incidence graph is constructed by taking the variables of the lp and the constraints as nodes
      *  and a variable is connected by an edge to a constraint iff the variable occurs in the constraint
      */
-    public Graph linearProgramToGraph(LinearProgram lp) throws InterruptedException {
+    @Override
+    void generate(LinearProgram lp, GraphBuilder builder) throws InterruptedException {
+        if (lp.getSparseMatrix() != null) {
+            sparseMatrixToGraph(lp.getSparseMatrix(), getRows(lp), builder);
+            return;
+        }
+        int[] vertexIds = createVertexIds(lp);
+        // lastConstraint[v] is the constraint vertex last connected to variable vertex v, to skip repeated entries
+        int[] lastConstraint = new int[lp.getVariables().size() + lp.getConstraints().size() + 1];
+        Arrays.fill(lastConstraint, -1);
         for (Row matrixRow : getRows(lp)) {
             checkInterrupted();
 
-            Node constraintNode = generateNode(matrixRow.getName());
-            for (Variable variableEntry : matrixRow.getVariableEntries()) {
-                Node variableNode = generateNodeIfNotExists(variableEntry.getName());
-                variableNode.setInteger(lp.getVariables().get(variableNode.getName()).isInteger());
-                generateEdge(constraintNode, variableNode);
-                createNeighbours(constraintNode, variableNode);
+            int constraintVertex = builder.addVertex(matrixRow.getName(), false);
+            for (Variable<?> variableEntry : matrixRow.getVariableEntries()) {
+                int variableVertex = getVariableVertex(variableEntry, builder, vertexIds);
+                if (lastConstraint[variableVertex] != constraintVertex) {
+                    lastConstraint[variableVertex] = constraintVertex;
+                    builder.addEdge(constraintVertex, variableVertex);
+                }
             }
         }
+    }
 
-        Graph incidenceGraph = createGraph(nodes, edges, neighbourNodes);
-        return incidenceGraph;
+    /**
+     * Same as generate, but the variables and their integer flags are taken from the sparse matrix
+     */
+    private void sparseMatrixToGraph(SparseMatrix matrix, List<Row> rows, GraphBuilder builder) throws InterruptedException {
+        int[] vertexIds = new int[matrix.getNumVariables()];
+        Arrays.fill(vertexIds, -1);
+        int[] lastConstraint = new int[matrix.getNumVariables() + matrix.getNumRows()];
+        Arrays.fill(lastConstraint, -1);
+        for (Row matrixRow : rows) {
+            checkInterrupted();
+
+            int constraintVertex = builder.addVertex(matrixRow.getName(), false);
+            int row = matrixRow.getIndex();
+            for (int k = matrix.getRowStart(row); k < matrix.getRowEnd(row); k++) {
+                int column = matrix.getColumnIndex(k);
+                int variableVertex = vertexIds[column];
+                if (variableVertex == -1) {
+                    variableVertex = builder.addVertex(matrix.getVariableName(column), matrix.isInteger(column));
+                    vertexIds[column] = variableVertex;
+                }
+                if (lastConstraint[variableVertex] != constraintVertex) {
+                    lastConstraint[variableVertex] = constraintVertex;
+                    builder.addEdge(constraintVertex, variableVertex);
+                }
+            }
+        }
     }
 }
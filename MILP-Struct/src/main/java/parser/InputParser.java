@@ -1,12 +1,27 @@
 package main.java.parser;
 
+import main.java.algo.BucketGreedyDegree;
+import main.java.algo.BucketMaximumCardinalitySearch;
+import main.java.algo.BucketMaximumMinimumDegreePlusLeastC;
+import main.java.algo.CompactTreewidthDP;
+import main.java.algo.IncrementalGreedyFillIn;
+import main.java.algo.ParallelAllStartLexBFS;
+import main.java.algo.ParallelAllStartMaximumCardinalitySearch;
+import main.java.algo.ParallelAllStartMaximumMinimumDegreePlusLeastC;
+import main.java.algo.ParallelAllStartMinorMinWidth;
+import main.java.algo.ParallelQuickBB;
+import main.java.algo.SparseRamachandramurthi;
 import main.java.exception.InputArgumentsException;
 import main.java.main.Configuration;
 import main.java.main.HelpPage;
+import nl.uu.cs.treewidth.algorithm.MaximumMinimumDegree;
+import nl.uu.cs.treewidth.algorithm.MinorMinWidth;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Parses the input arguments of the program
@@ -120,7 +135,10 @@ public class InputParser {
     }
 
     private static void parseStructuralParameterArguments(String[] args) throws InputArgumentsException {
-        boolean expectOutputFile = false, expectGraphType = false;
+        boolean expectOutputFile = false, expectGraphType = false, expectNumThreads = false, expectUpperBoundAlg = false;
+        boolean expectLowerBoundAlg = false;
+        boolean expectComponentThreads = false, expectCacheSize = false, expectSpillFolder = false;
+        boolean expectLowerBoundPortfolio = false, expectUpperBoundPortfolio = false, expectPortfolioTimeout = false;
         for (int i = 1; i < args.length; i++) {
             switch (args[i]) {
                 case "-o":
@@ -135,10 +153,72 @@ public class InputParser {
                     expectGraphType = true;
                     break;
 
+                case "-t":
+                case "--threads":
+                    expectNumThreads = true;
+                    break;
+
+                case "-ct":
+                case "--componentthreads":
+                    expectComponentThreads = true;
+                    break;
+
+                case "--ubalg":
+                    expectUpperBoundAlg = true;
+                    break;
+
+                case "--lbalg":
+                    expectLowerBoundAlg = true;
+                    break;
+
+                case "--cachesize":
+                    expectCacheSize = true;
+                    break;
+
+                case "--dpspill":
+                    expectSpillFolder = true;
+                    break;
+
+                case "--lbportfolio":
+                    expectLowerBoundPortfolio = true;
+                    break;
+
+                case "--ubportfolio":
+                    expectUpperBoundPortfolio = true;
+                    break;
+
+                case "--portfoliotime":
+                    expectPortfolioTimeout = true;
+                    break;
+
                 case "--obj":
                     Configuration.OBJ_FUNCTION = true;
                     break;
 
+                case "--resume":
+                    Configuration.RESUME = true;
+                    break;
+
+                case "--metrics":
+                    Configuration.METRICS = true;
+                    break;
+
+                case "--reduce":
+                    Configuration.REDUCTION = true;
+                    break;
+
+                case "--mmap":
+                    Configuration.MAPPED_PARSER = true;
+                    break;
+
+                case "--sparse":
+                    Configuration.SPARSE_MATRIX = true;
+                    break;
+
+                case "--intgraph":
+                    Configuration.INT_GRAPH = true;
+                    break;
+
                 case "--ub":
                 case "--UB":
                 case "--upperbound":
@@ -169,6 +249,51 @@ public class InputParser {
                         expectOutputFile = false;
                         break;
                     }
+                    if (expectNumThreads) {
+                        parseNumThreads(args[i]);
+                        expectNumThreads = false;
+                        break;
+                    }
+                    if (expectComponentThreads) {
+                        parseComponentThreads(args[i]);
+                        expectComponentThreads = false;
+                        break;
+                    }
+                    if (expectCacheSize) {
+                        parseCacheSize(args[i]);
+                        expectCacheSize = false;
+                        break;
+                    }
+                    if (expectSpillFolder) {
+                        parseSpillFolder(args[i]);
+                        expectSpillFolder = false;
+                        break;
+                    }
+                    if (expectUpperBoundAlg) {
+                        parseUpperBoundAlgorithm(args[i]);
+                        expectUpperBoundAlg = false;
+                        break;
+                    }
+                    if (expectLowerBoundAlg) {
+                        parseLowerBoundAlgorithm(args[i]);
+                        expectLowerBoundAlg = false;
+                        break;
+                    }
+                    if (expectLowerBoundPortfolio) {
+                        parseLowerBoundPortfolio(args[i]);
+                        expectLowerBoundPortfolio = false;
+                        break;
+                    }
+                    if (expectUpperBoundPortfolio) {
+                        parseUpperBoundPortfolio(args[i]);
+                        expectUpperBoundPortfolio = false;
+                        break;
+                    }
+                    if (expectPortfolioTimeout) {
+                        parsePortfolioTimeout(args[i]);
+                        expectPortfolioTimeout = false;
+                        break;
+                    }
                     if (expectGraphType) {
                         parseGraphType(args[i]);
                         break;
@@ -182,6 +307,127 @@ public class InputParser {
         Configuration.OUTPUT_FILE = outputFile;
     }
 
+    private static void parseNumThreads(String arg) throws InputArgumentsException {
+        try {
+            Configuration.NUM_THREADS = Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            throw new InputArgumentsException("Error: Number of threads must be an integer!");
+        }
+        if (Configuration.NUM_THREADS < 1) {
+            throw new InputArgumentsException("Error: Number of threads must be at least 1!");
+        }
+    }
+
+    private static void parseComponentThreads(String arg) throws InputArgumentsException {
+        try {
+            Configuration.COMPONENT_THREADS = Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            throw new InputArgumentsException("Error: Number of component threads must be an integer!");
+        }
+        if (Configuration.COMPONENT_THREADS < 1) {
+            throw new InputArgumentsException("Error: Number of component threads must be at least 1!");
+        }
+    }
+
+    private static void parseCacheSize(String arg) throws InputArgumentsException {
+        try {
+            Configuration.CACHE_SIZE = Long.parseLong(arg);
+        } catch (NumberFormatException e) {
+            throw new InputArgumentsException("Error: Cache size must be an integer!");
+        }
+        if (Configuration.CACHE_SIZE < 0) {
+            throw new InputArgumentsException("Error: Cache size must not be negative!");
+        }
+    }
+
+    private static void parseSpillFolder(String arg) throws InputArgumentsException {
+        File folder = new File(arg);
+        if (folder.exists() && !folder.isDirectory()) {
+            throw new InputArgumentsException("Error: Spill folder " + arg + " is not a directory!");
+        }
+        Configuration.DP_SPILL_FOLDER = arg;
+    }
+
+    private static void parseUpperBoundAlgorithm(String arg) throws InputArgumentsException {
+        if (arg.equalsIgnoreCase("degree") || arg.equalsIgnoreCase("greedydegree")) {
+            Configuration.UPPER_BOUND_ALG = BucketGreedyDegree.class;
+        } else if (arg.equalsIgnoreCase("fillin") || arg.equalsIgnoreCase("greedyfillin")) {
+            Configuration.UPPER_BOUND_ALG = IncrementalGreedyFillIn.class;
+        } else if (arg.equalsIgnoreCase("lexbfs")) {
+            Configuration.UPPER_BOUND_ALG = ParallelAllStartLexBFS.class;
+        } else if (arg.equalsIgnoreCase("quickbb")) {
+            Configuration.UPPER_BOUND_ALG = ParallelQuickBB.class;
+        } else if (arg.equalsIgnoreCase("dp")) {
+            Configuration.UPPER_BOUND_ALG = CompactTreewidthDP.class;
+        } else {
+            throw new InputArgumentsException("Error: Upper bound algorithm " + arg + " is not recognized!");
+        }
+    }
+
+    private static void parseLowerBoundAlgorithm(String arg) throws InputArgumentsException {
+        Configuration.LOWER_BOUND_ALG = getLowerBoundAlgorithm(arg);
+    }
+
+    private static void parseLowerBoundPortfolio(String arg) throws InputArgumentsException {
+        List<Class<?>> algorithms = new ArrayList<>();
+        for (String name : arg.split(",")) {
+            algorithms.add(getLowerBoundAlgorithm(name));
+        }
+        Configuration.LOWER_BOUND_PORTFOLIO = algorithms;
+    }
+
+    private static Class<?> getLowerBoundAlgorithm(String name) throws InputArgumentsException {
+        if (name.equalsIgnoreCase("mmd+") || name.equalsIgnoreCase("mmdleastc")) {
+            return BucketMaximumMinimumDegreePlusLeastC.class;
+        } else if (name.equalsIgnoreCase("mmd")) {
+            return MaximumMinimumDegree.class;
+        } else if (name.equalsIgnoreCase("minor") || name.equalsIgnoreCase("minorminwidth")) {
+            return MinorMinWidth.class;
+        } else if (name.equalsIgnoreCase("mcs")) {
+            return BucketMaximumCardinalitySearch.class;
+        } else if (name.equalsIgnoreCase("rama") || name.equalsIgnoreCase("ramachandramurthi")) {
+            return SparseRamachandramurthi.class;
+        } else if (name.equalsIgnoreCase("allmmd+") || name.equalsIgnoreCase("allmmdleastc")) {
+            return ParallelAllStartMaximumMinimumDegreePlusLeastC.class;
+        } else if (name.equalsIgnoreCase("allminor") || name.equalsIgnoreCase("allminorminwidth")) {
+            return ParallelAllStartMinorMinWidth.class;
+        } else if (name.equalsIgnoreCase("allmcs")) {
+            return ParallelAllStartMaximumCardinalitySearch.class;
+        }
+        throw new InputArgumentsException("Error: Lower bound algorithm " + name + " is not recognized!");
+    }
+
+    private static void parseUpperBoundPortfolio(String arg) throws InputArgumentsException {
+        List<Class<?>> algorithms = new ArrayList<>();
+        for (String name : arg.split(",")) {
+            if (name.equalsIgnoreCase("degree") || name.equalsIgnoreCase("greedydegree")) {
+                algorithms.add(BucketGreedyDegree.class);
+            } else if (name.equalsIgnoreCase("fillin") || name.equalsIgnoreCase("greedyfillin")) {
+                algorithms.add(IncrementalGreedyFillIn.class);
+            } else if (name.equalsIgnoreCase("lexbfs")) {
+                algorithms.add(ParallelAllStartLexBFS.class);
+            } else if (name.equalsIgnoreCase("quickbb")) {
+                algorithms.add(ParallelQuickBB.class);
+            } else if (name.equalsIgnoreCase("dp")) {
+                algorithms.add(CompactTreewidthDP.class);
+            } else {
+                throw new InputArgumentsException("Error: Upper bound algorithm " + name + " is not recognized!");
+            }
+        }
+        Configuration.UPPER_BOUND_PORTFOLIO = algorithms;
+    }
+
+    private static void parsePortfolioTimeout(String arg) throws InputArgumentsException {
+        try {
+            Configuration.PORTFOLIO_TIMEOUT = Long.parseLong(arg);
+        } catch (NumberFormatException e) {
+            throw new InputArgumentsException("Error: Portfolio timeout must be an integer!");
+        }
+        if (Configuration.PORTFOLIO_TIMEOUT < 0) {
+            throw new InputArgumentsException("Error: Portfolio timeout must not be negative!");
+        }
+    }
+
     private static void parseGraphType(String arg) throws InputArgumentsException {
         String graphType = arg;
         if (graphType.equalsIgnoreCase("p") || graphType.equalsIgnoreCase("primal")) {
@@ -1,6 +1,7 @@
 package main.java.parser;
 
 import main.java.lp.*;
+import main.java.main.Configuration;
 import main.java.main.ThreadExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,13 +22,23 @@ public class MILPParser extends ThreadExecutor {
     private static final int COL_1_START = 4;
     private static final int COL_2_START = 14;
 
+    private SparseMatrixBuilder sparseMatrixBuilder;
+    private Map<Variable<?>, Variable<?>> convertedVariables; // variables with bound type BV converted to integer
+
     public LinearProgram parseMPS(String filename) throws IOException, InterruptedException {
+        sparseMatrixBuilder = Configuration.SPARSE_MATRIX ? new SparseMatrixBuilder() : null;
+        convertedVariables = new IdentityHashMap<>();
         LinearProgram lp = constructLP(filename);
+        replaceConvertedVariables(lp);
+        if (sparseMatrixBuilder != null) {
+            lp.setSparseMatrix(sparseMatrixBuilder.build(lp));
+            sparseMatrixBuilder = null;
+        }
         computeLPStatistics(lp);
         return lp;
     }
 
-    private LinearProgram constructLP(String filePath) throws IOException, InterruptedException {
+    protected LinearProgram constructLP(String filePath) throws IOException, InterruptedException {
         LinearProgram lp = new LinearProgram();
         FileInputStream inputStream;
         Scanner sc = null;
@@ -88,11 +99,22 @@ public class MILPParser extends ThreadExecutor {
             line = sc.nextLine();
         }
         lp.setConstraints(constraints);
+        setObjectiveFunctionIndex(lp);
+    }
+
+    /**
+     * The objective function is the last row of the SparseMatrix, after all constraints
+     */
+    protected void setObjectiveFunctionIndex(LinearProgram lp) {
+        if (lp.getObjectiveFunction() != null) {
+            lp.getObjectiveFunction().setIndex(lp.getConstraints().size());
+        }
     }
 
     private void createMatrixRow(List<MatrixRow> constraints, String line) {
         // matrix row
         MatrixRow row = new MatrixRow();
+        row.setIndex(constraints.size());
         row.setEquality(parseEquality(line.substring(COL_0_START, COL_0_START + 1)));
         row.setName(line.substring(COL_1_START).trim());
         row.setVariableEntries(new ArrayList<>());
@@ -112,10 +134,10 @@ public class MILPParser extends ThreadExecutor {
     }
 
     private void parseColumns(LinearProgram lp, Scanner sc) throws IOException, InterruptedException {
-        Map<String, Variable> variables = new HashMap<>();
+        Map<String, Variable<?>> variables = new HashMap<>();
         lp.setVariables(variables);
         String[] lineContents;
-        Variable variable;
+        Variable<?> variable = null;
         String line = sc.nextLine();
         Map<String, Row> rows = lp.getRows();
         boolean integerVariable = false;
@@ -136,13 +158,13 @@ public class MILPParser extends ThreadExecutor {
             } else {
                 lineContents = getDataWithoutSpaces(line);
                 if (!lineContents[0].equals("")) {
-                    if (integerVariable) {
-                        variable = new IntegerVariable(lineContents[0]);
-                    } else {
-                        variable = new RealVariable(lineContents[0]);
-                        integerLP = false;
+                    // consecutive lines of the same column share one variable
+                    if (variable == null || !variable.getName().equals(lineContents[0])) {
+                        variable = createVariable(variables, lineContents[0], integerVariable);
+                        if (!integerVariable) {
+                            integerLP = false;
+                        }
                     }
-                    variables.put(variable.getName(), variable);
                     createRowEntries(lineContents, rows, variable);
                 }
             }
@@ -151,11 +173,24 @@ public class MILPParser extends ThreadExecutor {
         lp.setIntegerLP(integerLP);
     }
 
+    /**
+     * Creates the variable with the next free id, a variable appearing again later in the COLUMNS section is reused
+     */
+    protected Variable<?> createVariable(Map<String, Variable<?>> variables, String name, boolean integerVariable) {
+        Variable<?> variable = variables.get(name);
+        if (variable == null) {
+            variable = integerVariable ? new IntegerVariable(name) : new RealVariable(name);
+            variable.setId(variables.size());
+            variables.put(name, variable);
+        }
+        return variable;
+    }
+
     private boolean swapIntegerVariable(String line) {
         return line.length() >= 21 && line.substring(COL_2_START, COL_2_START + 8).equals("'MARKER'");
     }
 
-    private void createRowEntries(String[] lineContents, Map<String, Row> rows, Variable variable) {
+    private void createRowEntries(String[] lineContents, Map<String, Row> rows, Variable<?> variable) {
         String rowName = lineContents[1];
         Row currentRow = rows.get(rowName);
 
@@ -166,7 +201,7 @@ public class MILPParser extends ThreadExecutor {
 
         double coefficient = Double.valueOf(lineContents[2]);
         if (coefficient != 0.0) {
-            addRowEntry(currentRow, variable);
+            addRowEntry(currentRow, variable, coefficient);
         }
 
         if (lineContents.length >= 5) {
@@ -174,19 +209,24 @@ public class MILPParser extends ThreadExecutor {
             rowName = lineContents[3];
             currentRow = rows.get(rowName);
             coefficient = Double.valueOf(lineContents[4]);
-            if (coefficient != 0.0) {
-                addRowEntry(currentRow, variable);
+            if (currentRow == null) {
+                LOGGER.warn("Row " + rowName + " was not found, cannot create row entries");
+            } else if (coefficient != 0.0) {
+                addRowEntry(currentRow, variable, coefficient);
             }
         }
     }
 
-    private void addRowEntry(Row row, Variable variable) {
+    protected void addRowEntry(Row row, Variable<?> variable, double coefficient) {
 
         if (row.getVariableEntries() == null || row.getVariableEntries().isEmpty()) {
-            List<Variable> entries = new ArrayList<>();
+            List<Variable<?>> entries = new ArrayList<>();
             row.setVariableEntries(entries);
         }
         row.getVariableEntries().add(variable);
+        if (sparseMatrixBuilder != null) {
+            sparseMatrixBuilder.addEntry(row.getIndex(), variable.getId(), coefficient);
+        }
     }
 
     private void parseRHS(LinearProgram lp, Scanner sc) throws IOException {
@@ -202,18 +242,12 @@ public class MILPParser extends ThreadExecutor {
 
             lineContents = getDataWithoutSpaces(line);
 
-            if (lineContents.length >= 2) {
-                String rowName = lineContents[1];
-                double rightHandSideValue = Double.valueOf(lineContents[2]);
-                Row currentRow = rows.get(rowName);
-                ((MatrixRow) currentRow).setRightHandSide(rightHandSideValue);
+            if (lineContents.length >= 3) {
+                setRightHandSide(rows, lineContents[1], Double.valueOf(lineContents[2]));
 
                 if (lineContents.length >= 5) {
                     // parse for another constraint the rhs
-                    rowName = lineContents[3];
-                    rightHandSideValue = Double.valueOf(lineContents[2]);
-                    currentRow = rows.get(rowName);
-                    ((MatrixRow) currentRow).setRightHandSide(rightHandSideValue);
+                    setRightHandSide(rows, lineContents[3], Double.valueOf(lineContents[4]));
                 }
             }
 
@@ -226,21 +260,29 @@ public class MILPParser extends ThreadExecutor {
         }
     }
 
+    protected void setRightHandSide(Map<String, Row> rows, String rowName, double rightHandSideValue) {
+        Row row = rows.get(rowName);
+        if (row instanceof MatrixRow) {
+            ((MatrixRow) row).setRightHandSide(rightHandSideValue);
+        } else if (row == null) {
+            LOGGER.warn("Row " + rowName + " was not found, cannot set right hand side");
+        }
+    }
+
     private void parseOptionalBounds(LinearProgram lp, Scanner sc) throws IOException {
         if (sc.hasNext()) {
             String line = sc.nextLine();
             while (line != null && !line.startsWith("ENDATA")) {
-                Map<String, Variable> variables = lp.getVariables();
+                Map<String, Variable<?>> variables = lp.getVariables();
                 String[] lineContents = getDataWithoutSpaces(line);
 
                 if (lineContents.length >= 3) {
                     String boundType = lineContents[0];
                     String variableName = lineContents[2];
-                    Variable variable = variables.get(variableName);
+                    Variable<?> variable = variables.get(variableName);
                     handleBoundType(lp, boundType, variable);
-
-                    line = sc.nextLine();
                 }
+                line = sc.nextLine();
             }
         }
     }
@@ -248,11 +290,15 @@ public class MILPParser extends ThreadExecutor {
     /**
      * Definition of boundType according to http://miplib.zib.de/miplib3/mps_format.txt, section E.
     */
-    private void handleBoundType(LinearProgram lp, String boundType, Variable variable) {
+    protected void handleBoundType(LinearProgram lp, String boundType, Variable<?> variable) {
+        if (variable == null) {
+            LOGGER.warn("Bound of unknown variable found, bound is ignored");
+            return;
+        }
         switch (boundType) {
             case "BV":
                 // binary variable, should be integer variable
-                // if variable is not integer, then delete old non-integer variable and add integer variable
+                // if variable is not integer, then replace old non-integer variable by an integer variable
                 if (!variable.isInteger()) {
                     LOGGER.trace("Variable " + variable.getName() + " converted to integer");
                     convertToIntegerVariable(lp, variable);
@@ -269,19 +315,33 @@ public class MILPParser extends ThreadExecutor {
         }
     }
 
-    private void convertToIntegerVariable(LinearProgram lp, Variable oldVariable) {
-        Variable newVariable = new IntegerVariable(oldVariable.getName());
+    private void convertToIntegerVariable(LinearProgram lp, Variable<?> oldVariable) {
+        Variable<?> newVariable = new IntegerVariable(oldVariable.getName());
+        newVariable.setId(oldVariable.getId());
         lp.getVariables().replace(oldVariable.getName(), newVariable);
-        for (Row row : lp.getConstraints()) {
-            if (row.getVariableEntries().contains(oldVariable)) {
-                row.getVariableEntries().remove(oldVariable);
-                row.getVariableEntries().add(newVariable);
-            }
+        convertedVariables.put(oldVariable, newVariable);
+    }
+
+    /**
+     * Replaces the converted variables in all rows in one pass, keeping the order of the row entries
+     */
+    private void replaceConvertedVariables(LinearProgram lp) throws InterruptedException {
+        if (convertedVariables.isEmpty()) {
+            return;
         }
-        Row objectiveFunction = lp.getObjectiveFunction();
-        if (objectiveFunction.getVariableEntries().contains(oldVariable)) {
-            objectiveFunction.getVariableEntries().remove(oldVariable);
-            objectiveFunction.getVariableEntries().add(newVariable);
+        List<Row> rows = new ArrayList<>(lp.getConstraints());
+        if (lp.getObjectiveFunction() != null) {
+            rows.add(lp.getObjectiveFunction());
+        }
+        for (Row row : rows) {
+            checkInterrupted();
+            ListIterator<Variable<?>> entries = row.getVariableEntries().listIterator();
+            while (entries.hasNext()) {
+                Variable<?> newVariable = convertedVariables.get(entries.next());
+                if (newVariable != null) {
+                    entries.set(newVariable);
+                }
+            }
         }
     }
 
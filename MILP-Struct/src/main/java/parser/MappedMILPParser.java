@@ -0,0 +1,534 @@
+package main.java.parser;
+
+import main.java.lp.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Parses a (M)ILP instance in the MPS format like the MILPParser, but maps the file into memory and tokenizes the
+ * bytes directly. Fields are kept as offsets into the mapped buffer and numbers are parsed without intermediate
+ * Strings, Strings are only created for the names of rows and variables.
+ *
+ * The file is mapped in windows of at most WINDOW_SIZE bytes, a window always starts at the beginning of a line.
+ */
+public class MappedMILPParser extends MILPParser {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(MappedMILPParser.class);
+
+    private static final int WINDOW_SIZE = 1 << 30;
+    private static final int MAX_TOKENS = 8;
+    private static final int COL_0_START = 1;
+    private static final int COL_1_START = 4;
+
+    private static final byte[] NAME = bytes("NAME");
+    private static final byte[] COLUMNS = bytes("COLUMNS");
+    private static final byte[] RHS = bytes("RHS");
+    private static final byte[] RANGES = bytes("RANGES");
+    private static final byte[] BOUNDS = bytes("BOUNDS");
+    private static final byte[] ENDATA = bytes("ENDATA");
+    private static final byte[] MARKER = bytes("'MARKER'");
+    private static final byte[] INTORG = bytes("'INTORG'");
+    private static final byte[] INTEND = bytes("'INTEND'");
+
+    // 10^0 to 10^22 are exactly representable as doubles
+    private static final double[] POWERS_OF_TEN = new double[23];
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private FileChannel channel;
+    private long fileSize;
+    private long windowStart;
+    private MappedByteBuffer buffer;
+    private int position;
+
+    // the current line is [lineStart, lineEnd) of the buffer, its fields are [tokenStart[i], tokenEnd[i])
+    private int lineStart;
+    private int lineEnd;
+    private final int[] tokenStart = new int[MAX_TOKENS];
+    private final int[] tokenEnd = new int[MAX_TOKENS];
+    private int numTokens;
+
+    private RowTable rowTable;
+
+    @Override
+    protected LinearProgram constructLP(String filePath) throws IOException, InterruptedException {
+        LinearProgram lp = new LinearProgram();
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath.trim()), StandardOpenOption.READ)) {
+            channel = fileChannel;
+            fileSize = channel.size();
+            map(0);
+            parseName(lp);
+            parseRows(lp);
+            parseColumns(lp);
+            if (parseRHS(lp)) {
+                parseOptionalBounds(lp);
+            }
+        } catch (IOException e) {
+            LOGGER.error("", e);
+        } finally {
+            channel = null;
+            buffer = null;
+            rowTable = null;
+        }
+        return lp;
+    }
+
+    private void parseName(LinearProgram lp) throws IOException {
+        if (nextLine() && startsWith(NAME)) {
+            lp.setName(trimmedString(lineStart + COL_1_START, lineEnd));
+        }
+    }
+
+    private void parseRows(LinearProgram lp) throws IOException, InterruptedException {
+        List<MatrixRow> constraints = new ArrayList<>();
+        lp.setConstraints(constraints);
+
+        // ROWS
+        nextLine();
+
+        int iteration = 0;
+        while (nextLine() && !startsWith(COLUMNS)) {
+            if (iteration++ % 10 == 0) {
+                checkInterrupted();
+            }
+            if (lineEnd > lineStart) {
+                if (charAt(COL_0_START) == 'N') {
+                    if (lp.getObjectiveFunction() != null) {
+                        LOGGER.warn("Multiple objective functions in .mps file detected, creating another constraint instead");
+                        createMatrixRow(constraints);
+                    } else {
+                        // objective function
+                        Row row = new Row();
+                        row.setName(trimmedString(lineStart + COL_1_START, lineEnd));
+                        row.setVariableEntries(new ArrayList<>());
+                        lp.setObjectiveFunction(row);
+                    }
+                } else {
+                    createMatrixRow(constraints);
+                }
+            }
+        }
+        setObjectiveFunctionIndex(lp);
+        rowTable = new RowTable(lp.getRows());
+    }
+
+    private void createMatrixRow(List<MatrixRow> constraints) {
+        // matrix row
+        MatrixRow row = new MatrixRow();
+        row.setIndex(constraints.size());
+        row.setEquality(parseEquality(charAt(COL_0_START)));
+        row.setName(trimmedString(lineStart + COL_1_START, lineEnd));
+        row.setVariableEntries(new ArrayList<>());
+        constraints.add(row);
+    }
+
+    private LinearProgram.Equality parseEquality(byte type) {
+        switch (type) {
+            case 'G':
+                return LinearProgram.Equality.GREATER_THAN;
+            case 'L':
+                return LinearProgram.Equality.LESS_THAN;
+            default:
+                return LinearProgram.Equality.EQUAL;
+        }
+    }
+
+    private void parseColumns(LinearProgram lp) throws IOException, InterruptedException {
+        Map<String, Variable<?>> variables = new HashMap<>();
+        lp.setVariables(variables);
+        Variable<?> variable = null;
+        boolean integerVariable = false;
+        boolean integerLP = true;
+        int iteration = 0;
+        while (nextLine() && !startsWith(RHS)) {
+            if (iteration++ % 10 == 0) {
+                checkInterrupted();
+            }
+            tokenize();
+            if (numTokens == 0) {
+                continue;
+            }
+            // checks if the following are integer variables
+            if (numTokens >= 3 && tokenEquals(1, MARKER)) {
+                if (tokenEquals(2, INTORG)) {
+                    integerVariable = true;
+                }
+                if (tokenEquals(2, INTEND)) {
+                    integerVariable = false;
+                }
+                continue;
+            }
+            // consecutive lines of the same column share one variable
+            if (variable == null || !tokenEquals(0, variable.getName())) {
+                variable = createVariable(variables, tokenString(0), integerVariable);
+                if (!integerVariable) {
+                    integerLP = false;
+                }
+            }
+            createRowEntries(variable);
+        }
+        lp.setIntegerLP(integerLP);
+    }
+
+    private void createRowEntries(Variable<?> variable) {
+        if (numTokens < 3) {
+            return;
+        }
+        Row currentRow = rowTable.get(buffer, tokenStart[1], tokenEnd[1]);
+        if (currentRow == null) {
+            LOGGER.warn("Row " + tokenString(1) + " was not found, cannot create row entries");
+            return;
+        }
+        double coefficient = parseDouble(2);
+        if (coefficient != 0.0) {
+            addRowEntry(currentRow, variable, coefficient);
+        }
+
+        if (numTokens >= 5) {
+            // create for another row a matrix entry for this variable
+            currentRow = rowTable.get(buffer, tokenStart[3], tokenEnd[3]);
+            coefficient = parseDouble(4);
+            if (currentRow == null) {
+                LOGGER.warn("Row " + tokenString(3) + " was not found, cannot create row entries");
+            } else if (coefficient != 0.0) {
+                addRowEntry(currentRow, variable, coefficient);
+            }
+        }
+    }
+
+    /**
+     * @return true if the RHS section is followed by a BOUNDS section
+     */
+    private boolean parseRHS(LinearProgram lp) throws IOException, InterruptedException {
+        Map<String, Row> rows = lp.getRows();
+        int iteration = 0;
+        while (nextLine()) {
+            if (iteration++ % 10 == 0) {
+                checkInterrupted();
+            }
+            if (startsWith(BOUNDS)) {
+                return true;
+            }
+            if (startsWith(ENDATA)) {
+                return false;
+            }
+            // netdiversion.mps has an empty ranges section
+            if (startsWith(RANGES)) {
+                continue;
+            }
+
+            tokenize();
+            if (numTokens >= 3) {
+                setRightHandSide(rows, tokenString(1), parseDouble(2));
+
+                if (numTokens >= 5) {
+                    // parse for another constraint the rhs
+                    setRightHandSide(rows, tokenString(3), parseDouble(4));
+                }
+            }
+        }
+        return false;
+    }
+
+    private void parseOptionalBounds(LinearProgram lp) throws IOException, InterruptedException {
+        Map<String, Variable<?>> variables = lp.getVariables();
+        int iteration = 0;
+        while (nextLine() && !startsWith(ENDATA)) {
+            if (iteration++ % 10 == 0) {
+                checkInterrupted();
+            }
+            tokenize();
+            if (numTokens >= 3) {
+                handleBoundType(lp, tokenString(0), variables.get(tokenString(2)));
+            }
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, fileSize - start));
+        position = 0;
+    }
+
+    /**
+     * Advances to the next line, a line that does not end within the current window causes the remaining file
+     * to be mapped starting at this line
+     *
+     * @return false if the end of the file is reached
+     */
+    private boolean nextLine() throws IOException {
+        int limit = buffer.limit();
+        if (position >= limit && windowStart + limit >= fileSize) {
+            return false;
+        }
+        int end = indexOfNewline(position, limit);
+        if (end == limit && windowStart + limit < fileSize) {
+            map(windowStart + position);
+            limit = buffer.limit();
+            end = indexOfNewline(0, limit);
+        }
+        lineStart = position;
+        lineEnd = end;
+        position = end + 1;
+        if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        numTokens = 0;
+        return true;
+    }
+
+    private int indexOfNewline(int from, int limit) {
+        int i = from;
+        while (i < limit && buffer.get(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Splits the current line at whitespaces into at most MAX_TOKENS fields
+     */
+    private void tokenize() {
+        numTokens = 0;
+        int i = lineStart;
+        while (i < lineEnd && numTokens < MAX_TOKENS) {
+            while (i < lineEnd && isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            if (i == lineEnd) {
+                break;
+            }
+            tokenStart[numTokens] = i;
+            while (i < lineEnd && !isWhitespace(buffer.get(i))) {
+                i++;
+            }
+            tokenEnd[numTokens++] = i;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    private byte charAt(int column) {
+        return lineStart + column < lineEnd ? buffer.get(lineStart + column) : 0;
+    }
+
+    private boolean startsWith(byte[] prefix) {
+        if (lineEnd - lineStart < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(lineStart + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tokenEquals(int token, byte[] value) {
+        int start = tokenStart[token];
+        if (tokenEnd[token] - start != value.length) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (buffer.get(start + i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the token with an ASCII string, names with other characters never match and are decoded instead
+     */
+    private boolean tokenEquals(int token, String value) {
+        int start = tokenStart[token];
+        if (tokenEnd[token] - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (buffer.get(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String tokenString(int token) {
+        return string(tokenStart[token], tokenEnd[token]);
+    }
+
+    private String trimmedString(int start, int end) {
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        return string(start, end);
+    }
+
+    private String string(int start, int end) {
+        if (start >= end) {
+            return "";
+        }
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses plain decimal numbers with at most 18 significant digits and a small exponent directly from the buffer,
+     * this is exact as mantissa and power of ten are representable as doubles. Any other number is handed to
+     * Double.valueOf, such that the result is always the same as for the MILPParser.
+     */
+    private double parseDouble(int token) {
+        int i = tokenStart[token];
+        int end = tokenEnd[token];
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean digitFound = false;
+        byte c;
+        while (i < end && (c = buffer.get(i)) >= '0' && c <= '9') {
+            mantissa = mantissa * 10 + (c - '0');
+            if (mantissa != 0) {
+                significantDigits++;
+            }
+            digitFound = true;
+            i++;
+        }
+        if (i < end && buffer.get(i) == '.') {
+            i++;
+            while (i < end && (c = buffer.get(i)) >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+                exponent--;
+                digitFound = true;
+                i++;
+            }
+        }
+        if (digitFound && i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+            int explicitExponent = 0;
+            boolean exponentDigitFound = false;
+            while (i < end && (c = buffer.get(i)) >= '0' && c <= '9' && explicitExponent < 1000) {
+                explicitExponent = explicitExponent * 10 + (c - '0');
+                exponentDigitFound = true;
+                i++;
+            }
+            if (!exponentDigitFound) {
+                return Double.valueOf(tokenString(token));
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (!digitFound || i != end || significantDigits > 18 || mantissa >= MAX_EXACT_MANTISSA
+                || exponent < -22 || exponent > 22) {
+            return Double.valueOf(tokenString(token));
+        }
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Open addressing hash table from the UTF-8 bytes of row names to rows, such that rows are looked up
+     * without creating a String for every matrix entry
+     */
+    private static class RowTable {
+        private final byte[][] keys;
+        private final Row[] values;
+        private final int mask;
+
+        RowTable(Map<String, Row> rows) {
+            int capacity = Integer.highestOneBit(Math.max(2, rows.size() * 2) - 1) << 1;
+            keys = new byte[capacity][];
+            values = new Row[capacity];
+            mask = capacity - 1;
+            for (Map.Entry<String, Row> entry : rows.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                int slot = hash(key, 0, key.length) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = entry.getValue();
+            }
+        }
+
+        Row get(MappedByteBuffer buffer, int start, int end) {
+            int slot = hash(buffer, start, end) & mask;
+            while (keys[slot] != null) {
+                if (matches(keys[slot], buffer, start, end)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static boolean matches(byte[] key, MappedByteBuffer buffer, int start, int end) {
+            if (key.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(byte[] bytes, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return mix(h);
+        }
+
+        private static int hash(MappedByteBuffer buffer, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + buffer.get(i);
+            }
+            return mix(h);
+        }
+
+        private static int mix(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
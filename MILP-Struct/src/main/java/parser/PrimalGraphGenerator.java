@@ -1,12 +1,12 @@
 package main.java.parser;
 
-import main.java.graph.Graph;
-import main.java.graph.Node;
 import main.java.lp.LinearProgram;
 import main.java.lp.Row;
+import main.java.lp.SparseMatrix;
 import main.java.lp.Variable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Created by Verena on 18.08.2017.
@@ -15,59 +15,86 @@ public class PrimalGraphGenerator extends GraphGenerator {
 
     /**
      *
-     * @param lp the input (M)ILP of which the dual graph is constructed
-     * @return Primal graph of the linear program
+     * @param lp the input (M)ILP of which the primal graph is constructed
+     * @param builder the builder the vertices and edges are added to
      * @throws InterruptedException in case the thread is set to cancelled
      * The primal graph is constructed by taking the variables of the lp as nodes and a variable is connected by an edge
-     * to another variable b iff they occur in the same constraint or they occur together in the objective function
+     * to another variable b iff they occur in the same constraint or they occur together in the objective function.
+     * Instead of expanding every row into a clique, the neighbours of a variable are collected from the rows it
+     * occurs in, found via an index from variables to rows, and marked such that every neighbour is found once. So
+     * the effort depends on the sum of squared row lengths and the adjacency is written in CSR form directly. The
+     * vertices are split into ranges of about the same number of visited entries, which are collected in parallel.
      */
-    public Graph linearProgramToGraph(LinearProgram lp) throws InterruptedException {
-        for (Row row : getRows(lp)) {
-            checkInterrupted();
-            convertRow(row, lp);
-        }
-
-        Graph primalGraph = createGraph(nodes, edges, neighbourNodes);
-        return primalGraph;
-    }
-
-    private void convertRow(Row row, LinearProgram lp) throws InterruptedException {
-        List<Variable> variablesInRow = row.getVariableEntries();
-        for (int i = 0; i < variablesInRow.size(); i++) {
-            convertVariable(lp, variablesInRow, i);
-        }
-    }
+    @Override
+    void generate(LinearProgram lp, GraphBuilder builder) throws InterruptedException {
+        List<Row> rows = getRows(lp);
+        SparseMatrix matrix = lp.getSparseMatrix();
+        int[][] variablesOfRows = matrix != null ? getVariablesOfRows(matrix, rows) : getVariablesOfRows(rows);
+        int[][] rowsOfVariables = createInvertedIndex(variablesOfRows);
 
-    private void convertVariable(LinearProgram lp, List<Variable> variablesInRow, int i) throws InterruptedException {
-        String variableName;
-        Node curNode;
-        String neighbourNodeName;
-        Node neighbourNode;
-        if (i % 10 == 0) {
+        // the variables get vertex ids in the order of their first occurrence in the rows
+        int[] vertexIds = new int[rowsOfVariables.length];
+        Arrays.fill(vertexIds, -1);
+        int[] variableOfVertex = new int[rowsOfVariables.length];
+        for (int i = 0; i < rows.size(); i++) {
             checkInterrupted();
+            List<Variable<?>> entries = matrix != null ? null : rows.get(i).getVariableEntries();
+            for (int k = 0; k < variablesOfRows[i].length; k++) {
+                int variable = variablesOfRows[i][k];
+                if (vertexIds[variable] == -1) {
+                    vertexIds[variable] = matrix != null
+                            ? builder.addVertex(matrix.getVariableName(variable), matrix.isInteger(variable))
+                            : builder.addVertex(entries.get(k).getName(), entries.get(k).isInteger());
+                    variableOfVertex[vertexIds[variable]] = variable;
+                }
+            }
         }
-        variableName = variablesInRow.get(i).getName();
-        curNode = generateNodeIfNotExists(variableName);
-        curNode.setInteger(lp.getVariables().get(variableName).isInteger());
-
-        for (int j = i+1; j < variablesInRow.size(); j++) {
-            neighbourNodeName = variablesInRow.get(j).getName();
-            neighbourNode = generateNodeIfNotExists(neighbourNodeName);
-            neighbourNode.setInteger(lp.getVariables().get(neighbourNodeName).isInteger());
 
-            if (!isAlreadyNeighbour(neighbourNodeName, neighbourNodes.get(variableName))) {
-                generateEdge(curNode, neighbourNode);
-                createNeighbours(curNode, neighbourNode);
+        // the work of a vertex is the number of entries visited for it
+        long[] work = new long[builder.getNumberOfVertices()];
+        for (int v = 0; v < work.length; v++) {
+            int[] rowsOfVariable = rowsOfVariables[variableOfVertex[v]];
+            for (int r = 1; r <= rowsOfVariable[0]; r++) {
+                work[v] += variablesOfRows[rowsOfVariable[r]].length;
             }
         }
+        // marker arrays are reused by later ranges, as the marks of other vertices never match
+        Queue<int[]> markers = new ConcurrentLinkedQueue<>();
+        List<AdjacencyRange> ranges = computeRanges(work, (from, to) -> {
+            int[] marked = markers.poll();
+            if (marked == null) {
+                marked = new int[rowsOfVariables.length];
+                Arrays.fill(marked, -1);
+            }
+            AdjacencyRange range = collectNeighbours(from, to, variableOfVertex, vertexIds, variablesOfRows, rowsOfVariables, marked);
+            markers.offer(marked);
+            return range;
+        });
+        AdjacencyRange.setAdjacency(builder, ranges);
     }
 
-    private boolean isAlreadyNeighbour(String neighbourNodeName, List<Node> neighbours) {
-        for (Node neighbour : neighbours) {
-            if (neighbour.getName().equals(neighbourNodeName)) {
-                return true;
+    /**
+     * Collects the neighbours of the vertices from to to - 1, marked[w] == v if variable w was found as neighbour of
+     * vertex v
+     */
+    private AdjacencyRange collectNeighbours(int from, int to, int[] variableOfVertex, int[] vertexIds, int[][] variablesOfRows,
+                                             int[][] rowsOfVariables, int[] marked) throws InterruptedException {
+        AdjacencyRange range = new AdjacencyRange(from, to);
+        for (int v = from; v < to; v++) {
+            checkInterrupted();
+            int variable = variableOfVertex[v];
+            marked[variable] = v;
+            int[] rowsOfVariable = rowsOfVariables[variable];
+            for (int r = 1; r <= rowsOfVariable[0]; r++) {
+                for (int neighbour : variablesOfRows[rowsOfVariable[r]]) {
+                    if (marked[neighbour] != v) {
+                        marked[neighbour] = v;
+                        range.add(vertexIds[neighbour]);
+                    }
+                }
             }
+            range.finishVertex(v);
         }
-        return false;
+        return range;
     }
 }
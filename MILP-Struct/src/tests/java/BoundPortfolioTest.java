@@ -0,0 +1,186 @@
+package tests.java;
+
+import main.java.algo.BoundPortfolio;
+import main.java.algo.BucketGreedyDegree;
+import main.java.algo.BucketMaximumMinimumDegreePlusLeastC;
+import main.java.algo.BucketMinorMinWidth;
+import main.java.algo.IncrementalGreedyFillIn;
+import main.java.algo.ParallelAllStartMinorMinWidth;
+import main.java.algo.ParallelQuickBB;
+import main.java.algo.TreeWidthWrapper;
+import main.java.main.Configuration;
+import main.java.graph.Edge;
+import main.java.graph.Graph;
+import main.java.graph.Node;
+import main.java.main.InterruptibleTask;
+import nl.uu.cs.treewidth.algorithm.AllStartLexBFS;
+import nl.uu.cs.treewidth.algorithm.MaximumMinimumDegree;
+import nl.uu.cs.treewidth.algorithm.MinorMinWidth;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests whether the bound portfolio keeps the best lower and upper bound of its algorithms
+ */
+public class BoundPortfolioTest extends GraphTest {
+
+    private static final List<Class<?>> LOWER_BOUND_ALGS = Arrays.asList(BucketMaximumMinimumDegreePlusLeastC.class,
+            MinorMinWidth.class, MaximumMinimumDegree.class);
+    private static final List<Class<?>> UPPER_BOUND_ALGS = Arrays.asList(BucketGreedyDegree.class,
+            IncrementalGreedyFillIn.class);
+
+    @Test
+    public void testBestBounds() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createPrimalGraph(lp));
+        int lowerBound = 0;
+        for (Class<?> algorithm : LOWER_BOUND_ALGS) {
+            lowerBound = Math.max(lowerBound, TreeWidthWrapper.computeLowerBoundWithComponents(nGraph, algorithm));
+        }
+        int upperBound = Integer.MAX_VALUE;
+        for (Class<?> algorithm : UPPER_BOUND_ALGS) {
+            upperBound = Math.min(upperBound, TreeWidthWrapper.computeUpperBoundWithComponents(nGraph, algorithm));
+        }
+
+        BoundPortfolio portfolio = new BoundPortfolio(LOWER_BOUND_ALGS, UPPER_BOUND_ALGS, 0);
+        portfolio.run(nGraph);
+
+        Assert.assertTrue(lowerBound < upperBound);
+        Assert.assertEquals(lowerBound, portfolio.getLowerBound());
+        Assert.assertEquals(upperBound, portfolio.getUpperBound());
+        Assert.assertEquals(lowerBound, (int) portfolio.getLowerBoundWinner().getBound());
+        Assert.assertEquals(upperBound, (int) portfolio.getUpperBoundWinner().getBound());
+        Assert.assertEquals(LOWER_BOUND_ALGS.size() + UPPER_BOUND_ALGS.size(), portfolio.getMembers().size());
+        for (BoundPortfolio.Member member : portfolio.getMembers()) {
+            Assert.assertTrue(member.isFinished());
+        }
+    }
+
+    @Test
+    public void testEqualBounds() throws InterruptedException {
+        BoundPortfolio portfolio = new BoundPortfolio(LOWER_BOUND_ALGS, Arrays.asList(BucketGreedyDegree.class, AllStartLexBFS.class), 0);
+        portfolio.run(createNGraph(createClique(6, "clique_")));
+
+        Assert.assertEquals(5, portfolio.getLowerBound());
+        Assert.assertEquals(5, portfolio.getUpperBound());
+        Assert.assertNotNull(portfolio.getLowerBoundWinner());
+        Assert.assertNotNull(portfolio.getUpperBoundWinner());
+    }
+
+    /*
+    Tests that the permutation based upper bound finds the bounds of components, whose vertex ids do not start at 0
+     */
+    @Test
+    public void testComponents() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test_components.mps");
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createPrimalGraph(lp));
+        BoundPortfolio portfolio = new BoundPortfolio(LOWER_BOUND_ALGS, Collections.singletonList(AllStartLexBFS.class), 0);
+        portfolio.run(nGraph);
+
+        Assert.assertTrue(portfolio.getUpperBoundWinner().isFinished());
+        Assert.assertEquals(5, portfolio.getLowerBound());
+        Assert.assertEquals(5, portfolio.getUpperBound());
+    }
+
+    /*
+    Tests that an all-start lower bound gets the best upper bound of the portfolio as known bound
+     */
+    @Test
+    public void testAllStartKnownBound() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createPrimalGraph(lp));
+        BoundPortfolio portfolio = new BoundPortfolio(Collections.singletonList(ParallelAllStartMinorMinWidth.class),
+                UPPER_BOUND_ALGS, 0);
+        portfolio.run(nGraph);
+
+        Assert.assertTrue(portfolio.getLowerBoundWinner().isFinished());
+        Assert.assertTrue(portfolio.getLowerBound() >= TreeWidthWrapper.computeLowerBoundWithComponents(nGraph, BucketMinorMinWidth.class));
+        Assert.assertTrue(portfolio.getLowerBound() <= portfolio.getUpperBound());
+
+        // on a clique the lower bound reaches the upper bound
+        portfolio.run(createNGraph(createClique(6, "clique_")));
+        Assert.assertEquals(5, portfolio.getLowerBound());
+        Assert.assertEquals(5, portfolio.getUpperBound());
+    }
+
+    /*
+    Tests that QuickBB, which does not finish within the timeout, still provides its best upper bound so far
+     */
+    @Test
+    public void testInterruptedQuickBB() throws InterruptedException {
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createSeededRandomGraph(80, 0.15));
+        int greedyUpperBound = TreeWidthWrapper.computeUpperBoundWithComponents(nGraph, IncrementalGreedyFillIn.class);
+        BoundPortfolio portfolio = new BoundPortfolio(Collections.singletonList(MinorMinWidth.class),
+                Collections.singletonList(ParallelQuickBB.class), 1);
+        portfolio.run(nGraph);
+
+        Assert.assertNotNull(portfolio.getUpperBoundWinner());
+        Assert.assertEquals(ParallelQuickBB.class, portfolio.getUpperBoundWinner().getAlgorithm());
+        Assert.assertTrue(portfolio.getUpperBound() <= greedyUpperBound);
+        Assert.assertTrue(portfolio.getLowerBound() < portfolio.getUpperBound());
+    }
+
+    private Graph createSeededRandomGraph(int numNodes, double density) {
+        Random random = new Random(numNodes);
+        List<Node> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < numNodes; i++) {
+            nodes.add(createNode("node" + i, false));
+        }
+        for (int i = 0; i < numNodes; i++) {
+            for (int j = i + 1; j < numNodes; j++) {
+                if (random.nextDouble() < density) {
+                    edges.add(createEdge(nodes.get(i), nodes.get(j)));
+                }
+            }
+        }
+        return createGraph(nodes, edges);
+    }
+
+    /*
+    Tests that computeUntil returns only after a task that is interrupted at the timeout, but ignores the interrupt for
+    a while, stopped
+     */
+    @Test
+    public void testComputeUntilWaitsForInterruptedTasks() throws InterruptedException {
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        InterruptibleTask<Integer> slowTask = new InterruptibleTask<>(() -> {
+            long end = System.currentTimeMillis() + 1500;
+            while (System.currentTimeMillis() < end) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    // ignored
+                }
+            }
+            stopped.set(true);
+            return 1;
+        });
+
+        List<Integer> results = InterruptibleTask.computeUntil(Collections.singletonList(slowTask),
+                TimeUnit.MILLISECONDS.toNanos(500), (task, result) -> false);
+
+        // the result the task returns after the interrupt is still passed on
+        Assert.assertEquals(Integer.valueOf(1), results.get(0));
+        Assert.assertTrue(stopped.get());
+    }
+
+    @Test
+    public void testReductionLowerBound() throws InterruptedException {
+        BoundPortfolio portfolio = new BoundPortfolio(LOWER_BOUND_ALGS, UPPER_BOUND_ALGS, 0);
+        portfolio.run(createNGraph(createStarShapedGraph()), 3);
+
+        Assert.assertEquals(3, portfolio.getLowerBound());
+        Assert.assertEquals(3, portfolio.getUpperBound());
+    }
+}
@@ -8,14 +8,15 @@ import main.java.graph.Graph;
 import main.java.graph.Node;
 import main.java.lp.MatrixRow;
 import main.java.parser.DualGraphGenerator;
+import main.java.parser.GraphGenerator;
 import main.java.parser.IncidenceGraphGenerator;
+import main.java.parser.PrimalGraphGenerator;
 import org.junit.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.junit.Test;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.*;
@@ -107,9 +108,130 @@ public class GraphGeneratorTest extends GraphTest {
         correctGraph(dualGraph);
     }
 
+    /*
+    Tests that the primal graph has exactly the edges between the variables occurring together in a constraint, with
+    the nodes in the order of the first occurrence of the variables
+     */
+    @Test
+    public void testPrimalGraphEqualsRowCliques() throws InterruptedException {
+        try {
+            for (boolean sparseMatrix : new boolean[]{false, true}) {
+                Configuration.SPARSE_MATRIX = sparseMatrix;
+                assertPrimalGraphEqualsRowCliques("bienst2.mps");
+                assertPrimalGraphEqualsRowCliques("roll3000.mps");
+            }
+        } finally {
+            Configuration.SPARSE_MATRIX = false;
+        }
+    }
+
+    private void assertPrimalGraphEqualsRowCliques(String file) throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + file);
+        Graph primalGraph = createPrimalGraph(lp);
+
+        List<String> firstOccurrences = new ArrayList<>();
+        Set<String> expectedEdges = new HashSet<>();
+        for (Row constraint : lp.getConstraints()) {
+            List<Variable<?>> entries = constraint.getVariableEntries();
+            for (int i = 0; i < entries.size(); i++) {
+                if (!firstOccurrences.contains(entries.get(i).getName())) {
+                    firstOccurrences.add(entries.get(i).getName());
+                }
+                for (int j = 0; j < entries.size(); j++) {
+                    if (!entries.get(i).getName().equals(entries.get(j).getName())) {
+                        expectedEdges.add(entries.get(i).getName() + " " + entries.get(j).getName());
+                    }
+                }
+            }
+        }
+        assertEquals(firstOccurrences.size(), primalGraph.getNodes().size());
+        for (int i = 0; i < firstOccurrences.size(); i++) {
+            assertEquals(firstOccurrences.get(i), primalGraph.getNodes().get(i).getName());
+        }
+        Set<String> edges = new HashSet<>();
+        for (Edge edge : primalGraph.getEdges()) {
+            assertTrue(edges.add(edge.getNode1().getName() + " " + edge.getNode2().getName()));
+            assertTrue(edges.add(edge.getNode2().getName() + " " + edge.getNode1().getName()));
+        }
+        assertEquals(expectedEdges, edges);
+    }
+
+    /*
+    Tests that the dual graph has exactly the edges found by comparing every pair of constraints, in the same order
+     */
+    @Test
+    public void testDualGraphEqualsPairwiseComparison() throws InterruptedException {
+        try {
+            for (boolean sparseMatrix : new boolean[]{false, true}) {
+                Configuration.SPARSE_MATRIX = sparseMatrix;
+                assertDualGraphEqualsPairwiseComparison("bienst2.mps");
+                assertDualGraphEqualsPairwiseComparison("roll3000.mps");
+            }
+        } finally {
+            Configuration.SPARSE_MATRIX = false;
+        }
+    }
+
+    private void assertDualGraphEqualsPairwiseComparison(String file) throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + file);
+        Graph dualGraph = new DualGraphGenerator().linearProgramToGraph(lp);
+
+        List<MatrixRow> constraints = lp.getConstraints();
+        List<Set<String>> variableNames = new ArrayList<>();
+        for (Row constraint : constraints) {
+            Set<String> names = new HashSet<>();
+            constraint.getVariableEntries().forEach(variable -> names.add(variable.getName()));
+            variableNames.add(names);
+        }
+        int edgeIndex = 0;
+        for (int i = 0; i < constraints.size(); i++) {
+            for (int j = i + 1; j < constraints.size(); j++) {
+                if (!Collections.disjoint(variableNames.get(i), variableNames.get(j))) {
+                    assertTrue("Edge missing for " + constraints.get(i).getName(), edgeIndex < dualGraph.getEdges().size());
+                    Edge edge = dualGraph.getEdges().get(edgeIndex++);
+                    assertEquals(constraints.get(i).getName(), edge.getNode1().getName());
+                    assertEquals(constraints.get(j).getName(), edge.getNode2().getName());
+                }
+            }
+        }
+        assertEquals(edgeIndex, dualGraph.getEdges().size());
+    }
+
+    /*
+    Tests that the primal and dual graph generated with ranges in parallel have the same vertices and neighbours, in
+    the same order, as generated by one thread
+     */
+    @Test
+    public void testParallelGenerationEqualsSerial() throws InterruptedException {
+        int componentThreads = Configuration.COMPONENT_THREADS;
+        try {
+            lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+            for (GraphGenerator generator : new GraphGenerator[]{new PrimalGraphGenerator(), new DualGraphGenerator()}) {
+                Configuration.COMPONENT_THREADS = 1;
+                Graph serialGraph = generator.linearProgramToGraph(lp);
+                Configuration.COMPONENT_THREADS = 4;
+                Graph parallelGraph = generator.linearProgramToGraph(lp);
+
+                assertEquals(serialGraph.getEdges().size(), parallelGraph.getEdges().size());
+                assertEquals(new ArrayList<>(serialGraph.getNeighbourNodes().keySet()), new ArrayList<>(parallelGraph.getNeighbourNodes().keySet()));
+                for (Map.Entry<String, List<Node>> entry : serialGraph.getNeighbourNodes().entrySet()) {
+                    assertEquals(getNames(entry.getValue()), getNames(parallelGraph.getNeighbourNodes().get(entry.getKey())));
+                }
+            }
+        } finally {
+            Configuration.COMPONENT_THREADS = componentThreads;
+        }
+    }
+
+    private static List<String> getNames(List<Node> nodes) {
+        List<String> names = new ArrayList<>();
+        nodes.forEach(node -> names.add(node.getName()));
+        return names;
+    }
+
     private boolean haveSameVariable(Row constraint1, Row constraint2) {
-        for (Variable variable1 : constraint1.getVariableEntries()) {
-            for (Variable variable2 : constraint2.getVariableEntries()) {
+        for (Variable<?> variable1 : constraint1.getVariableEntries()) {
+            for (Variable<?> variable2 : constraint2.getVariableEntries()) {
                 if (variable1.equals(variable2)) {
                     return true;
                 }
@@ -145,7 +267,7 @@ public class GraphGeneratorTest extends GraphTest {
             Assert.assertTrue(incidenceGraph.getNodes().contains(constraintNode));
             Assert.assertEquals(constraintNode.getName(), matrixRow.getName());
 
-            for (Variable variableEntry : matrixRow.getVariableEntries()) {
+            for (Variable<?> variableEntry : matrixRow.getVariableEntries()) {
                 Node variableNode = new Node(variableEntry.getName());
                 Assert.assertTrue(incidenceGraph.getNodes().contains(variableNode));
                 Assert.assertTrue(incidenceGraph.getNeighbourNodes().get(constraintNode.getName()).contains(variableNode));
@@ -0,0 +1,110 @@
+package tests.java;
+
+import main.java.algo.GraphReduction;
+import main.java.algo.TreeWidthWrapper;
+import main.java.graph.Edge;
+import main.java.graph.Graph;
+import main.java.graph.Node;
+import main.java.main.Configuration;
+import main.java.parser.DualGraphGenerator;
+import main.java.parser.GraphGenerator;
+import main.java.parser.IncidenceGraphGenerator;
+import main.java.parser.PrimalGraphGenerator;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests whether the graph reduction removes the vertices of the rules and whether the bounds computed on the reduced
+ * graphs are bounds of the input graphs
+ */
+public class GraphReductionTest extends GraphTest {
+
+    private GraphReduction<GraphInput.InputData> reduce(NGraph<GraphInput.InputData> nGraph) throws InterruptedException {
+        GraphReduction<GraphInput.InputData> reduction = new GraphReduction<>();
+        reduction.setInput(nGraph);
+        reduction.run();
+        int numRemovedVertices = 0;
+        for (GraphReduction.Rule rule : GraphReduction.Rule.values()) {
+            numRemovedVertices += reduction.getNumberOfRemovedVertices(rule);
+        }
+        NGraph<GraphInput.InputData> reducedGraph = reduction.getReducedGraph();
+        Assert.assertEquals(nGraph.getNumberOfVertices(), reducedGraph.getNumberOfVertices() + numRemovedVertices);
+        int numComponentVertices = 0;
+        for (NGraph<GraphInput.InputData> component : reducedGraph.getComponents()) {
+            numComponentVertices += component.getNumberOfVertices();
+        }
+        Assert.assertEquals(reducedGraph.getNumberOfVertices(), numComponentVertices);
+        return reduction;
+    }
+
+    @Test
+    public void testStarShapedGraph() throws InterruptedException {
+        GraphReduction<GraphInput.InputData> reduction = reduce(createNGraph(createStarShapedGraph()));
+
+        Assert.assertEquals(0, reduction.getReducedGraph().getNumberOfVertices());
+        Assert.assertEquals(1, reduction.getLowerBound());
+        Assert.assertTrue(reduction.getNumberOfRemovedVertices(GraphReduction.Rule.TWIG) > 0);
+    }
+
+    @Test
+    public void testClique() throws InterruptedException {
+        GraphReduction<GraphInput.InputData> reduction = reduce(createNGraph(createClique(5, "clique_")));
+
+        Assert.assertEquals(0, reduction.getReducedGraph().getNumberOfVertices());
+        Assert.assertEquals(4, reduction.getLowerBound());
+    }
+
+    @Test
+    public void testCycle() throws InterruptedException {
+        List<Node> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            nodes.add(createNode("cycle_" + i, false));
+        }
+        for (int i = 0; i < 8; i++) {
+            edges.add(createEdge(nodes.get(i), nodes.get((i + 1) % 8)));
+        }
+        GraphReduction<GraphInput.InputData> reduction = reduce(createNGraph(createGraph(nodes, edges)));
+
+        Assert.assertEquals(0, reduction.getReducedGraph().getNumberOfVertices());
+        Assert.assertEquals(2, reduction.getLowerBound());
+        Assert.assertTrue(reduction.getNumberOfRemovedVertices(GraphReduction.Rule.SERIES) > 0);
+    }
+
+    @Test
+    public void testNodeBlockerGraph() throws InterruptedException {
+        GraphReduction<GraphInput.InputData> reduction = reduce(createNGraph(createNodeBlockerGraph()));
+
+        Assert.assertEquals(0, reduction.getReducedGraph().getNumberOfVertices());
+        Assert.assertEquals(1, reduction.getLowerBound());
+    }
+
+    /*
+    Tests that the lower and upper bounds computed on the reduced graphs together with the lower bound of the reduction
+    are consistent with the bounds computed on the input graphs
+     */
+    @Test
+    public void testBoundsOfReducedGraphs() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        for (GraphGenerator generator : new GraphGenerator[]{new PrimalGraphGenerator(), new IncidenceGraphGenerator(), new DualGraphGenerator()}) {
+            Graph graph = generator.linearProgramToGraph(lp);
+            NGraph<GraphInput.InputData> nGraph = createNGraph(graph);
+            int lowerBound = TreeWidthWrapper.computeLowerBoundWithComponents(nGraph);
+            int upperBound = TreeWidthWrapper.computeUpperBoundWithComponents(nGraph);
+
+            GraphReduction<GraphInput.InputData> reduction = reduce(createNGraph(graph));
+            int reducedLowerBound = TreeWidthWrapper.computeLowerBoundWithComponents(reduction.getReducedGraph(), reduction.getLowerBound());
+            int reducedUpperBound = TreeWidthWrapper.computeUpperBoundWithComponents(reduction.getReducedGraph(), reduction.getLowerBound());
+
+            Assert.assertTrue(reduction.getReducedGraph().getNumberOfVertices() < nGraph.getNumberOfVertices());
+            Assert.assertTrue(reducedLowerBound <= reducedUpperBound);
+            Assert.assertTrue(reducedLowerBound <= upperBound);
+            Assert.assertTrue(lowerBound <= reducedUpperBound);
+        }
+    }
+}
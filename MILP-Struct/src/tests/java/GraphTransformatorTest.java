@@ -1,9 +1,13 @@
 package tests.java;
 
-import main.java.graph.Edge;
-import main.java.graph.Graph;
-import main.java.graph.Node;
+import main.java.graph.*;
+import main.java.algo.DepthFirstSearch;
 import main.java.algo.LPInputData;
+import main.java.main.Configuration;
+import main.java.parser.DualGraphGenerator;
+import main.java.parser.GraphGenerator;
+import main.java.parser.IncidenceGraphGenerator;
+import main.java.parser.PrimalGraphGenerator;
 import nl.uu.cs.treewidth.input.GraphInput;
 import nl.uu.cs.treewidth.ngraph.NGraph;
 import nl.uu.cs.treewidth.ngraph.NVertex;
@@ -12,7 +16,7 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * Tests whether the transformation of a Graph to a NGraph works correctly
@@ -66,6 +70,88 @@ public class GraphTransformatorTest extends GraphTest implements AlgoTest {
         assertSameGraph(randomGraph, result);
     }
 
+    /*
+    Tests that the components partition the vertices into connected sets that are closed under neighbourhood, ordered
+    by their first vertex and listing their vertices in the order of the graph
+     */
+    @Test
+    public void testComponentLabelling() throws InterruptedException {
+        assertCorrectComponents(createNGraph(createDisconnectedGraph()));
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        assertCorrectComponents(createNGraph(createPrimalGraph(lp)));
+    }
+
+    /*
+    Tests that the NGraphs generated directly have the vertices, edges and components of the transformed Graphs and
+    the same graph statistics
+     */
+    @Test
+    public void testDirectNGraph() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        GraphGenerator[] generators = {new PrimalGraphGenerator(), new IncidenceGraphGenerator(), new DualGraphGenerator()};
+        GraphStatistics[] directStatistics = {new PrimalGraphStatistics(), new IncidenceGraphStatistics(), new DualGraphStatistics()};
+        GraphStatistics[] transformedStatistics = {new PrimalGraphStatistics(), new IncidenceGraphStatistics(), new DualGraphStatistics()};
+        for (int i = 0; i < generators.length; i++) {
+            directStatistics[i].setLpStatistics(lp.getStatistics());
+            NGraph<GraphInput.InputData> result = generators[i].linearProgramToNGraph(lp, directStatistics[i]);
+            Graph graph = generators[i].linearProgramToGraph(lp);
+            NGraph<GraphInput.InputData> transformed = createNGraph(graph);
+            transformedStatistics[i].setLpStatistics(lp.getStatistics());
+            transformedStatistics[i].computeGraphData(graph);
+            transformedStatistics[i].getGraphData().setNumComponents(transformed.getComponents().size());
+
+            assertCorrectNGraph(result);
+            assertSameGraph(graph, result);
+            assertCorrectComponents(result);
+            Assert.assertEquals(transformed.getComponents().size(), result.getComponents().size());
+        }
+
+        Configuration.PRIMAL = true;
+        Configuration.INCIDENCE = true;
+        Configuration.DUAL = true;
+        try {
+            Assert.assertEquals(
+                    new GraphStatisticsFormatter(transformedStatistics[0], transformedStatistics[1], transformedStatistics[2]).csvFormat(),
+                    new GraphStatisticsFormatter(directStatistics[0], directStatistics[1], directStatistics[2]).csvFormat());
+        } finally {
+            Configuration.PRIMAL = false;
+            Configuration.INCIDENCE = false;
+            Configuration.DUAL = false;
+        }
+    }
+
+    private void assertCorrectComponents(NGraph<GraphInput.InputData> result) {
+        Map<NVertex<GraphInput.InputData>, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < result.getNumberOfVertices(); i++) {
+            positions.put(result.getVertex(i), i);
+        }
+        Map<NVertex<GraphInput.InputData>, Integer> componentOf = new IdentityHashMap<>();
+        int previousFirstPosition = -1;
+        for (int c = 0; c < result.getComponents().size(); c++) {
+            NGraph<GraphInput.InputData> component = result.getComponents().get(c);
+            Assert.assertTrue(positions.get(component.getVertex(0)) > previousFirstPosition);
+            previousFirstPosition = positions.get(component.getVertex(0));
+            for (int i = 0; i < component.getNumberOfVertices(); i++) {
+                Assert.assertNull(componentOf.put(component.getVertex(i), c));
+                if (i > 0) {
+                    Assert.assertTrue(positions.get(component.getVertex(i - 1)) < positions.get(component.getVertex(i)));
+                }
+            }
+        }
+        Assert.assertEquals(result.getNumberOfVertices(), componentOf.size());
+
+        for (NVertex<GraphInput.InputData> vertex : result) {
+            for (Iterator<NVertex<GraphInput.InputData>> it = vertex.getNeighbors(); it.hasNext(); ) {
+                Assert.assertEquals(componentOf.get(vertex), componentOf.get(it.next()));
+            }
+        }
+        for (NGraph<GraphInput.InputData> component : result.getComponents()) {
+            Set<NVertex<GraphInput.InputData>> reachable = new HashSet<>();
+            DepthFirstSearch.DFSTree(component.getVertex(0), reachable);
+            Assert.assertEquals(component.getNumberOfVertices(), reachable.size());
+        }
+    }
+
     private void assertOneComponent(NGraph result) {
         Assert.assertEquals(1, result.getComponents().size(), 0);
         List<NGraph> components = result.getComponents();
@@ -0,0 +1,133 @@
+package tests.java;
+
+import main.java.graph.IntGraph;
+import main.java.main.Configuration;
+import nl.uu.cs.treewidth.algorithm.*;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests whether the LibTW algorithms compute the same bounds and permutations on an IntGraph as on the ListGraph
+ * it was copied from
+ */
+public class IntGraphTest extends GraphTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IntGraphTest.class);
+
+    @Test
+    public void testCopy() throws InterruptedException {
+        NGraph<GraphInput.InputData> graph = createNGraph(createDisconnectedGraph());
+        IntGraph<GraphInput.InputData> intGraph = IntGraph.copyOf(graph);
+
+        assertSameGraph(graph, intGraph);
+        assertSameGraph(graph, intGraph.copy());
+    }
+
+    @Test
+    public void testEliminate() throws InterruptedException {
+        NGraph<GraphInput.InputData> graph = createNGraph(createNodeBlockerGraph());
+        NGraph<GraphInput.InputData> intGraph = IntGraph.copyOf(graph);
+
+        while (graph.getNumberOfVertices() > 0) {
+            graph.eliminate(graph.getVertex(graph.getNumberOfVertices() / 2));
+            intGraph.eliminate(intGraph.getVertex(intGraph.getNumberOfVertices() / 2));
+            assertSameGraph(graph, intGraph);
+        }
+    }
+
+    @Test
+    public void testContractEdgeAndRemoveVertex() throws InterruptedException {
+        NGraph<GraphInput.InputData> graph = createNGraph(createStarShapedGraph());
+        NGraph<GraphInput.InputData> intGraph = IntGraph.copyOf(graph);
+
+        graph.contractEdge(graph.getVertex(0), graph.getVertex(1));
+        intGraph.contractEdge(intGraph.getVertex(0), intGraph.getVertex(1));
+        assertSameGraph(graph, intGraph);
+
+        graph.removeVertex(graph.getVertex(0));
+        intGraph.removeVertex(intGraph.getVertex(0));
+        assertSameGraph(graph, intGraph);
+    }
+
+    @Test
+    public void testBounds() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        assertSameBounds(createNGraph(createPrimalGraph(lp)));
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        assertSameBounds(createNGraph(createPrimalGraph(lp)));
+    }
+
+    @Test
+    public void testGreedyFillIn() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test.mps");
+        NGraph<GraphInput.InputData> graph = createNGraph(createPrimalGraph(lp));
+        assertSameUpperBound(new GreedyFillIn<>(), new GreedyFillIn<>(), graph, IntGraph.copyOf(graph));
+    }
+
+    private void assertSameBounds(NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        IntGraph<GraphInput.InputData> intGraph = IntGraph.copyOf(graph);
+
+        assertSameUpperBound(new GreedyDegree<>(), new GreedyDegree<>(), graph, intGraph);
+        assertSameLowerBound(new MaximumMinimumDegreePlusLeastC<>(), new MaximumMinimumDegreePlusLeastC<>(), graph, intGraph);
+        assertSameLowerBound(new MinorMinWidth<>(), new MinorMinWidth<>(), graph, intGraph);
+    }
+
+    private <A extends UpperBound<GraphInput.InputData> & Permutation<GraphInput.InputData>> void assertSameUpperBound(
+            A listAlgo, A intAlgo, NGraph<GraphInput.InputData> graph, NGraph<GraphInput.InputData> intGraph)
+            throws InterruptedException {
+        listAlgo.setInput(graph);
+        listAlgo.run();
+        intAlgo.setInput(intGraph);
+        intAlgo.run();
+        Assert.assertEquals(listAlgo.getUpperBound(), intAlgo.getUpperBound());
+        Assert.assertEquals(getNames(listAlgo.getPermutation()), getNames(intAlgo.getPermutation()));
+    }
+
+    private void assertSameLowerBound(LowerBound<GraphInput.InputData> listAlgo, LowerBound<GraphInput.InputData> intAlgo,
+                                      NGraph<GraphInput.InputData> graph, NGraph<GraphInput.InputData> intGraph)
+            throws InterruptedException {
+        listAlgo.setInput(graph);
+        listAlgo.run();
+        intAlgo.setInput(intGraph);
+        intAlgo.run();
+        Assert.assertEquals(listAlgo.getLowerBound(), intAlgo.getLowerBound());
+    }
+
+    private static List<String> getNames(NVertexOrder<GraphInput.InputData> permutation) {
+        List<String> names = new ArrayList<>();
+        for (NVertex<GraphInput.InputData> v : permutation.order) {
+            names.add(v.data.name);
+        }
+        return names;
+    }
+
+    private static void assertSameGraph(NGraph<GraphInput.InputData> expected, NGraph<GraphInput.InputData> actual) {
+        Assert.assertEquals(expected.getNumberOfVertices(), actual.getNumberOfVertices());
+        Assert.assertEquals(expected.getNumberOfEdges(), actual.getNumberOfEdges());
+        for (int i = 0; i < expected.getNumberOfVertices(); i++) {
+            NVertex<GraphInput.InputData> expectedVertex = expected.getVertex(i);
+            NVertex<GraphInput.InputData> actualVertex = actual.getVertex(i);
+            Assert.assertEquals(expectedVertex.data.name, actualVertex.data.name);
+
+            List<String> expectedNeighbors = new ArrayList<>();
+            for (NVertex<GraphInput.InputData> neighbor : expectedVertex) {
+                expectedNeighbors.add(neighbor.data.name);
+            }
+            List<String> actualNeighbors = new ArrayList<>();
+            for (NVertex<GraphInput.InputData> neighbor : actualVertex) {
+                actualNeighbors.add(neighbor.data.name);
+                Assert.assertTrue(actualVertex.isNeighbor(neighbor));
+            }
+            Assert.assertEquals(expectedNeighbors, actualNeighbors);
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package tests.java;
 
+import main.java.lp.LPData;
 import main.java.lp.LinearProgram;
 import main.java.lp.MatrixRow;
 import main.java.lp.Variable;
+import main.java.lp.Row;
+import main.java.lp.SparseMatrix;
 import main.java.main.Configuration;
+import main.java.parser.MappedMILPParser;
 import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.List;
 
 import static org.junit.Assert.assertFalse;
@@ -35,7 +40,7 @@ public class MILPParserTest extends StructuralParametersTest {
 
     private void testSingleMatrixEntryInColumns() {
         // test variables
-        for (Variable var : lp.getVariables().values()) {
+        for (Variable<?> var : lp.getVariables().values()) {
 
             // variables from 'xa*' to 'xe*' are integer variables
             if (var.getName().startsWith("x") && var.getName().charAt(1) >= 'a' && var.getName().charAt(1) <= 'e') {
@@ -100,21 +105,21 @@ public class MILPParserTest extends StructuralParametersTest {
         Assert.assertEquals(lp.getConstraints().get(0).getEquality(), LinearProgram.Equality.GREATER_THAN);
 
         // test objective function
-        for (Variable entry : lp.getRows().get("obj").getVariableEntries()) {
+        for (Variable<?> entry : lp.getRows().get("obj").getVariableEntries()) {
             // only one entry
             Assert.assertEquals(entry.getName(), "x1");
         }
 
         // test MatrixEntries
         assertEquals(17, lp.getRows().get("c617").getVariableEntries().size());
-        List<Variable> entries = lp.getRows().get("c617").getVariableEntries();
+        List<Variable<?>> entries = lp.getRows().get("c617").getVariableEntries();
 
         Assert.assertEquals("x6", entries.get(0).getName());
         Assert.assertEquals("x244", entries.get(1).getName());
         Assert.assertEquals("x246", entries.get(3).getName());
 
         // test integer variables
-        for (Variable var : lp.getVariables().values()) {
+        for (Variable<?> var : lp.getVariables().values()) {
 
             // variables from x244 to x981 are integer variables
             int numVariable = Integer.valueOf(var.getName().substring(1).trim());
@@ -126,6 +131,139 @@ public class MILPParserTest extends StructuralParametersTest {
         }
     }
 
+    /*
+    Tests that the second right hand side of a line in the RHS section is assigned to the second row
+     */
+    @Test
+    public void testDoubleRightHandSide() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        assertEquals(147, ((MatrixRow) lp.getRows().get("c498")).getRightHandSide());
+        assertEquals(334, ((MatrixRow) lp.getRows().get("c499")).getRightHandSide());
+    }
+
+    @Test
+    public void testMappedParser() throws InterruptedException, IOException {
+        for (String file : new String[]{"bienst2_test.mps", "bienst2.mps", "roll3000.mps"}) {
+            LinearProgram expected = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + file);
+            lp = new MappedMILPParser().parseMPS(Configuration.MPS_TEST_FILES_FOLDER + file);
+            assertLPNotNull();
+            assertSameLinearProgram(expected, lp);
+        }
+    }
+
+    /*
+    Tests that variables with bound type BV are converted to integer variables in every row, keeping their position
+     */
+    @Test
+    public void testBinaryVariables() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test_binary.mps");
+        assertLPNotNull();
+        Assert.assertTrue(lp.getVariables().get("xfa").isInteger());
+        Assert.assertTrue(lp.getVariables().get("z").isInteger());
+        Assert.assertFalse(lp.getVariables().get("xfb").isInteger());
+
+        List<Variable<?>> entries = lp.getRows().get("OUTa").getVariableEntries();
+        Assert.assertEquals("xab", entries.get(0).getName());
+        Assert.assertEquals("xac", entries.get(1).getName());
+        Assert.assertEquals("xfa", entries.get(2).getName());
+        Assert.assertEquals("z", entries.get(3).getName());
+        for (Row row : lp.getRows().values()) {
+            for (Variable<?> variable : row.getVariableEntries()) {
+                Assert.assertEquals(lp.getVariables().get(variable.getName()).isInteger(), variable.isInteger());
+            }
+        }
+    }
+
+    @Test
+    public void testSparseMatrix() throws InterruptedException, IOException {
+        try {
+            for (String file : new String[]{"bienst2_small_test_binary.mps", "bienst2_test.mps", "roll3000.mps"}) {
+                Configuration.SPARSE_MATRIX = false;
+                LinearProgram expected = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + file);
+                Configuration.SPARSE_MATRIX = true;
+                lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + file);
+                assertSameSparseMatrix(lp);
+                assertSameSparseMatrix(new MappedMILPParser().parseMPS(Configuration.MPS_TEST_FILES_FOLDER + file));
+
+                LPData expectedData = expected.getStatistics().getLinearProgramData();
+                LPData data = lp.getStatistics().getLinearProgramData();
+                Assert.assertEquals(expectedData.numVariables, data.numVariables);
+                Assert.assertEquals(expectedData.numIntegerVariables, data.numIntegerVariables);
+                Assert.assertEquals(expectedData.minIntegerVariables, data.minIntegerVariables);
+                Assert.assertEquals(expectedData.maxIntegerVariables, data.maxIntegerVariables);
+                assertEquals(expectedData.avgVariables, data.avgVariables);
+                assertEquals(expectedData.avgIntegerVariables, data.avgIntegerVariables);
+                Assert.assertEquals(expectedData.sizeObjectiveFunction, data.sizeObjectiveFunction);
+            }
+
+            SparseMatrix matrix = lp.getSparseMatrix();
+            int x3 = lp.getVariables().get("x3").getId();
+            int c2 = lp.getRows().get("c2").getIndex();
+            Assert.assertEquals(c2, matrix.getRowIndex(matrix.getColumnStart(x3)));
+            assertEquals(-8, matrix.getColumnCoefficient(matrix.getColumnStart(x3)));
+        } finally {
+            Configuration.SPARSE_MATRIX = false;
+        }
+    }
+
+    private void assertSameSparseMatrix(LinearProgram lp) {
+        SparseMatrix matrix = lp.getSparseMatrix();
+        assertNotNull(matrix);
+        Assert.assertEquals(lp.getConstraints().size() + 1, matrix.getNumRows());
+        Assert.assertEquals(lp.getVariables().size(), matrix.getNumVariables());
+        Assert.assertEquals(lp.getObjectiveFunction().getIndex(), matrix.getObjectiveRow());
+        for (Row row : lp.getRows().values()) {
+            Assert.assertEquals(row.getName(), matrix.getRowName(row.getIndex()));
+            Assert.assertEquals(row.getVariableEntries().size(), matrix.getRowLength(row.getIndex()));
+            for (int k = 0; k < row.getVariableEntries().size(); k++) {
+                Variable<?> variable = row.getVariableEntries().get(k);
+                int column = matrix.getColumnIndex(matrix.getRowStart(row.getIndex()) + k);
+                Assert.assertEquals(variable.getId(), column);
+                Assert.assertEquals(variable.getName(), matrix.getVariableName(column));
+                Assert.assertEquals(variable.isInteger(), matrix.isInteger(column));
+            }
+        }
+        int numEntries = 0;
+        for (int column = 0; column < matrix.getNumVariables(); column++) {
+            for (int k = matrix.getColumnStart(column); k < matrix.getColumnEnd(column); k++) {
+                Assert.assertTrue(k == matrix.getColumnStart(column) || matrix.getRowIndex(k - 1) <= matrix.getRowIndex(k));
+                numEntries++;
+            }
+        }
+        Assert.assertEquals(matrix.getNumNonZeros(), numEntries);
+    }
+
+    private void assertSameLinearProgram(LinearProgram expected, LinearProgram actual) {
+        Assert.assertEquals(expected.getName(), actual.getName());
+        Assert.assertEquals(expected.isIntegerLP(), actual.isIntegerLP());
+        assertSameRow(expected.getObjectiveFunction(), actual.getObjectiveFunction());
+        Assert.assertEquals(expected.getConstraints().size(), actual.getConstraints().size());
+        for (int i = 0; i < expected.getConstraints().size(); i++) {
+            MatrixRow expectedRow = expected.getConstraints().get(i);
+            MatrixRow actualRow = actual.getConstraints().get(i);
+            assertSameRow(expectedRow, actualRow);
+            Assert.assertEquals(expectedRow.getEquality(), actualRow.getEquality());
+            assertEquals(expectedRow.getRightHandSide(), actualRow.getRightHandSide());
+        }
+        Assert.assertEquals(expected.getVariables().keySet(), actual.getVariables().keySet());
+        for (Variable<?> variable : expected.getVariables().values()) {
+            Assert.assertEquals(variable.isInteger(), actual.getVariables().get(variable.getName()).isInteger());
+        }
+        Assert.assertEquals(expected.getStatistics().getLinearProgramData().numIntegerVariables,
+                actual.getStatistics().getLinearProgramData().numIntegerVariables);
+    }
+
+    private void assertSameRow(Row expected, Row actual) {
+        Assert.assertEquals(expected.getName(), actual.getName());
+        Assert.assertEquals(expected.getVariableEntries().size(), actual.getVariableEntries().size());
+        for (int i = 0; i < expected.getVariableEntries().size(); i++) {
+            Variable<?> expectedEntry = expected.getVariableEntries().get(i);
+            Variable<?> actualEntry = actual.getVariableEntries().get(i);
+            Assert.assertEquals(expectedEntry.getName(), actualEntry.getName());
+            Assert.assertEquals(expectedEntry.isInteger(), actualEntry.isInteger());
+        }
+    }
+
     private void assertEquals(double expected, double actual) {
         Assert.assertEquals(expected, actual, 0.0);
     }
@@ -0,0 +1,80 @@
+package tests.java;
+
+import main.java.main.Configuration;
+import main.java.main.ResultWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+public class ResultWriterTest {
+
+    private static final String NL = System.lineSeparator();
+    private static final String HEADER = "Timeout for one MILP instance: 600s" + NL + "name;numVars;" + NL;
+    private static final String BIENST2 = Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test.mps";
+    private static final String BIENST2_BINARY = Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test_binary.mps";
+    private static final String ROLL3000 = Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps";
+    private static final String MISSING = Configuration.MPS_TEST_FILES_FOLDER + "missing.mps";
+
+    @Test
+    public void testWriteAndResume() throws IOException, InterruptedException {
+        Path outputFile = createOutputFile();
+        ResultWriter resultWriter = new ResultWriter(outputFile.toString(), HEADER, false);
+        resultWriter.start(2);
+        resultWriter.add(BIENST2, CompletableFuture.completedFuture("bienst2;505;" + NL));
+        Future<String> cancelled = new CompletableFuture<>();
+        cancelled.cancel(true);
+        resultWriter.add(MISSING, cancelled);
+        resultWriter.awaitTermination();
+
+        List<String> lines = Files.readAllLines(outputFile, StandardCharsets.UTF_8);
+        Assert.assertEquals(4, lines.size());
+        Assert.assertEquals("bienst2;505;", lines.get(2));
+        Assert.assertEquals(MISSING + ";no result;", lines.get(3));
+
+        // a row that was only partially written before a crash is removed when resuming
+        Files.write(outputFile, "roll3000;1166".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        ResultWriter resumedResultWriter = new ResultWriter(outputFile.toString(), HEADER, true);
+        Assert.assertTrue(resumedResultWriter.hasRow(BIENST2));
+        Assert.assertTrue(resumedResultWriter.hasRow(Paths.get(BIENST2).toAbsolutePath().toString()));
+        Assert.assertTrue(resumedResultWriter.hasRow(MISSING));
+        Assert.assertFalse(resumedResultWriter.hasRow(ROLL3000));
+        // another file with the same name in the MPS file still has to be computed
+        Assert.assertFalse(resumedResultWriter.hasRow(BIENST2_BINARY));
+
+        resumedResultWriter.start(1);
+        resumedResultWriter.add(ROLL3000, CompletableFuture.completedFuture("roll3000;1166;" + NL));
+        resumedResultWriter.awaitTermination();
+        lines = Files.readAllLines(outputFile, StandardCharsets.UTF_8);
+        Assert.assertEquals(5, lines.size());
+        Assert.assertEquals("roll3000;1166;", lines.get(4));
+    }
+
+    @Test
+    public void testNoResume() throws IOException, InterruptedException {
+        Path outputFile = createOutputFile();
+        Files.write(outputFile, ("bienst2;505;" + NL).getBytes(StandardCharsets.UTF_8));
+        ResultWriter resultWriter = new ResultWriter(outputFile.toString(), HEADER, false);
+        Assert.assertFalse(resultWriter.hasRow(BIENST2));
+        resultWriter.start(0);
+        resultWriter.awaitTermination();
+        Assert.assertEquals(HEADER, new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_8));
+    }
+
+    private static Path createOutputFile() throws IOException {
+        Path folder = Paths.get(Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/");
+        Files.createDirectories(folder);
+        Path outputFile = folder.resolve("result_writer_test.csv");
+        Files.deleteIfExists(outputFile);
+        Files.deleteIfExists(folder.resolve("result_writer_test.csv.done"));
+        return outputFile;
+    }
+}
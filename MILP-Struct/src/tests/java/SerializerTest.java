@@ -3,6 +3,7 @@ package tests.java;
 import main.java.algo.LPInputData;
 import main.java.graph.*;
 import main.java.main.Configuration;
+import main.java.main.GraphCache;
 import main.java.main.Serializer;
 import main.java.parser.PrimalGraphGenerator;
 import nl.uu.cs.treewidth.input.GraphInput;
@@ -14,6 +15,15 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+
 public class SerializerTest extends GraphTest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SerializerTest.class);
@@ -37,15 +47,95 @@ public class SerializerTest extends GraphTest {
 
     @Test
     public void testSerializeToAndFromFile() throws InterruptedException {
-        Serializer.serializeToFile(nGraph, Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/" + "bienst2_small_test_primal.ser");
+        Serializer.serializeGraphToFile(nGraph, Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/" + "bienst2_small_test_primal.graph");
         Serializer.serializeToFile(statistics, Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/" + "bienst2_small_test_primalStatistics.ser");
-        NGraph<GraphInput.InputData> primalGraphDeserialized = (NGraph<GraphInput.InputData>) Serializer.deserializeFromFile( Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/" + "bienst2_small_test_primal.ser");
+        NGraph<GraphInput.InputData> primalGraphDeserialized = Serializer.deserializeGraphFromFile(Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/" + "bienst2_small_test_primal.graph");
         GraphStatistics primalStatisticsDeserialized = (GraphStatistics) Serializer.deserializeFromFile( Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/" + "bienst2_small_test_primalStatistics.ser");
 
         assertSameGraph(nGraph, primalGraphDeserialized);
         assertSameStatistics(statistics, primalStatisticsDeserialized);
     }
 
+    /*
+    Tests that the binary graph format keeps the vertex order, the neighbour order and the components
+     */
+    @Test
+    public void testBinaryGraphFormat() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        NGraph<GraphInput.InputData> disconnectedGraph = createNGraph(createDisconnectedGraph());
+        NGraph<GraphInput.InputData> rollGraph = createNGraph(createPrimalGraph(lp));
+        rollGraph.addComment("primal");
+
+        for (NGraph<GraphInput.InputData> graph : Arrays.asList(disconnectedGraph, rollGraph)) {
+            String filePath = Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/" + "binary_format_test.graph";
+            Serializer.serializeGraphToFile(graph, filePath);
+            NGraph<GraphInput.InputData> graphDeserialized = Serializer.deserializeGraphFromFile(filePath);
+
+            Assert.assertEquals(graph.getComments(), graphDeserialized.getComments());
+            assertSameVerticesInOrder(graph, graphDeserialized);
+            Assert.assertEquals(graph.getComponents().size(), graphDeserialized.getComponents().size());
+            for (int c = 0; c < graph.getComponents().size(); c++) {
+                assertSameVerticesInOrder(graph.getComponents().get(c), graphDeserialized.getComponents().get(c));
+            }
+        }
+    }
+
+    /*
+    Tests that the cache returns the stored entries by the content hash of the .mps file and evicts the least
+    recently used ones when exceeding its size
+     */
+    @Test
+    public void testGraphCache() throws IOException {
+        String fileHash = GraphCache.hashFile(Paths.get(Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test.mps"));
+        Assert.assertEquals(64, fileHash.length());
+        Path folder = Paths.get(Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/cache/");
+        GraphCache cache = new GraphCache(folder, Long.MAX_VALUE, fileHash);
+
+        cache.putLPStatistics(lp.getStatistics());
+        cache.putGraph(GraphType.PRIMAL, nGraph);
+        cache.putGraphStatistics(GraphType.PRIMAL, statistics);
+        HashMap<String, Integer> results = new HashMap<>();
+        results.put(GraphCache.getResultKey("tw_ub", Configuration.UPPER_BOUND_ALG), 3);
+        cache.putResults(GraphType.PRIMAL, results);
+
+        Assert.assertEquals(lp.getName(), cache.getLPStatistics().getName());
+        assertSameVerticesInOrder(nGraph, cache.getGraph(GraphType.PRIMAL));
+        assertSameStatistics(statistics, cache.getGraphStatistics(GraphType.PRIMAL));
+        Assert.assertEquals(results, cache.getResults(GraphType.PRIMAL));
+        Assert.assertNull(cache.getGraph(GraphType.DUAL));
+        Assert.assertTrue(cache.getResults(GraphType.DUAL).isEmpty());
+
+        // reading the statistics makes them recently used, so the LP statistics and the graph are evicted
+        for (String entry : Arrays.asList("_lp.ser", "_primal_graph.graph", "_primal_statistics.ser", "_primal_results.ser")) {
+            Files.setLastModifiedTime(folder.resolve(fileHash + entry), FileTime.fromMillis(0));
+        }
+        cache.getGraphStatistics(GraphType.PRIMAL);
+        long size = Files.size(folder.resolve(fileHash + "_primal_statistics.ser"))
+                + Files.size(folder.resolve(fileHash + "_primal_results.ser"));
+        GraphCache smallCache = new GraphCache(folder, size, fileHash);
+        smallCache.putResults(GraphType.PRIMAL, results);
+        Assert.assertNull(smallCache.getLPStatistics());
+        Assert.assertNull(smallCache.getGraph(GraphType.PRIMAL));
+        assertSameStatistics(statistics, smallCache.getGraphStatistics(GraphType.PRIMAL));
+        Assert.assertEquals(results, smallCache.getResults(GraphType.PRIMAL));
+    }
+
+    private void assertSameVerticesInOrder(NGraph<GraphInput.InputData> graph, NGraph<GraphInput.InputData> graphDeserialized) {
+        Assert.assertEquals(graph.getNumberOfVertices(), graphDeserialized.getNumberOfVertices());
+        Iterator<NVertex<GraphInput.InputData>> verticesDeserialized = graphDeserialized.iterator();
+        for (NVertex<GraphInput.InputData> vertex : graph) {
+            NVertex<GraphInput.InputData> vertexDeserialized = verticesDeserialized.next();
+            Assert.assertEquals(vertex.data.name, vertexDeserialized.data.name);
+            assertSameData(vertex, vertexDeserialized);
+
+            Iterator<NVertex<GraphInput.InputData>> neighboursDeserialized = vertexDeserialized.getNeighbors();
+            for (NVertex<GraphInput.InputData> neighbour : vertex) {
+                Assert.assertEquals(neighbour.data.name, neighboursDeserialized.next().data.name);
+            }
+            Assert.assertFalse(neighboursDeserialized.hasNext());
+        }
+    }
+
     private void assertSameGraph(NGraph<GraphInput.InputData> primalGraph, NGraph<GraphInput.InputData> primalGraphDeserialized) {
         Assert.assertEquals(primalGraph.getNumberOfVertices(), primalGraphDeserialized.getNumberOfVertices());
         Assert.assertEquals(primalGraph.getNumberOfEdges(), primalGraphDeserialized.getNumberOfEdges());
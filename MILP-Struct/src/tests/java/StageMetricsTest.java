@@ -0,0 +1,82 @@
+package tests.java;
+
+import main.java.graph.GraphType;
+import main.java.lp.LPStatisticsFormatter;
+import main.java.main.Configuration;
+import main.java.main.StageMetrics;
+import main.java.main.StructuralParametersComputation;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+public class StageMetricsTest extends StructuralParametersTest {
+
+    private static final String BIENST2 = Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test.mps";
+
+    @Before
+    public void configure() throws IOException {
+        Path folder = Paths.get(Configuration.GRAPH_REPRESENTATIONS_FOLDER + "tests/");
+        Files.createDirectories(folder);
+        Configuration.OUTPUT_FILE = folder.resolve("stage_metrics_test.csv").toString();
+        Files.deleteIfExists(Paths.get(Configuration.getMetricsFile()));
+        Configuration.METRICS = true;
+        Configuration.PRIMAL = true;
+        Configuration.LOWER_BOUND = true;
+        Configuration.UPPER_BOUND = true;
+        Configuration.CACHE_SIZE = 0;
+    }
+
+    @After
+    public void reset() {
+        Configuration.METRICS = false;
+        Configuration.PRIMAL = false;
+        Configuration.LOWER_BOUND = false;
+        Configuration.UPPER_BOUND = false;
+        Configuration.CACHE_SIZE = 1024;
+        Configuration.OUTPUT_FILE = null;
+    }
+
+    @Test
+    public void testStagesAccumulate() {
+        StageMetrics metrics = new StageMetrics();
+        StageMetrics.Stage outer = metrics.start(StageMetrics.PARSE);
+        StageMetrics.Stage inner = metrics.start(StageMetrics.CACHE);
+        Assert.assertSame(inner, StageMetrics.getCurrentStage());
+        inner.stop();
+        Assert.assertSame(outer, StageMetrics.getCurrentStage());
+        outer.stop();
+        Assert.assertNull(StageMetrics.getCurrentStage());
+
+        long wallTime = inner.getWallTime();
+        Assert.assertSame(inner, metrics.start(StageMetrics.CACHE));
+        inner.addUsage(1000000, 1024);
+        inner.stop();
+        Assert.assertTrue(inner.getWallTime() >= wallTime);
+        Assert.assertTrue(inner.getCpuTime() >= 1000000);
+        Assert.assertTrue(inner.getAllocatedBytes() >= 1024);
+    }
+
+    @Test
+    public void testMetricsColumnsAndFile() throws IOException {
+        String header = LPStatisticsFormatter.csvFormatHeader();
+        String row = new StructuralParametersComputation(BIENST2).call();
+
+        String columns = header.split(System.lineSeparator())[1];
+        Assert.assertTrue(columns.contains(StageMetrics.getStageName(GraphType.PRIMAL, StageMetrics.TW_UB) + "_cpu_ms;"));
+        Assert.assertEquals(columns.split(";", -1).length, row.trim().split(";", -1).length);
+
+        List<String> lines = Files.readAllLines(Paths.get(Configuration.getMetricsFile()), StandardCharsets.UTF_8);
+        Assert.assertEquals(1, lines.size());
+        Assert.assertTrue(lines.get(0).startsWith("{\"instance\":\"" + BIENST2 + "\",\"finished\":true,"));
+        Assert.assertTrue(lines.get(0).contains("\"stage\":\"" + StageMetrics.PARSE + "\""));
+        Assert.assertTrue(lines.get(0).contains("\"stage\":\"" + StageMetrics.getStageName(GraphType.PRIMAL, StageMetrics.TW_LB) + "\""));
+    }
+}
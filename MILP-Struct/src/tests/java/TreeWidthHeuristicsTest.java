@@ -0,0 +1,456 @@
+package tests.java;
+
+import main.java.algo.BucketGreedyDegree;
+import main.java.algo.BucketMaximumCardinalitySearch;
+import main.java.algo.BucketMaximumMinimumDegreePlusLeastC;
+import main.java.algo.BucketMinorMinWidth;
+import main.java.algo.CompactTreewidthDP;
+import main.java.algo.IncrementalGreedyFillIn;
+import main.java.algo.ParallelAllStart;
+import main.java.algo.ParallelAllStartLexBFS;
+import main.java.algo.ParallelAllStartMaximumCardinalitySearch;
+import main.java.algo.ParallelAllStartMaximumMinimumDegreePlusLeastC;
+import main.java.algo.ParallelAllStartMinorMinWidth;
+import main.java.algo.ParallelQuickBB;
+import main.java.algo.PartitionRefinementLexBFS;
+import main.java.algo.SparseRamachandramurthi;
+import main.java.main.Configuration;
+import nl.uu.cs.treewidth.algorithm.GreedyDegree;
+import nl.uu.cs.treewidth.algorithm.GreedyFillIn;
+import nl.uu.cs.treewidth.algorithm.LowerBound;
+import nl.uu.cs.treewidth.algorithm.MaximumMinimumDegreePlusLeastC;
+import nl.uu.cs.treewidth.algorithm.MinorMinWidth;
+import nl.uu.cs.treewidth.algorithm.Permutation;
+import nl.uu.cs.treewidth.algorithm.PermutationToTreeDecomposition;
+import nl.uu.cs.treewidth.algorithm.Ramachandramurthi;
+import nl.uu.cs.treewidth.algorithm.UpperBound;
+import nl.uu.cs.treewidth.input.GraphInput;
+import nl.uu.cs.treewidth.ngraph.NGraph;
+import nl.uu.cs.treewidth.ngraph.NVertex;
+import nl.uu.cs.treewidth.ngraph.NVertexOrder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Tests whether the reimplemented treewidth heuristics compute the same bounds and permutations as the corresponding
+ * LibTW algorithms
+ */
+public class TreeWidthHeuristicsTest extends GraphTest {
+
+    @Test
+    public void testGreedyDegree() throws InterruptedException {
+        assertSameUpperBound(new GreedyDegree<>(), new BucketGreedyDegree<>(), createNGraph(createNodeBlockerGraph()));
+        assertSameUpperBound(new GreedyDegree<>(), new BucketGreedyDegree<>(), createNGraph(createStarShapedGraph()));
+        assertSameUpperBound(new GreedyDegree<>(), new BucketGreedyDegree<>(), createNGraph(createDisconnectedGraph()));
+        assertSameUpperBound(new GreedyDegree<>(), new BucketGreedyDegree<>(), createNGraph(createRandomGraph()));
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        assertSameUpperBound(new GreedyDegree<>(), new BucketGreedyDegree<>(), createNGraph(createPrimalGraph(lp)));
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        assertSameUpperBound(new GreedyDegree<>(), new BucketGreedyDegree<>(), createNGraph(createPrimalGraph(lp)));
+    }
+
+    @Test
+    public void testGreedyFillIn() throws InterruptedException {
+        assertSameUpperBound(new GreedyFillIn<>(), new IncrementalGreedyFillIn<>(), createNGraph(createNodeBlockerGraph()));
+        assertSameUpperBound(new GreedyFillIn<>(), new IncrementalGreedyFillIn<>(), createNGraph(createStarShapedGraph()));
+        assertSameUpperBound(new GreedyFillIn<>(), new IncrementalGreedyFillIn<>(), createNGraph(createDisconnectedGraph()));
+        assertSameUpperBound(new GreedyFillIn<>(), new IncrementalGreedyFillIn<>(), createNGraph(createRandomGraph()));
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test.mps");
+        assertSameUpperBound(new GreedyFillIn<>(), new IncrementalGreedyFillIn<>(), createNGraph(createPrimalGraph(lp)));
+    }
+
+    @Test
+    public void testMaximumMinimumDegreePlusLeastC() throws InterruptedException {
+        assertSameLowerBound(new MaximumMinimumDegreePlusLeastC<>(), new BucketMaximumMinimumDegreePlusLeastC<>(), createNGraph(createNodeBlockerGraph()));
+        assertSameLowerBound(new MaximumMinimumDegreePlusLeastC<>(), new BucketMaximumMinimumDegreePlusLeastC<>(), createNGraph(createStarShapedGraph()));
+        assertSameLowerBound(new MaximumMinimumDegreePlusLeastC<>(), new BucketMaximumMinimumDegreePlusLeastC<>(), createNGraph(createDisconnectedGraph()));
+        assertSameLowerBound(new MaximumMinimumDegreePlusLeastC<>(), new BucketMaximumMinimumDegreePlusLeastC<>(), createNGraph(createRandomGraph()));
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        assertSameLowerBound(new MaximumMinimumDegreePlusLeastC<>(), new BucketMaximumMinimumDegreePlusLeastC<>(), createNGraph(createPrimalGraph(lp)));
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        assertSameLowerBound(new MaximumMinimumDegreePlusLeastC<>(), new BucketMaximumMinimumDegreePlusLeastC<>(), createNGraph(createPrimalGraph(lp)));
+    }
+
+    @Test
+    public void testMinorMinWidth() throws InterruptedException {
+        assertSameLowerBound(new MinorMinWidth<>(), new BucketMinorMinWidth<>(), createNGraph(createNodeBlockerGraph()));
+        assertSameLowerBound(new MinorMinWidth<>(), new BucketMinorMinWidth<>(), createNGraph(createStarShapedGraph()));
+        assertSameLowerBound(new MinorMinWidth<>(), new BucketMinorMinWidth<>(), createNGraph(createDisconnectedGraph()));
+        assertSameLowerBound(new MinorMinWidth<>(), new BucketMinorMinWidth<>(), createNGraph(createRandomGraph()));
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        assertSameLowerBound(new MinorMinWidth<>(), new BucketMinorMinWidth<>(), createNGraph(createPrimalGraph(lp)));
+    }
+
+    @Test
+    public void testRamachandramurthi() throws InterruptedException {
+        assertSameLowerBound(new Ramachandramurthi<>(), new SparseRamachandramurthi<>(), createNGraph(createNodeBlockerGraph()));
+        assertSameLowerBound(new Ramachandramurthi<>(), new SparseRamachandramurthi<>(), createNGraph(createStarShapedGraph()));
+        assertSameLowerBound(new Ramachandramurthi<>(), new SparseRamachandramurthi<>(), createNGraph(createDisconnectedGraph()));
+        assertSameLowerBound(new Ramachandramurthi<>(), new SparseRamachandramurthi<>(), createNGraph(createRandomGraph()));
+        assertSameLowerBound(new Ramachandramurthi<>(), new SparseRamachandramurthi<>(), createNGraph(createClique(6, "clique_")));
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        assertSameLowerBound(new Ramachandramurthi<>(), new SparseRamachandramurthi<>(), createNGraph(createPrimalGraph(lp)));
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        assertSameLowerBound(new Ramachandramurthi<>(), new SparseRamachandramurthi<>(), createNGraph(createPrimalGraph(lp)));
+    }
+
+    /*
+    The bucket MCS breaks ties differently from LibTW, so the orderings are checked against the numbers of visited
+    neighbours instead
+     */
+    @Test
+    public void testMaximumCardinalitySearch() throws InterruptedException {
+        assertMCSOrdering(createNGraph(createNodeBlockerGraph()));
+        assertMCSOrdering(createNGraph(createStarShapedGraph()));
+        assertMCSOrdering(createNGraph(createDisconnectedGraph()));
+        assertMCSOrdering(createNGraph(createRandomGraph()));
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        assertMCSOrdering(createNGraph(createPrimalGraph(lp)));
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+        assertMCSOrdering(createNGraph(createPrimalGraph(lp)));
+    }
+
+    /*
+    LibTW's LexBFS only compares the first entry of the labels, so the orderings are checked against the labels instead
+     */
+    @Test
+    public void testLexBFS() throws InterruptedException {
+        assertLexBFSOrdering(createNGraph(createNodeBlockerGraph()));
+        assertLexBFSOrdering(createNGraph(createStarShapedGraph()));
+        assertLexBFSOrdering(createNGraph(createDisconnectedGraph()));
+        assertLexBFSOrdering(createNGraph(createRandomGraph()));
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        assertLexBFSOrdering(createNGraph(createPrimalGraph(lp)));
+
+        // the ordering of a chordal graph is a perfect elimination ordering
+        NGraph<GraphInput.InputData> clique = createNGraph(createClique(6, "clique_"));
+        PartitionRefinementLexBFS<GraphInput.InputData> lexBFS = new PartitionRefinementLexBFS<>();
+        lexBFS.setInput(clique);
+        lexBFS.run();
+        PermutationToTreeDecomposition<GraphInput.InputData> decomposition = new PermutationToTreeDecomposition<>(lexBFS.getPermutation());
+        decomposition.setInput(clique);
+        decomposition.run();
+        Assert.assertEquals(5, decomposition.getUpperBound());
+    }
+
+    /*
+    Tests that the all-start LexBFS returns a LexBFS ordering of the computed width, from one start vertex or several
+    threads at once
+     */
+    @Test
+    public void testParallelAllStartLexBFS() throws InterruptedException {
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        for (NGraph<GraphInput.InputData> graph : Arrays.asList(createNGraph(createNodeBlockerGraph()),
+                createNGraph(createStarShapedGraph()), createNGraph(createDisconnectedGraph()),
+                createNGraph(createRandomGraph()), createNGraph(createPrimalGraph(lp)))) {
+            PartitionRefinementLexBFS<GraphInput.InputData> lexBFS = new PartitionRefinementLexBFS<>();
+            lexBFS.setInput(graph);
+            lexBFS.run();
+            int singleStartWidth = computeWidth(graph, lexBFS.getPermutation());
+
+            ParallelAllStartLexBFS<GraphInput.InputData> allStart = new ParallelAllStartLexBFS<>();
+            allStart.setInput(graph);
+            allStart.setKnownBound(0);
+            int componentThreads = Configuration.COMPONENT_THREADS;
+            try {
+                Configuration.COMPONENT_THREADS = 1;
+                allStart.run();
+                int upperBound = allStart.getUpperBound();
+                assertLexBFSOrdering(graph, allStart.getPermutation());
+                Assert.assertEquals(upperBound, computeWidth(graph, allStart.getPermutation()));
+                Assert.assertTrue(upperBound <= singleStartWidth);
+
+                Configuration.COMPONENT_THREADS = 4;
+                allStart.run();
+                Assert.assertEquals(upperBound, allStart.getUpperBound());
+                Assert.assertEquals(graph.getNumberOfVertices(), allStart.getNumberOfComputedStarts());
+                assertLexBFSOrdering(graph, allStart.getPermutation());
+            } finally {
+                Configuration.COMPONENT_THREADS = componentThreads;
+            }
+        }
+
+        // the permutation of a chordal graph is a perfect elimination ordering
+        ParallelAllStartLexBFS<GraphInput.InputData> allStart = new ParallelAllStartLexBFS<>();
+        NGraph<GraphInput.InputData> clique = createNGraph(createClique(6, "clique_"));
+        allStart.setInput(clique);
+        allStart.setKnownBound(0);
+        allStart.run();
+        Assert.assertEquals(5, allStart.getUpperBound());
+        Assert.assertEquals(5, computeWidth(clique, allStart.getPermutation()));
+    }
+
+    private static int computeWidth(NGraph<GraphInput.InputData> graph, NVertexOrder<GraphInput.InputData> permutation) {
+        PermutationToTreeDecomposition<GraphInput.InputData> decomposition = new PermutationToTreeDecomposition<>(permutation);
+        decomposition.setInput(graph);
+        decomposition.run();
+        return decomposition.getUpperBound();
+    }
+
+    /*
+    Checks that the search starts with the last vertex, every vertex has the most visited neighbours of the unvisited
+    vertices when it is visited and the lower bound is the maximum of these numbers
+     */
+    private void assertMCSOrdering(NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        BucketMaximumCardinalitySearch<GraphInput.InputData> mcs = new BucketMaximumCardinalitySearch<>();
+        mcs.setInput(graph);
+        mcs.run();
+        List<NVertex<GraphInput.InputData>> visitOrder = new ArrayList<>(mcs.getPermutation().order);
+        Collections.reverse(visitOrder);
+        Assert.assertEquals(graph.getNumberOfVertices(), visitOrder.size());
+        if (graph.getNumberOfVertices() > 0) {
+            Assert.assertSame(graph.getVertex(graph.getNumberOfVertices() - 1), visitOrder.get(0));
+        }
+
+        Map<NVertex<GraphInput.InputData>, Integer> weights = new HashMap<>();
+        for (NVertex<GraphInput.InputData> v : graph) {
+            weights.put(v, 0);
+        }
+        int lowerBound = 0;
+        for (NVertex<GraphInput.InputData> visited : visitOrder) {
+            Integer weight = weights.remove(visited);
+            Assert.assertNotNull(weight);
+            for (int other : weights.values()) {
+                Assert.assertTrue(weight >= other);
+            }
+            lowerBound = Math.max(lowerBound, weight);
+            for (NVertex<GraphInput.InputData> neighbor : visited) {
+                weights.computeIfPresent(neighbor, (v, w) -> w + 1);
+            }
+        }
+        Assert.assertEquals(lowerBound, mcs.getLowerBound());
+    }
+
+    /*
+    Checks that every vertex has the lexicographically largest label of the unvisited vertices when it is visited
+     */
+    private void assertLexBFSOrdering(NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        PartitionRefinementLexBFS<GraphInput.InputData> lexBFS = new PartitionRefinementLexBFS<>();
+        lexBFS.setInput(graph);
+        lexBFS.run();
+        assertLexBFSOrdering(graph, lexBFS.getPermutation());
+    }
+
+    private void assertLexBFSOrdering(NGraph<GraphInput.InputData> graph, NVertexOrder<GraphInput.InputData> permutation) {
+        List<NVertex<GraphInput.InputData>> visitOrder = new ArrayList<>(permutation.order);
+        Collections.reverse(visitOrder);
+        Assert.assertEquals(graph.getNumberOfVertices(), visitOrder.size());
+
+        Map<NVertex<GraphInput.InputData>, List<Integer>> labels = new HashMap<>();
+        for (NVertex<GraphInput.InputData> v : graph) {
+            labels.put(v, new ArrayList<>());
+        }
+        for (int step = 0; step < visitOrder.size(); step++) {
+            NVertex<GraphInput.InputData> visited = visitOrder.get(step);
+            List<Integer> label = labels.remove(visited);
+            Assert.assertNotNull(label);
+            for (List<Integer> other : labels.values()) {
+                Assert.assertTrue(compareLabels(label, other) >= 0);
+            }
+            for (NVertex<GraphInput.InputData> neighbor : visited) {
+                if (labels.containsKey(neighbor)) {
+                    labels.get(neighbor).add(visitOrder.size() - step);
+                }
+            }
+        }
+    }
+
+    private static int compareLabels(List<Integer> a, List<Integer> b) {
+        for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+            if (!a.get(i).equals(b.get(i))) {
+                return Integer.compare(a.get(i), b.get(i));
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    @Test
+    public void testParallelAllStart() throws InterruptedException {
+        for (NGraph<GraphInput.InputData> graph : Arrays.asList(createNGraph(createNodeBlockerGraph()),
+                createNGraph(createStarShapedGraph()), createNGraph(createDisconnectedGraph()),
+                createNGraph(createRandomGraph()))) {
+            // the starts include the one of the single search, and every start gives a lower bound of the treewidth
+            int lowerBound = runAllStart(new ParallelAllStartMaximumCardinalitySearch<>(), graph);
+            Assert.assertTrue(lowerBound >= runLowerBound(new BucketMaximumCardinalitySearch<>(), graph));
+            Assert.assertTrue(lowerBound <= runQuickBB(graph));
+        }
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2.mps");
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createPrimalGraph(lp));
+        // the first start vertex is the one of the single run
+        Assert.assertTrue(runAllStart(new ParallelAllStartMinorMinWidth<>(), nGraph) >= runLowerBound(new BucketMinorMinWidth<>(), nGraph));
+        Assert.assertTrue(runAllStart(new ParallelAllStartMaximumMinimumDegreePlusLeastC<>(), nGraph)
+                >= runLowerBound(new BucketMaximumMinimumDegreePlusLeastC<>(), nGraph));
+        Assert.assertTrue(runAllStart(new ParallelAllStartMaximumCardinalitySearch<>(), nGraph) >= runLowerBound(new BucketMaximumCardinalitySearch<>(), nGraph));
+
+        // the remaining start vertices are skipped once the known upper bound is matched
+        ParallelAllStartMinorMinWidth<GraphInput.InputData> allStart = new ParallelAllStartMinorMinWidth<>();
+        allStart.setInput(nGraph);
+        allStart.setKnownBound(runLowerBound(new BucketMinorMinWidth<>(), nGraph));
+        int componentThreads = Configuration.COMPONENT_THREADS;
+        try {
+            Configuration.COMPONENT_THREADS = 1;
+            allStart.run();
+            Assert.assertEquals(1, allStart.getNumberOfComputedStarts());
+
+            // a new input clears the known bound, so the larger greedy degree upper bound is computed as known bound
+            allStart.setInput(nGraph);
+            allStart.run();
+            Assert.assertTrue(allStart.getNumberOfComputedStarts() > 1);
+        } finally {
+            Configuration.COMPONENT_THREADS = componentThreads;
+        }
+    }
+
+    /*
+    Computes the bound from all start vertices with 1 and 4 threads, which results in the same bound
+     */
+    private <A extends ParallelAllStart<GraphInput.InputData> & LowerBound<GraphInput.InputData>> int runAllStart(
+            A algo, NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        algo.setInput(graph);
+        algo.setKnownBound(Integer.MAX_VALUE);
+        int componentThreads = Configuration.COMPONENT_THREADS;
+        try {
+            Configuration.COMPONENT_THREADS = 1;
+            algo.run();
+            int lowerBound = algo.getLowerBound();
+            Configuration.COMPONENT_THREADS = 4;
+            algo.run();
+            Assert.assertEquals(lowerBound, algo.getLowerBound());
+            return lowerBound;
+        } finally {
+            Configuration.COMPONENT_THREADS = componentThreads;
+        }
+    }
+
+    private int runLowerBound(LowerBound<GraphInput.InputData> algo, NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        algo.setInput(graph);
+        algo.run();
+        return algo.getLowerBound();
+    }
+
+    @Test
+    public void testQuickBB() throws InterruptedException {
+        assertExactUpperBound(createNGraph(createNodeBlockerGraph()));
+        assertExactUpperBound(createNGraph(createStarShapedGraph()));
+        assertExactUpperBound(createNGraph(createDisconnectedGraph()));
+        assertExactUpperBound(createNGraph(createRandomGraph()));
+        assertExactUpperBound(createNGraph(createClique(6, "clique_")));
+        // a graph without edges, for which the greedy fill-in upper bound is Integer.MIN_VALUE
+        Assert.assertEquals(0, runQuickBB(createNGraph(createClique(1, "single_"))));
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test.mps");
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createPrimalGraph(lp));
+        int componentThreads = Configuration.COMPONENT_THREADS;
+        try {
+            Configuration.COMPONENT_THREADS = 1;
+            int upperBound = runQuickBB(nGraph);
+            Configuration.COMPONENT_THREADS = 4;
+            Assert.assertEquals(upperBound, runQuickBB(nGraph));
+        } finally {
+            Configuration.COMPONENT_THREADS = componentThreads;
+        }
+    }
+
+    @Test
+    public void testCompactTreewidthDP() throws InterruptedException, IOException {
+        for (NGraph<GraphInput.InputData> graph : Arrays.asList(createNGraph(createNodeBlockerGraph()),
+                createNGraph(createStarShapedGraph()), createNGraph(createDisconnectedGraph()),
+                createNGraph(createRandomGraph()), createNGraph(createClique(6, "clique_")))) {
+            assertExactUpperBound(graph);
+        }
+
+        lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "bienst2_small_test.mps");
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createPrimalGraph(lp));
+        int treewidth = runQuickBB(nGraph);
+        int componentThreads = Configuration.COMPONENT_THREADS;
+        Path spillFolder = Files.createTempDirectory("dp_spill");
+        try {
+            Configuration.COMPONENT_THREADS = 1;
+            Assert.assertEquals(treewidth, runCompactTreewidthDP(nGraph));
+            Configuration.COMPONENT_THREADS = 4;
+            Configuration.DP_SPILL_FOLDER = spillFolder.toString();
+            Assert.assertEquals(treewidth, runCompactTreewidthDP(nGraph));
+            // the memory-mapped levels are deleted when they are no longer needed
+            try (Stream<Path> files = Files.list(spillFolder)) {
+                Assert.assertEquals(0, files.count());
+            }
+        } finally {
+            Configuration.COMPONENT_THREADS = componentThreads;
+            Configuration.DP_SPILL_FOLDER = null;
+            Files.deleteIfExists(spillFolder);
+        }
+    }
+
+    private int runCompactTreewidthDP(NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        CompactTreewidthDP<GraphInput.InputData> dp = new CompactTreewidthDP<>();
+        dp.setInput(graph);
+        dp.run();
+        Assert.assertEquals(dp.getTreewidth(), dp.getUpperBound());
+        return dp.getTreewidth();
+    }
+
+    /*
+    The branch and bound and the dynamic programming both compute the treewidth, and the permutation has the width of
+    the upper bound. QuickBB of LibTW is not used as reference, since it misses the treewidth of some random graphs
+     */
+    private void assertExactUpperBound(NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        Assert.assertEquals(runCompactTreewidthDP(graph), runQuickBB(graph));
+    }
+
+    private int runQuickBB(NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        ParallelQuickBB<GraphInput.InputData> quickBB = new ParallelQuickBB<>();
+        quickBB.setInput(graph);
+        quickBB.run();
+        PermutationToTreeDecomposition<GraphInput.InputData> decomposition = new PermutationToTreeDecomposition<>(quickBB.getPermutation());
+        decomposition.setInput(graph);
+        decomposition.run();
+        Assert.assertEquals(quickBB.getUpperBound(), decomposition.getUpperBound());
+        return quickBB.getUpperBound();
+    }
+
+    private void assertSameLowerBound(LowerBound<GraphInput.InputData> expectedAlgo, LowerBound<GraphInput.InputData> actualAlgo,
+                                      NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        expectedAlgo.setInput(graph);
+        expectedAlgo.run();
+        actualAlgo.setInput(graph);
+        actualAlgo.run();
+        Assert.assertEquals(expectedAlgo.getLowerBound(), actualAlgo.getLowerBound());
+    }
+
+    private <A extends UpperBound<GraphInput.InputData> & Permutation<GraphInput.InputData>,
+            B extends UpperBound<GraphInput.InputData> & Permutation<GraphInput.InputData>> void assertSameUpperBound(
+            A expectedAlgo, B actualAlgo, NGraph<GraphInput.InputData> graph) throws InterruptedException {
+        expectedAlgo.setInput(graph);
+        expectedAlgo.run();
+        actualAlgo.setInput(graph);
+        actualAlgo.run();
+        Assert.assertEquals(expectedAlgo.getUpperBound(), actualAlgo.getUpperBound());
+        assertSamePermutation(expectedAlgo.getPermutation(), actualAlgo.getPermutation());
+    }
+
+    private static void assertSamePermutation(NVertexOrder<GraphInput.InputData> expected,
+                                              NVertexOrder<GraphInput.InputData> actual) {
+        Assert.assertEquals(expected.order.size(), actual.order.size());
+        for (int i = 0; i < expected.order.size(); i++) {
+            Assert.assertSame(expected.order.get(i), actual.order.get(i));
+        }
+    }
+}
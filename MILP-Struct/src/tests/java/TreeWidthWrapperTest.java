@@ -10,11 +10,13 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 /**
  * Tests whether the treewidth wrapper class, that is used for improving the bounds obtained by LibTW, provides
  * correct lower and upper bounds for treewidth
  */
-public class TreeWidthWrapperTest extends StructuralParametersTest {
+public class TreeWidthWrapperTest extends GraphTest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TreeWidthWrapperTest.class);
 
@@ -44,4 +46,43 @@ public class TreeWidthWrapperTest extends StructuralParametersTest {
         Assert.assertEquals(5, upperBound);
         Assert.assertEquals(5, upperBoundWithComponents);
     }
+
+    @Test
+    public void testParallelComponents() throws InterruptedException {
+        int componentThreads = Configuration.COMPONENT_THREADS;
+        try {
+            lp = createLinearProgram(Configuration.MPS_TEST_FILES_FOLDER + "roll3000.mps");
+            for (NGraph<GraphInput.InputData> nGraph : Arrays.asList(createNGraph(createDisconnectedGraph()),
+                    createNGraph(createPrimalGraph(lp)))) {
+                Configuration.COMPONENT_THREADS = 1;
+                int lowerBound = TreeWidthWrapper.computeLowerBoundWithComponents(nGraph);
+                int upperBound = TreeWidthWrapper.computeUpperBoundWithComponents(nGraph);
+
+                Configuration.COMPONENT_THREADS = 4;
+                Assert.assertEquals(lowerBound, TreeWidthWrapper.computeLowerBoundWithComponents(nGraph));
+                Assert.assertEquals(upperBound, TreeWidthWrapper.computeUpperBoundWithComponents(nGraph));
+            }
+        } finally {
+            Configuration.COMPONENT_THREADS = componentThreads;
+        }
+    }
+
+    @Test
+    public void testInterruptedComponents() throws InterruptedException {
+        int componentThreads = Configuration.COMPONENT_THREADS;
+        Configuration.COMPONENT_THREADS = 4;
+        NGraph<GraphInput.InputData> nGraph = createNGraph(createDisconnectedGraph());
+        int upperBound = TreeWidthWrapper.computeUpperBoundWithComponents(nGraph);
+        try {
+            Thread.currentThread().interrupt();
+            TreeWidthWrapper.computeUpperBoundWithComponents(nGraph);
+            Assert.fail("Interruption of the computation of the components is ignored");
+        } catch (InterruptedException e) {
+            // the worker threads are not left interrupted
+            Assert.assertEquals(upperBound, TreeWidthWrapper.computeUpperBoundWithComponents(nGraph));
+        } finally {
+            Thread.interrupted();
+            Configuration.COMPONENT_THREADS = componentThreads;
+        }
+    }
 }
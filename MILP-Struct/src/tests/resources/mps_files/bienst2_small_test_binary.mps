@@ -0,0 +1,53 @@
+NAME           bienst2
+ROWS
+ N  r_0
+ E  OUTa
+ E  OUTb
+ E  OUTc
+ E  OUTd
+ E  OUTe
+ E  OUTf
+ E  OUTg
+ E  OUTh
+COLUMNS
+    z         r_0                  1
+    MARK0000  'MARKER'                 'INTORG'
+    xab       OUTa                 1
+    xab       OUTb                 1
+    xab       OUTc               -74
+    xab       OUTd               -50
+    xab       OUTe               -56
+    xac       OUTa                -4
+    xac       OUTb               -67
+    xac       OUTd               -59
+    xac       OUTe               -50
+    MARK0001  'MARKER'                 'INTEND'
+    xfa       OUTa                 1
+    xfa       OUTb                 1
+    xfb       OUTc               -72
+    xfb       OUTd               -58
+    xfc       OUTe               -57
+    xfc       OUTf               -66
+    xfd       OUTg               -70
+    xfd       OUTh                -1
+    z         OUTa                 1
+    z         OUTb                 1
+    z         OUTe                 1
+    z         OUTf                 1
+    z         OUTg                 1
+    z         OUTh                 1
+RHS
+    RHS       OUTa                 2
+    RHS       OUTb                 2
+    RHS       OUTc                 2
+    RHS       OUTd                 2
+    RHS       OUTe                 2
+    RHS       OUTf                 2
+    RHS       OUTg                 2
+    RHS       OUTh                 2
+BOUNDS
+ UP BND       xab                  1
+ UP BND       xac                  1
+ BV BND       xfa
+ BV BND       z
+ENDATA